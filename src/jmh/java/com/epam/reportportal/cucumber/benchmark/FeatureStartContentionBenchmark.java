@@ -0,0 +1,93 @@
+/*
+ *  Copyright 2020 EPAM Systems
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package com.epam.reportportal.cucumber.benchmark;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Compares feature start inside of the {@link ConcurrentHashMap#computeIfAbsent} mapping function against publishing a
+ * placeholder future and starting the feature outside of the map lock, when 64 threads start scenarios of different features.
+ * Each operation is a scenario start, the first scenario of a feature pays the feature start cost.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Threads(64)
+@Fork(1)
+public class FeatureStartContentionBenchmark {
+	private static final int RUNNING_FEATURES = 1024;
+
+	@Param({ "8" })
+	public int scenariosPerFeature;
+
+	@Param({ "2000" })
+	public int featureStartTokens;
+
+	private final AtomicInteger scenarioCounter = new AtomicInteger();
+	private Map<Integer, Object> computeIfAbsentMap;
+	private Map<Integer, CompletableFuture<Object>> placeholderMap;
+
+	@Setup(Level.Iteration)
+	public void setup() {
+		scenarioCounter.set(0);
+		computeIfAbsentMap = new ConcurrentHashMap<>();
+		placeholderMap = new ConcurrentHashMap<>();
+	}
+
+	private Object startFeature(int feature) {
+		Blackhole.consumeCPU(featureStartTokens);
+		return feature;
+	}
+
+	@Benchmark
+	public Object computeIfAbsent() {
+		int scenario = scenarioCounter.getAndIncrement() & Integer.MAX_VALUE;
+		int feature = scenario / scenariosPerFeature;
+		if (scenario % scenariosPerFeature == 0) {
+			computeIfAbsentMap.remove(feature - RUNNING_FEATURES);
+		}
+		return computeIfAbsentMap.computeIfAbsent(feature, this::startFeature);
+	}
+
+	@Benchmark
+	public Object placeholderFuture() {
+		int scenario = scenarioCounter.getAndIncrement() & Integer.MAX_VALUE;
+		int feature = scenario / scenariosPerFeature;
+		if (scenario % scenariosPerFeature == 0) {
+			placeholderMap.remove(feature - RUNNING_FEATURES);
+		}
+		CompletableFuture<Object> context = placeholderMap.get(feature);
+		if (context == null) {
+			CompletableFuture<Object> placeholder = new CompletableFuture<>();
+			context = placeholderMap.putIfAbsent(feature, placeholder);
+			if (context == null) {
+				placeholder.complete(startFeature(feature));
+				context = placeholder;
+			}
+		}
+		return context.join();
+	}
+}
@@ -0,0 +1,230 @@
+/*
+ *  Copyright 2020 EPAM Systems
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+
+package com.epam.reportportal.cucumber.benchmark;
+
+import com.epam.reportportal.cucumber.AbstractReporter;
+import com.epam.reportportal.cucumber.ReporterMetrics;
+import com.epam.reportportal.cucumber.ReporterParameters;
+import com.epam.reportportal.cucumber.ScenarioReporter;
+import com.epam.reportportal.cucumber.StepReporter;
+import com.epam.reportportal.cucumber.integration.util.InMemoryReportPortalClient;
+import com.epam.reportportal.cucumber.integration.util.TestUtils;
+import com.epam.reportportal.service.ReportPortal;
+import cucumber.api.Result;
+import cucumber.api.TestCase;
+import cucumber.api.TestStep;
+import cucumber.api.event.*;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Feeds synthetic cucumber event streams into {@link ScenarioReporter} and {@link StepReporter} which report to an
+ * {@link InMemoryReportPortalClient}. Each operation is a whole scenario: {@link TestCaseStarted}, {@link TestStepStarted} and
+ * {@link TestStepFinished} for each step (and an {@link EmbedEvent} for {@link SyntheticFeature.Kind#EMBEDDING} scenarios),
+ * then {@link TestCaseFinished}. A launch with a single feature is started and finished on each iteration.
+ * <p>
+ * Throughput mode reports scenarios per second and the "events" counter reports events per second, sample time mode reports
+ * p99 scenario latency. Use JMH's gc profiler to get the allocation rate:
+ * <pre>
+ * ./gradlew jmh -PjmhArgs="ReporterEventStreamBenchmark -prof gc"
+ * </pre>
+ * With {@code metrics=true} the reporter measures each event handler and p99 handler latencies are printed after each
+ * iteration, see {@link ReporterMetrics}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({ Mode.Throughput, Mode.SampleTime })
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ReporterEventStreamBenchmark {
+	private static final String FEATURE_URI = "file:src/jmh/resources/features/synthetic.feature";
+	private static final int SCENARIOS = 16;
+	private static final int STEPS = 5;
+	private static final byte[] EMBEDDING = new byte[1024];
+	private static final Result PASSED = new Result(Result.Type.PASSED, 1L, null);
+
+	public enum Reporter {
+		SCENARIO,
+		STEP
+	}
+
+	@Param
+	public Reporter reporter;
+
+	@Param
+	public SyntheticFeature.Kind kind;
+
+	@Param({ "false" })
+	public boolean metrics;
+
+	/**
+	 * Counts events sent to the reporter
+	 */
+	@State(Scope.Thread)
+	@AuxCounters(AuxCounters.Type.OPERATIONS)
+	public static class EventCounter {
+		public long events;
+
+		@Setup(Level.Iteration)
+		public void reset() {
+			events = 0;
+		}
+	}
+
+	private SyntheticFeature feature;
+	private ExecutorService executor;
+	private AbstractReporter eventListener;
+	private CapturingEventPublisher publisher;
+	private int testCaseIndex;
+
+	@Setup(Level.Trial)
+	public void setupTrial() {
+		feature = SyntheticFeature.generate(FEATURE_URI, kind, SCENARIOS, STEPS);
+		executor = Executors.newSingleThreadExecutor();
+	}
+
+	@Setup(Level.Iteration)
+	public void startLaunch() {
+		ReportPortal reportPortal = ReportPortal.create(new InMemoryReportPortalClient(), TestUtils.standardParameters(), executor);
+		ReporterParameters parameters = new ReporterParameters();
+		parameters.setMetricsEnabled(metrics);
+		eventListener = reporter == Reporter.SCENARIO ?
+				new BenchmarkScenarioReporter(reportPortal, parameters) :
+				new BenchmarkStepReporter(reportPortal, parameters);
+		publisher = new CapturingEventPublisher();
+		eventListener.setEventPublisher(publisher);
+		publisher.send(new TestRunStarted(0L, System.currentTimeMillis()));
+		publisher.send(new TestSourceRead(0L, System.currentTimeMillis(), feature.getUri(), feature.getSource()));
+		testCaseIndex = 0;
+	}
+
+	@TearDown(Level.Iteration)
+	public void finishLaunch() {
+		ReporterMetrics reporterMetrics = eventListener instanceof BenchmarkScenarioReporter ?
+				((BenchmarkScenarioReporter) eventListener).getReporterMetrics() :
+				((BenchmarkStepReporter) eventListener).getReporterMetrics();
+		publisher.send(new TestRunFinished(0L, System.currentTimeMillis()));
+		if (reporterMetrics != null) {
+			System.out.println();
+			System.out.println(reporterMetrics.getSummary());
+		}
+	}
+
+	@TearDown(Level.Trial)
+	public void tearDownTrial() {
+		executor.shutdown();
+	}
+
+	@Benchmark
+	public void scenario(EventCounter counter) {
+		List<TestCase> testCases = feature.getTestCases();
+		TestCase testCase = testCases.get(testCaseIndex++ % testCases.size());
+		long time = System.currentTimeMillis();
+		publisher.send(new TestCaseStarted(0L, time, testCase));
+		for (TestStep step : testCase.getTestSteps()) {
+			publisher.send(new TestStepStarted(0L, time, testCase, step));
+			if (kind == SyntheticFeature.Kind.EMBEDDING) {
+				publisher.send(new EmbedEvent(0L, time, testCase, EMBEDDING, "image/png", "screenshot"));
+				counter.events++;
+			}
+			publisher.send(new TestStepFinished(0L, time, testCase, step, PASSED));
+		}
+		publisher.send(new TestCaseFinished(0L, time, testCase, PASSED));
+		counter.events += 2 + 2L * testCase.getTestSteps().size();
+	}
+
+	/**
+	 * Dispatches events to the registered handlers on the calling thread
+	 */
+	private static class CapturingEventPublisher implements EventPublisher {
+		private final Map<Class<?>, EventHandler<?>> handlers = new HashMap<>();
+
+		@Override
+		public <T extends Event> void registerHandlerFor(Class<T> aClass, EventHandler<T> handler) {
+			handlers.put(aClass, handler);
+		}
+
+		@Override
+		public <T extends Event> void removeHandlerFor(Class<T> aClass, EventHandler<T> handler) {
+			handlers.remove(aClass, handler);
+		}
+
+		@SuppressWarnings("unchecked")
+		private <T extends Event> void send(T event) {
+			EventHandler<T> handler = (EventHandler<T>) handlers.get(event.getClass());
+			if (handler != null) {
+				handler.receive(event);
+			}
+		}
+	}
+
+	private static class BenchmarkScenarioReporter extends ScenarioReporter {
+		private final ReportPortal reportPortal;
+		private final ReporterParameters parameters;
+
+		private BenchmarkScenarioReporter(ReportPortal reportPortal, ReporterParameters parameters) {
+			this.reportPortal = reportPortal;
+			this.parameters = parameters;
+		}
+
+		@Override
+		protected ReportPortal buildReportPortal() {
+			return reportPortal;
+		}
+
+		@Override
+		protected ReporterParameters buildReporterParameters() {
+			return parameters;
+		}
+
+		private ReporterMetrics getReporterMetrics() {
+			return getMetrics();
+		}
+	}
+
+	private static class BenchmarkStepReporter extends StepReporter {
+		private final ReportPortal reportPortal;
+		private final ReporterParameters parameters;
+
+		private BenchmarkStepReporter(ReportPortal reportPortal, ReporterParameters parameters) {
+			this.reportPortal = reportPortal;
+			this.parameters = parameters;
+		}
+
+		@Override
+		protected ReportPortal buildReportPortal() {
+			return reportPortal;
+		}
+
+		@Override
+		protected ReporterParameters buildReporterParameters() {
+			return parameters;
+		}
+
+		private ReporterMetrics getReporterMetrics() {
+			return getMetrics();
+		}
+	}
+}
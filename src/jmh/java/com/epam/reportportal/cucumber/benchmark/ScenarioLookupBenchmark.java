@@ -0,0 +1,89 @@
+/*
+ *  Copyright 2020 EPAM Systems
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package com.epam.reportportal.cucumber.benchmark;
+
+import com.epam.reportportal.cucumber.ParsedFeature;
+import gherkin.ast.*;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares scenario lookup by a test case line through the feature line index against the linear scan of the feature's
+ * scenarios and example rows.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ScenarioLookupBenchmark {
+	@Param({ "5000" })
+	public int exampleRows;
+
+	private Feature feature;
+	private ParsedFeature parsedFeature;
+	private int[] rowLines;
+
+	@Setup
+	public void setup() {
+		StringBuilder source = new StringBuilder("Feature: Lookup benchmark\n\n");
+		source.append("  Scenario: Simple scenario\n    Given I have empty step\n\n");
+		source.append("  Scenario Outline: Outline scenario\n    Given I have parameter <str>\n\n    Examples:\n      | str |\n");
+		for (int i = 0; i < exampleRows; i++) {
+			source.append("      | \"row").append(i).append("\" |\n");
+		}
+		parsedFeature = new ParsedFeature(source.toString());
+		feature = parsedFeature.getFeature();
+		ScenarioOutline outline = (ScenarioOutline) feature.getChildren().get(1);
+		rowLines = ParsedFeature.getExampleRows(outline).stream().mapToInt(r -> r.getLocation().getLine()).toArray();
+	}
+
+	private int nextLine() {
+		return rowLines[ThreadLocalRandom.current().nextInt(rowLines.length)];
+	}
+
+	@Benchmark
+	public ScenarioDefinition lineIndex() {
+		return parsedFeature.getScenario(nextLine());
+	}
+
+	@Benchmark
+	public ScenarioDefinition linearScan() {
+		int line = nextLine();
+		for (ScenarioDefinition scenario : feature.getChildren()) {
+			if (scenario instanceof Background) {
+				continue;
+			}
+			if (line == scenario.getLocation().getLine()) {
+				return scenario;
+			}
+			if (scenario instanceof ScenarioOutline) {
+				for (Examples example : ((ScenarioOutline) scenario).getExamples()) {
+					for (TableRow tableRow : example.getTableBody()) {
+						if (tableRow.getLocation().getLine() == line) {
+							return scenario;
+						}
+					}
+				}
+			}
+		}
+		throw new IllegalStateException("Scenario can't be null!");
+	}
+}
@@ -0,0 +1,92 @@
+/*
+ *  Copyright 2020 EPAM Systems
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+
+package com.epam.reportportal.cucumber.benchmark;
+
+import com.epam.reportportal.cucumber.Utils;
+import com.epam.reportportal.utils.reflect.Accessible;
+import cucumber.api.TestStep;
+import org.openjdk.jmh.annotations.*;
+
+import java.lang.reflect.Method;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares access to a step definition method through cucumber's private fields by {@link Utils} method handle accessors
+ * against field lookup by name with {@link Accessible} on every call. The test step, the match and the step definition
+ * mimic the field layout of cucumber's runner classes.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class StepDefinitionAccessBenchmark {
+
+	@SuppressWarnings("unused")
+	private static class StepDefinition {
+		private final Method method;
+
+		private StepDefinition(Method method) {
+			this.method = method;
+		}
+	}
+
+	@SuppressWarnings("unused")
+	private static class StepDefinitionMatch {
+		private final StepDefinition stepDefinition;
+
+		private StepDefinitionMatch(StepDefinition stepDefinition) {
+			this.stepDefinition = stepDefinition;
+		}
+	}
+
+	@SuppressWarnings("unused")
+	private static class PickleStepTestStep implements TestStep {
+		private final StepDefinitionMatch definitionMatch;
+
+		private PickleStepTestStep(StepDefinitionMatch definitionMatch) {
+			this.definitionMatch = definitionMatch;
+		}
+
+		@Override
+		public String getCodeLocation() {
+			return null;
+		}
+	}
+
+	private TestStep testStep;
+
+	@Setup
+	public void setup() throws NoSuchMethodException {
+		Method method = StepDefinitionAccessBenchmark.class.getMethod("methodHandles");
+		testStep = new PickleStepTestStep(new StepDefinitionMatch(new StepDefinition(method)));
+	}
+
+	@Benchmark
+	public Method methodHandles() throws NoSuchFieldException, IllegalAccessException {
+		return Utils.retrieveMethod(Utils.getDefinitionMatch(testStep));
+	}
+
+	@Benchmark
+	public Method fieldLookup() throws NoSuchFieldException {
+		Object definitionMatch = Accessible.on(testStep).field("definitionMatch").getValue();
+		Object stepDefinition = Accessible.on(definitionMatch).field("stepDefinition").getValue();
+		return (Method) Accessible.on(stepDefinition).field("method").getValue();
+	}
+}
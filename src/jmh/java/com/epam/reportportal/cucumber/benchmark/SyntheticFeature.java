@@ -0,0 +1,314 @@
+/*
+ *  Copyright 2020 EPAM Systems
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+
+package com.epam.reportportal.cucumber.benchmark;
+
+import cucumber.api.Argument;
+import cucumber.api.PickleStepTestStep;
+import cucumber.api.TestCase;
+import cucumber.api.TestStep;
+import gherkin.AstBuilder;
+import gherkin.Parser;
+import gherkin.ast.GherkinDocument;
+import gherkin.pickles.Compiler;
+import gherkin.pickles.Pickle;
+import gherkin.pickles.PickleLocation;
+import gherkin.pickles.PickleStep;
+import gherkin.pickles.PickleTag;
+
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+/**
+ * A generated feature file and its test cases. The source is compiled into pickles by gherkin exactly as cucumber does it, so
+ * test case and step lines point to the feature AST, while test steps mimic the field layout of cucumber's runner classes to
+ * let the reporter resolve step definition methods.
+ */
+public class SyntheticFeature {
+	private static final Pattern QUOTED_ARGUMENT = Pattern.compile("\"([^\"]*)\"");
+	private static final Method STEP_DEFINITION;
+
+	static {
+		try {
+			STEP_DEFINITION = SyntheticFeature.class.getMethod("stepDefinition", String.class);
+		} catch (NoSuchMethodException e) {
+			throw new IllegalStateException(e);
+		}
+	}
+
+	/**
+	 * A kind of generated scenarios
+	 */
+	public enum Kind {
+		/**
+		 * A scenario with plain steps
+		 */
+		PLAIN,
+		/**
+		 * A scenario outline with an examples table, each row is a separate test case
+		 */
+		OUTLINE,
+		/**
+		 * A scenario with a data table step argument
+		 */
+		DATA_TABLE,
+		/**
+		 * A scenario with plain steps, benchmarks embed an attachment into each step
+		 */
+		EMBEDDING
+	}
+
+	private final String uri;
+	private final String source;
+	private final List<TestCase> testCases;
+
+	/**
+	 * @param uri    the feature URI
+	 * @param source the feature source
+	 */
+	public SyntheticFeature(String uri, String source) {
+		this.uri = uri;
+		this.source = source;
+		GherkinDocument document = new Parser<>(new AstBuilder()).parse(source);
+		testCases = Collections.unmodifiableList(new Compiler().compile(document)
+				.stream()
+				.map(SyntheticTestCase::new)
+				.collect(Collectors.toList()));
+	}
+
+	/**
+	 * Generates a feature with scenarios of the given kind
+	 *
+	 * @param uri       the feature URI
+	 * @param kind      a kind of scenarios
+	 * @param scenarios number of scenarios, or example rows for {@link Kind#OUTLINE}
+	 * @param steps     number of steps in each scenario
+	 * @return the feature
+	 */
+	public static SyntheticFeature generate(String uri, Kind kind, int scenarios, int steps) {
+		StringBuilder source = new StringBuilder("@benchmark\nFeature: Synthetic ").append(kind.name().toLowerCase())
+				.append(" feature\n");
+		switch (kind) {
+			case OUTLINE:
+				source.append("\n  Scenario Outline: Synthetic outline <index>\n");
+				for (int i = 1; i <= steps; i++) {
+					source.append("    Given a step with \"<index>\" and \"<value>\" parameters ").append(i).append('\n');
+				}
+				source.append("\n    Examples:\n      | index | value |\n");
+				for (int i = 1; i <= scenarios; i++) {
+					source.append("      | ").append(i).append(" | value ").append(i).append(" |\n");
+				}
+				break;
+			case DATA_TABLE:
+				for (int i = 1; i <= scenarios; i++) {
+					source.append("\n  Scenario: Synthetic data table scenario ").append(i).append('\n');
+					for (int j = 1; j <= steps; j++) {
+						source.append("    Given a step with a data table ").append(j).append('\n');
+						source.append("      | key | value | type | description |\n");
+						for (int k = 1; k <= 10; k++) {
+							source.append("      | key").append(k).append(" | value").append(k);
+							source.append(" | string | row ").append(k).append(" |\n");
+						}
+					}
+				}
+				break;
+			default:
+				for (int i = 1; i <= scenarios; i++) {
+					source.append("\n  Scenario: Synthetic scenario ").append(i).append('\n');
+					for (int j = 1; j <= steps; j++) {
+						source.append("    Given a step with \"").append(j).append("\" parameter\n");
+					}
+				}
+				break;
+		}
+		return new SyntheticFeature(uri, source.toString());
+	}
+
+	/**
+	 * A step definition method the synthetic steps are bound to
+	 *
+	 * @param value a step parameter
+	 */
+	@SuppressWarnings("unused")
+	public static void stepDefinition(String value) {
+	}
+
+	public String getUri() {
+		return uri;
+	}
+
+	public String getSource() {
+		return source;
+	}
+
+	public List<TestCase> getTestCases() {
+		return testCases;
+	}
+
+	private class SyntheticTestCase implements TestCase {
+		private final Pickle pickle;
+		private final List<TestStep> testSteps;
+
+		private SyntheticTestCase(Pickle pickle) {
+			this.pickle = pickle;
+			testSteps = Collections.unmodifiableList(pickle.getSteps()
+					.stream()
+					.map(SyntheticTestStep::new)
+					.collect(Collectors.toList()));
+		}
+
+		@Override
+		public int getLine() {
+			return pickle.getLocations().get(0).getLine();
+		}
+
+		@Override
+		public String getName() {
+			return pickle.getName();
+		}
+
+		@Override
+		public String getScenarioDesignation() {
+			return uri + ":" + getLine() + " # " + getName();
+		}
+
+		@Override
+		public List<PickleTag> getTags() {
+			return pickle.getTags();
+		}
+
+		@Override
+		public List<TestStep> getTestSteps() {
+			return testSteps;
+		}
+
+		@Override
+		public String getUri() {
+			return uri;
+		}
+	}
+
+	@SuppressWarnings("unused")
+	private static class StepDefinition {
+		private final Method method;
+
+		private StepDefinition(Method method) {
+			this.method = method;
+		}
+	}
+
+	@SuppressWarnings("unused")
+	private static class StepDefinitionMatch {
+		private final StepDefinition stepDefinition;
+
+		private StepDefinitionMatch(StepDefinition stepDefinition) {
+			this.stepDefinition = stepDefinition;
+		}
+	}
+
+	private class SyntheticTestStep implements PickleStepTestStep {
+		@SuppressWarnings("unused")
+		private final StepDefinitionMatch definitionMatch = new StepDefinitionMatch(new StepDefinition(STEP_DEFINITION));
+		private final PickleStep step;
+		private final String pattern;
+		private final List<Argument> definitionArguments;
+
+		private SyntheticTestStep(PickleStep step) {
+			this.step = step;
+			pattern = QUOTED_ARGUMENT.matcher(step.getText()).replaceAll("\"([^\"]*)\"");
+			List<Argument> arguments = new ArrayList<>();
+			Matcher matcher = QUOTED_ARGUMENT.matcher(step.getText());
+			while (matcher.find()) {
+				arguments.add(new SyntheticArgument(matcher.group(1), matcher.start(1), matcher.end(1)));
+			}
+			definitionArguments = Collections.unmodifiableList(arguments);
+		}
+
+		@Override
+		public String getPattern() {
+			return pattern;
+		}
+
+		@Override
+		public PickleStep getPickleStep() {
+			return step;
+		}
+
+		@Override
+		public List<Argument> getDefinitionArgument() {
+			return definitionArguments;
+		}
+
+		@Override
+		public List<gherkin.pickles.Argument> getStepArgument() {
+			return step.getArgument();
+		}
+
+		@Override
+		public int getStepLine() {
+			List<PickleLocation> locations = step.getLocations();
+			return locations.get(locations.size() - 1).getLine();
+		}
+
+		@Override
+		public String getStepLocation() {
+			return uri + ":" + getStepLine();
+		}
+
+		@Override
+		public String getStepText() {
+			return step.getText();
+		}
+
+		@Override
+		public String getCodeLocation() {
+			return SyntheticFeature.class.getName() + ".stepDefinition(String)";
+		}
+	}
+
+	private static class SyntheticArgument implements Argument {
+		private final String value;
+		private final int start;
+		private final int end;
+
+		private SyntheticArgument(String value, int start, int end) {
+			this.value = value;
+			this.start = start;
+			this.end = end;
+		}
+
+		@Override
+		public String getValue() {
+			return value;
+		}
+
+		@Override
+		public int getStart() {
+			return start;
+		}
+
+		@Override
+		public int getEnd() {
+			return end;
+		}
+	}
+}
@@ -15,20 +15,25 @@
  */
 package com.epam.reportportal.cucumber;
 
-import com.epam.reportportal.annotations.TestCaseId;
 import com.epam.reportportal.annotations.attribute.Attributes;
+import com.epam.reportportal.cucumber.ReporterMetrics.Handler;
+import com.epam.reportportal.cucumber.journal.JournalReportPortalClient;
+import com.epam.reportportal.cucumber.journal.JournalWriter;
 import com.epam.reportportal.listeners.ItemStatus;
 import com.epam.reportportal.listeners.ItemType;
 import com.epam.reportportal.listeners.ListenerParameters;
 import com.epam.reportportal.message.ReportPortalMessage;
 import com.epam.reportportal.service.Launch;
+import com.epam.reportportal.service.LoggingContext;
 import com.epam.reportportal.service.ReportPortal;
 import com.epam.reportportal.service.item.TestCaseIdEntry;
+import com.epam.reportportal.service.step.StepReporter;
 import com.epam.reportportal.service.tree.TestItemTree;
 import com.epam.reportportal.utils.*;
 import com.epam.reportportal.utils.files.ByteSource;
 import com.epam.reportportal.utils.formatting.MarkdownUtils;
 import com.epam.reportportal.utils.http.ContentType;
+import com.epam.reportportal.utils.properties.PropertiesLoader;
 import com.epam.reportportal.utils.properties.SystemAttributesExtractor;
 import com.epam.ta.reportportal.ws.model.FinishExecutionRQ;
 import com.epam.ta.reportportal.ws.model.FinishTestItemRQ;
@@ -38,15 +43,16 @@ import com.epam.ta.reportportal.ws.model.attribute.ItemAttributesRQ;
 import com.epam.ta.reportportal.ws.model.launch.StartLaunchRQ;
 import cucumber.api.*;
 import cucumber.api.event.*;
-import cucumber.runtime.StepDefinitionMatch;
+import cucumber.runtime.ScenarioScoped;
+import cucumber.runtime.StepDefinition;
 import gherkin.ast.Feature;
 import gherkin.ast.Step;
 import gherkin.ast.Tag;
-import gherkin.pickles.PickleCell;
 import gherkin.pickles.PickleString;
 import gherkin.pickles.PickleTable;
 import gherkin.pickles.PickleTag;
 import io.reactivex.Maybe;
+import io.reactivex.subjects.MaybeSubject;
 import org.apache.commons.lang3.StringUtils;
 import org.apache.commons.lang3.tuple.Pair;
 import org.slf4j.Logger;
@@ -55,11 +61,20 @@ import org.slf4j.LoggerFactory;
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
 import java.io.IOException;
-import java.lang.reflect.Field;
-import java.lang.reflect.InvocationTargetException;
-import java.lang.reflect.Method;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
 import java.util.function.Supplier;
 import java.util.stream.Collectors;
 import java.util.stream.IntStream;
@@ -69,7 +84,6 @@ import static com.epam.reportportal.cucumber.util.ItemTreeUtils.createKey;
 import static com.epam.reportportal.cucumber.util.ItemTreeUtils.retrieveLeaf;
 import static com.epam.reportportal.utils.formatting.ExceptionUtils.getStackTrace;
 import static java.lang.String.format;
-import static java.util.Optional.of;
 import static java.util.Optional.ofNullable;
 import static org.apache.commons.lang3.StringUtils.isNotBlank;
 
@@ -84,27 +98,53 @@ import static org.apache.commons.lang3.StringUtils.isNotBlank;
  */
 public abstract class AbstractReporter implements ConcurrentEventListener {
 	private static final Logger LOGGER = LoggerFactory.getLogger(AbstractReporter.class);
+	private static final String JOURNAL_RUN_PREFIX = "launch-";
+	private static final DateTimeFormatter JOURNAL_RUN_TIME_FORMAT = DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss");
 	private static final String AGENT_PROPERTIES_FILE = "agent.properties";
-	private static final String STEP_DEFINITION_FIELD_NAME = "stepDefinition";
-	private static final String GET_LOCATION_METHOD_NAME = "getLocation";
-	private static final String METHOD_OPENING_BRACKET = "(";
 	private static final String FILE_PREFIX = "file:";
 	private static final String HOOK_ = "Hook: ";
 	private static final String DOCSTRING_DECORATOR = "\n\"\"\"\n";
+	private static final String FULL_ARGUMENT_ATTACHMENT_NAME = "Full step argument";
 	private static final String ERROR_FORMAT = "Error:\n%s";
 
 	public static final TestItemTree ITEM_TREE = new TestItemTree();
+
+	/**
+	 * An attribute with the number of steps of a passed scenario reported in failure sampling mode
+	 */
+	public static final String SAMPLED_STEPS_ATTRIBUTE = "sampled.steps";
+
+	/**
+	 * An attribute with the total duration in milliseconds of steps of a passed scenario reported in failure sampling mode
+	 */
+	public static final String SAMPLED_STEPS_DURATION_ATTRIBUTE = "sampled.steps.duration";
 	private static volatile ReportPortal REPORT_PORTAL = ReportPortal.builder().build();
 
 	protected Supplier<Launch> launch;
 	static final String COLON_INFIX = ": ";
 	private static final String SKIPPED_ISSUE_KEY = "skippedIssue";
 
-	private final Map<String, RunningContext.FeatureContext> currentFeatureContextMap = new ConcurrentHashMap<>();
+	/**
+	 * Contexts of running features by feature URIs. A thread which publishes a placeholder future starts the feature outside
+	 * of the map lock, other scenarios of the feature wait for the future.
+	 */
+	private final Map<String, CompletableFuture<RunningContext.FeatureContext>> currentFeatureContextMap = new ConcurrentHashMap<>();
+
+	/**
+	 * Contexts of running scenarios by Cucumber's TestCase objects, which are compared by identity
+	 */
+	private final Map<TestCase, RunningContext.ScenarioContext> scenarioContexts = new ConcurrentHashMap<>();
 
-	private final Map<Pair<Integer, String>, RunningContext.ScenarioContext> currentScenarioContextMap = new ConcurrentHashMap<>();
+	/**
+	 * Cucumber's TestCase object which event is handled on the current thread, used to resolve the scenario of reporter logs
+	 * and by deprecated methods
+	 */
+	private final ThreadLocal<TestCase> handledTestCase = new ThreadLocal<>();
 
-	private final ThreadLocal<RunningContext.ScenarioContext> currentScenarioContext = new ThreadLocal<>();
+	/**
+	 * Formatted multiline arguments of running steps, arguments are compared by identity
+	 */
+	private final Map<gherkin.pickles.Argument, StepArgumentFormatter.FormattedArgument> formattedArguments = new ConcurrentHashMap<>();
 
 	// There is no event for recognizing end of feature in Cucumber.
 	// This map is used to record the last scenario time and its feature uri.
@@ -120,6 +160,96 @@ public abstract class AbstractReporter implements ConcurrentEventListener {
 	 */
 	private final Map<Maybe<String>, Throwable> errorMap = new ConcurrentHashMap<>();
 
+	/**
+	 * Step definition metadata by step definitions, which live as long as the Cucumber runtime
+	 */
+	private final Map<StepDefinition, StepDefinitionMetadata> stepDefinitionMetadata = new ConcurrentHashMap<>();
+
+	private final Supplier<ReporterClock> clock = new MemoizingSupplier<>(this::buildClock);
+
+	private final Supplier<ReporterParameters> reporterParameters = new MemoizingSupplier<>(this::buildReporterParameters);
+
+	private final Supplier<FeatureSourceStore> featureSourceStore = new MemoizingSupplier<>(this::buildFeatureSourceStore);
+
+	private final Supplier<StepArgumentFormatter> stepArgumentFormatter = new MemoizingSupplier<>(this::buildStepArgumentFormatter);
+
+	private final MemoizingSupplier<Optional<AsyncReportingPipeline>> asyncPipeline = new MemoizingSupplier<>(() -> ofNullable(
+			buildAsyncPipeline()));
+
+	private final MemoizingSupplier<Optional<ReporterMetrics>> metrics = new MemoizingSupplier<>(() -> ofNullable(buildMetrics()));
+
+	/**
+	 * Virtual item IDs of running scenarios, hooks and steps in asynchronous mode, created on test threads
+	 */
+	private final Map<TestCase, Deque<Maybe<String>>> asyncItems = new ConcurrentHashMap<>();
+
+	/**
+	 * A virtual item ID which should be bound to the next test item started on a consumer thread
+	 */
+	private final ThreadLocal<Maybe<String>> pendingAsyncItem = new ThreadLocal<>();
+
+	/**
+	 * A client which writes requests to the offline journal, closed at the end of the launch
+	 */
+	private volatile JournalReportPortalClient journalClient;
+
+	/**
+	 * Running items which start is deferred, by virtual item IDs
+	 */
+	private final Map<Maybe<String>, DeferredItem> deferredItems = new ConcurrentHashMap<>();
+
+	/**
+	 * Finished steps which start is deferred until the end of the scenario, by scenario IDs
+	 */
+	private final Map<Maybe<String>, Queue<DeferredItem>> finishedDeferredSteps = new ConcurrentHashMap<>();
+
+	/**
+	 * Item trees of running scenarios in deferred scenario reporting mode, by virtual scenario IDs. The scenario item goes
+	 * first, its hooks and steps follow in the order of start.
+	 */
+	private final Map<Maybe<String>, DeferredScenario> deferredScenarios = new ConcurrentHashMap<>();
+
+	/**
+	 * A local file for logs which don't fit into failure sampling buffers, shared by all scenarios
+	 */
+	private final MemoizingSupplier<SpillSegment> samplingSpillSegment = new MemoizingSupplier<>(() -> new SpillSegment(
+			getReporterParameters().getFailureSamplingSpillDirectory()));
+
+	/**
+	 * An item which start request is held until the item is finished
+	 */
+	private static class DeferredItem {
+		private final Maybe<String> parentId;
+		private final Maybe<String> itemId;
+		private final StartTestItemRQ startRq;
+		private final MaybeSubject<String> subject;
+		private final DeferredScenario scenario;
+		private volatile FinishTestItemRQ finishRq;
+
+		private DeferredItem(@Nonnull Maybe<String> parentId, @Nonnull Maybe<String> itemId, @Nonnull StartTestItemRQ startRq,
+				@Nullable MaybeSubject<String> subject, @Nullable DeferredScenario scenario) {
+			this.parentId = parentId;
+			this.itemId = itemId;
+			this.startRq = startRq;
+			this.subject = subject;
+			this.scenario = scenario;
+		}
+	}
+
+	/**
+	 * Items of a deferred scenario in the order of start, the scenario item goes first, and logs held in failure sampling mode
+	 * with running items to hold them for, the innermost item goes first
+	 */
+	private static class DeferredScenario {
+		private final Queue<DeferredItem> items = new ConcurrentLinkedQueue<>();
+		private final Deque<DeferredItem> runningItems = new ConcurrentLinkedDeque<>();
+		private final ScenarioLogBuffer logs;
+
+		private DeferredScenario(@Nullable ScenarioLogBuffer logs) {
+			this.logs = logs;
+		}
+	}
+
 	public static ReportPortal getReportPortal() {
 		return REPORT_PORTAL;
 	}
@@ -128,26 +258,243 @@ public abstract class AbstractReporter implements ConcurrentEventListener {
 		REPORT_PORTAL = reportPortal;
 	}
 
+	/**
+	 * Extension point to customize the agent specific parameters
+	 *
+	 * @return reporter parameters
+	 */
+	protected ReporterParameters buildReporterParameters() {
+		return new ReporterParameters(PropertiesLoader.load());
+	}
+
+	protected ReporterParameters getReporterParameters() {
+		return reporterParameters.get();
+	}
+
+	/**
+	 * Extension point to customize the feature source store
+	 *
+	 * @return feature source store
+	 */
+	protected FeatureSourceStore buildFeatureSourceStore() {
+		ReporterParameters parameters = getReporterParameters();
+		int parserThreads = parameters.getFeatureParserThreads();
+		if (parserThreads <= 0) {
+			return new FeatureSourceStore(parameters.getFeatureSourceStoreSize());
+		}
+		AtomicInteger threadNumber = new AtomicInteger();
+		ExecutorService parser = Executors.newFixedThreadPool(parserThreads, r -> {
+			Thread thread = new Thread(r, "rp-feature-parser-" + threadNumber.incrementAndGet());
+			thread.setDaemon(true);
+			return thread;
+		});
+		return new FeatureSourceStore(parameters.getFeatureSourceStoreSize(), parser);
+	}
+
+	protected FeatureSourceStore getFeatureSourceStore() {
+		return featureSourceStore.get();
+	}
+
+	/**
+	 * Extension point to customize step argument formatting
+	 *
+	 * @return step argument formatter
+	 */
+	protected StepArgumentFormatter buildStepArgumentFormatter() {
+		ReporterParameters parameters = getReporterParameters();
+		return new StepArgumentFormatter(parameters.getStepArgumentMaxRows(), parameters.getStepArgumentMaxLength());
+	}
+
+	protected StepArgumentFormatter getStepArgumentFormatter() {
+		return stepArgumentFormatter.get();
+	}
+
+	/**
+	 * Extension point to customize the time source of test items and logs
+	 *
+	 * @return reporter clock
+	 */
+	protected ReporterClock buildClock() {
+		return new ReporterClock();
+	}
+
+	protected ReporterClock getClock() {
+		return clock.get();
+	}
+
+	/**
+	 * Extension point to customize asynchronous reporting. In asynchronous mode event handlers only create virtual items to
+	 * keep logging context on test threads and put event snapshots into the pipeline, while test items are started and
+	 * finished on the pipeline consumer threads in the order of events for each scenario.
+	 *
+	 * @return asynchronous reporting pipeline or null if the reporting is synchronous
+	 */
+	@Nullable
+	protected AsyncReportingPipeline buildAsyncPipeline() {
+		ReporterParameters parameters = getReporterParameters();
+		if (parameters.getAsyncConsumers() <= 0) {
+			return null;
+		}
+		return new AsyncReportingPipeline(parameters.getAsyncConsumers(),
+				parameters.getAsyncBufferSize(),
+				parameters.getAsyncOverflowPolicy(),
+				parameters.getAsyncSpillDirectory()
+		);
+	}
+
+	@Nullable
+	protected AsyncReportingPipeline getAsyncPipeline() {
+		return asyncPipeline.get().orElse(null);
+	}
+
+	/**
+	 * Extension point to customize reporter metrics. The metrics are registered in the platform MBean server until the end of
+	 * the launch.
+	 *
+	 * @return reporter metrics or null if the metrics are disabled
+	 */
+	@Nullable
+	protected ReporterMetrics buildMetrics() {
+		if (!getReporterParameters().isMetricsEnabled()) {
+			return null;
+		}
+		ReporterMetrics reporterMetrics = new ReporterMetrics();
+		reporterMetrics.register(getClass().getName() + "@" + Integer.toHexString(System.identityHashCode(this)));
+		return reporterMetrics;
+	}
+
+	@Nullable
+	protected ReporterMetrics getMetrics() {
+		return metrics.get().orElse(null);
+	}
+
+	/**
+	 * Starts a test item on ReportPortal. If the item is started on a consumer thread in asynchronous mode it is bound to the
+	 * virtual item created on the test thread. Children of a deferred scenario are held in the scenario item tree.
+	 *
+	 * @param parentId a parent item ID
+	 * @param rq       item start request
+	 * @return item ID
+	 */
+	@Nonnull
+	private Maybe<String> startTestItem(@Nonnull Maybe<String> parentId, @Nonnull StartTestItemRQ rq) {
+		DeferredScenario scenario = deferredScenarios.get(parentId);
+		if (scenario != null) {
+			return deferItem(parentId, rq, scenario).itemId;
+		}
+		countItemStarted();
+		Maybe<String> virtualItem = pendingAsyncItem.get();
+		Maybe<String> itemId;
+		if (virtualItem == null) {
+			itemId = launch.get().startTestItem(parentId, rq);
+		} else {
+			pendingAsyncItem.remove();
+			itemId = launch.get().startVirtualTestItem(parentId, virtualItem, rq);
+		}
+		trackStartTime(itemId, rq);
+		return itemId;
+	}
+
+	/**
+	 * Adjusts start time of a child item to be strictly greater than start times of its previous siblings
+	 *
+	 * @param parentId a parent item ID
+	 * @param rq       child item start request
+	 */
+	private void setStartTime(@Nonnull Maybe<String> parentId, @Nonnull StartTestItemRQ rq) {
+		rq.setStartTime(getClock().next(parentId, ofNullable(rq.getStartTime()).orElseGet(() -> getClock().now())));
+	}
+
+	/**
+	 * Starts time tracking for a started item with its start time. A start time may be moved ahead of the clock to order the
+	 * item after its siblings, the item finish time should be strictly greater than that time nevertheless.
+	 *
+	 * @param itemId an ID of the started item
+	 * @param rq     item start request
+	 */
+	private void trackStartTime(@Nonnull Maybe<String> itemId, @Nonnull StartTestItemRQ rq) {
+		ofNullable(rq.getStartTime()).ifPresent(startTime -> getClock().next(itemId, startTime));
+	}
+
+	/**
+	 * Returns the context of a running scenario
+	 *
+	 * @param testCase Cucumber's TestCase object
+	 * @return scenario context or null if the scenario is not started or already finished
+	 */
+	@Nullable
+	protected RunningContext.ScenarioContext getScenarioContext(@Nonnull TestCase testCase) {
+		return scenarioContexts.get(testCase);
+	}
+
+	/**
+	 * Returns the context of the scenario which event is handled on the current thread
+	 *
+	 * @return scenario context or null if no scenario event is handled on the current thread
+	 * @deprecated use {@link #getScenarioContext(TestCase)}
+	 */
+	@Deprecated
+	@Nullable
 	protected RunningContext.ScenarioContext getCurrentScenarioContext() {
-		return currentScenarioContext.get();
+		return ofNullable(handledTestCase.get()).map(this::getScenarioContext).orElse(null);
 	}
 
 	/**
 	 * Manipulations before the launch starts
 	 */
 	protected void beforeLaunch() {
+		if (getReporterParameters().isFailureSampling() && getAsyncPipeline() != null) {
+			LOGGER.warn("Failure sampling is not supported with asynchronous reporting, all scenarios will be reported in full");
+		}
 		startLaunch();
 		Maybe<String> launchId = launch.get().start();
 		ITEM_TREE.setLaunchId(launchId);
 	}
 
 	/**
-	 * Extension point to customize ReportPortal instance
+	 * Extension point to customize ReportPortal instance. On Java 21+ runtimes client requests and attachment uploads are
+	 * executed on virtual threads instead of the client's fixed thread pool. If a journal directory is configured, requests
+	 * are written to an offline journal instead of being sent to ReportPortal.
 	 *
 	 * @return ReportPortal
 	 */
 	protected ReportPortal buildReportPortal() {
-		return ReportPortal.builder().build();
+		Path journalDirectory = getReporterParameters().getJournalDirectory();
+		if (journalDirectory != null) {
+			return buildJournalReportPortal(journalDirectory);
+		}
+		return new ReportPortal.Builder() {
+			@Override
+			protected ExecutorService buildExecutorService(ListenerParameters params) {
+				ExecutorService executor = ReportingThreads.newVirtualThreadExecutor("rp-io-");
+				return executor != null ? executor : super.buildExecutorService(params);
+			}
+		}.build();
+	}
+
+	/**
+	 * Builds a ReportPortal instance which writes requests to a journal in a new subdirectory of the journal directory, so
+	 * journals of consecutive runs don't collide
+	 *
+	 * @param journalDirectory the journal directory
+	 * @return ReportPortal
+	 */
+	@Nonnull
+	private ReportPortal buildJournalReportPortal(@Nonnull Path journalDirectory) {
+		String runName = LocalDateTime.now().format(JOURNAL_RUN_TIME_FORMAT) + "-" + UUID.randomUUID().toString().substring(0, 8);
+		Path runDirectory = journalDirectory.resolve(JOURNAL_RUN_PREFIX + runName);
+		JournalWriter journal;
+		try {
+			journal = new JournalWriter(runDirectory, getReporterParameters().getJournalSegmentSize());
+		} catch (IOException e) {
+			throw new IllegalStateException("Unable to create reporting journal in: " + runDirectory, e);
+		}
+		LOGGER.info("Reporting journal is written to: {}", runDirectory);
+		ListenerParameters parameters = new ListenerParameters(PropertiesLoader.load());
+		JournalReportPortalClient client = new JournalReportPortalClient(journal);
+		journalClient = client;
+		ExecutorService executor = ReportingThreads.newVirtualThreadExecutor("rp-io-");
+		return executor != null ? ReportPortal.create(client, parameters, executor) : ReportPortal.create(client, parameters);
 	}
 
 	/**
@@ -155,8 +502,57 @@ public abstract class AbstractReporter implements ConcurrentEventListener {
 	 */
 	protected void afterLaunch() {
 		FinishExecutionRQ finishLaunchRq = new FinishExecutionRQ();
-		finishLaunchRq.setEndTime(Calendar.getInstance().getTime());
+		finishLaunchRq.setEndTime(getClock().now());
 		launch.get().finish(finishLaunchRq);
+		JournalReportPortalClient client = journalClient;
+		if (client != null) {
+			try {
+				client.close();
+			} catch (IOException e) {
+				LOGGER.error("Unable to close reporting journal", e);
+			}
+		}
+		if (samplingSpillSegment.isInitialized()) {
+			samplingSpillSegment.get().close();
+		}
+		ofNullable(getMetrics()).ifPresent(m -> {
+			LOGGER.info(m.getSummary());
+			m.unregister();
+		});
+	}
+
+	/**
+	 * Counts a started item in the reporter metrics, if they are enabled
+	 */
+	protected void countItemStarted() {
+		ReporterMetrics reporterMetrics = getMetrics();
+		if (reporterMetrics != null) {
+			reporterMetrics.itemStarted();
+		}
+	}
+
+	/**
+	 * Counts a finished item in the reporter metrics, if they are enabled
+	 */
+	protected void countItemFinished() {
+		ReporterMetrics reporterMetrics = getMetrics();
+		if (reporterMetrics != null) {
+			reporterMetrics.itemFinished();
+		}
+	}
+
+	private void countLog() {
+		ReporterMetrics reporterMetrics = getMetrics();
+		if (reporterMetrics != null) {
+			reporterMetrics.logSent();
+		}
+	}
+
+	private void countAttachment(long bytes) {
+		ReporterMetrics reporterMetrics = getMetrics();
+		if (reporterMetrics != null) {
+			reporterMetrics.attachmentSent(bytes);
+		}
 	}
 
 	/**
@@ -169,19 +565,15 @@ public abstract class AbstractReporter implements ConcurrentEventListener {
 	@Nullable
 	@SuppressWarnings("unchecked")
 	protected TestCaseIdEntry getTestCaseId(@Nonnull TestStep testStep, @Nullable String codeRef) {
-		Object definitionMatch = getDefinitionMatch(testStep);
 		List<cucumber.api.Argument> arguments = ((PickleStepTestStep) testStep).getDefinitionArgument();
-		if (definitionMatch != null) {
-			try {
-				Method method = retrieveMethod(definitionMatch);
-				return TestCaseIdUtils.getTestCaseId(
-						method.getAnnotation(TestCaseId.class),
-						method,
-						codeRef,
-						(List<Object>) ARGUMENTS_TRANSFORM.apply(arguments)
-				);
-			} catch (NoSuchFieldException | IllegalAccessException ignore) {
-			}
+		StepDefinitionMetadata metadata = getStepDefinitionMetadata(testStep);
+		if (metadata != null && metadata.getMethod() != null) {
+			return TestCaseIdUtils.getTestCaseId(
+					metadata.getTestCaseId(),
+					metadata.getMethod(),
+					codeRef,
+					(List<Object>) ARGUMENTS_TRANSFORM.apply(arguments)
+			);
 		}
 		return getTestCaseId(codeRef, arguments);
 	}
@@ -215,7 +607,7 @@ public abstract class AbstractReporter implements ConcurrentEventListener {
 		String codeRef = getCodeRef(uri, line);
 		rq.setCodeRef(codeRef);
 		rq.setAttributes(extractPickleTags(testCase.getTags()));
-		rq.setStartTime(Calendar.getInstance().getTime());
+		rq.setStartTime(getClock().now());
 		String type = getScenarioTestItemType();
 		rq.setType(type);
 		if ("STEP".equals(type)) {
@@ -233,7 +625,38 @@ public abstract class AbstractReporter implements ConcurrentEventListener {
 	 */
 	@Nonnull
 	protected Maybe<String> startScenario(@Nonnull Maybe<String> featureId, @Nonnull StartTestItemRQ startScenarioRq) {
-		return launch.get().startTestItem(featureId, startScenarioRq);
+		setStartTime(featureId, startScenarioRq);
+		boolean sampling = isFailureSampling();
+		if (sampling || isScenarioReportingDeferred()) {
+			DeferredScenario scenario = new DeferredScenario(sampling ? new ScenarioLogBuffer(
+					getReporterParameters().getFailureSamplingBufferSize(),
+					getReporterParameters().getFailureSamplingOverflowPolicy(),
+					samplingSpillSegment
+			) : null);
+			Maybe<String> scenarioId = deferItem(featureId, startScenarioRq, scenario).itemId;
+			deferredScenarios.put(scenarioId, scenario);
+			return scenarioId;
+		}
+		return startTestItem(featureId, startScenarioRq);
+	}
+
+	/**
+	 * Defines if the item tree of a scenario is held in memory while the scenario is running and sent to ReportPortal when the
+	 * scenario is finished, see {@link DeferredScenarioReporter}
+	 *
+	 * @return true if scenario reporting is deferred
+	 */
+	protected boolean isScenarioReportingDeferred() {
+		return false;
+	}
+
+	/**
+	 * Defines if scenarios are reported in failure sampling mode, see {@link ReporterParameters#FAILURE_SAMPLING}
+	 *
+	 * @return true if only failed scenarios are reported in full
+	 */
+	protected boolean isFailureSampling() {
+		return getReporterParameters().isFailureSampling() && getAsyncPipeline() == null;
 	}
 
 	private void addToTree(RunningContext.FeatureContext featureContext, RunningContext.ScenarioContext scenarioContext) {
@@ -339,9 +762,17 @@ public abstract class AbstractReporter implements ConcurrentEventListener {
 			LOGGER.error("BUG: Trying to finish unspecified test item.");
 			return null;
 		}
+		DeferredItem deferredItem = deferredItems.remove(itemId);
+		if (deferredItem != null) {
+			Date endTime = completeDeferredItem(deferredItem, mapItemStatus(status));
+			ofNullable(deferredScenarios.remove(itemId)).ifPresent(this::sendDeferredScenario);
+			return endTime;
+		}
 
-		Date endTime = Calendar.getInstance().getTime();
+		Date endTime = getClock().now(itemId);
+		getClock().release(itemId);
 		FinishTestItemRQ rq = buildFinishTestItemRequest(itemId, endTime, mapItemStatus(status));
+		countItemFinished();
 		//noinspection ReactiveStreamsUnusedPublisher
 		launch.get().finishTestItem(itemId, rq);
 		return endTime;
@@ -368,16 +799,28 @@ public abstract class AbstractReporter implements ConcurrentEventListener {
 	 * @param event Cucumber's TestCaseFinished object
 	 */
 	protected void afterScenario(TestCaseFinished event) {
-		RunningContext.ScenarioContext context = getCurrentScenarioContext();
+		RunningContext.ScenarioContext context = scenarioContexts.remove(event.testCase);
+		if (context == null) {
+			LOGGER.error("BUG: Trying to finish unknown scenario: {}", event.testCase.getName());
+			return;
+		}
 		String featureUri = context.getFeatureUri();
-		currentScenarioContextMap.remove(Pair.of(context.getLine(), featureUri));
 		if (mapItemStatus(event.result.getStatus()) == ItemStatus.FAILED) {
 			Optional.ofNullable(event.result.getError()).ifPresent(error -> errorMap.put(context.getId(), error));
 		}
+		ofNullable(finishedDeferredSteps.remove(context.getId())).ifPresent(steps -> steps.forEach(this::sendDeferredStep));
 		Date endTime = finishTestItem(context.getId(), event.result.getStatus());
 		featureEndTime.put(featureUri, endTime);
-		currentScenarioContext.remove();
-		removeFromTree(currentFeatureContextMap.get(context.getFeatureUri()), context);
+		CompletableFuture<RunningContext.FeatureContext> feature = currentFeatureContextMap.get(featureUri);
+		if (feature == null) {
+			return;
+		}
+		RunningContext.FeatureContext featureContext = feature.join();
+		removeFromTree(featureContext, context);
+		if (getReporterParameters().isFeatureEarlyFinish() && featureContext.finishScenario()
+				&& currentFeatureContextMap.remove(featureUri, feature)) {
+			finishFeature(featureContext);
+		}
 	}
 
 	/**
@@ -387,7 +830,7 @@ public abstract class AbstractReporter implements ConcurrentEventListener {
 		launch = new MemoizingSupplier<>(new Supplier<Launch>() {
 
 			/* should not be lazy */
-			private final Date startTime = Calendar.getInstance().getTime();
+			private final Date startTime = getClock().now();
 
 			@Override
 			public Launch get() {
@@ -445,7 +888,7 @@ public abstract class AbstractReporter implements ConcurrentEventListener {
 		StartTestItemRQ rq = new StartTestItemRQ();
 		rq.setName(Utils.buildName(stepPrefix, keyword, getStepName(testStep)));
 		rq.setDescription(buildMultilineArgument(testStep));
-		rq.setStartTime(Calendar.getInstance().getTime());
+		rq.setStartTime(getClock().now());
 		rq.setType("STEP");
 		String codeRef = getCodeRef(testStep);
 		rq.setParameters(getParameters(codeRef, testStep));
@@ -464,20 +907,196 @@ public abstract class AbstractReporter implements ConcurrentEventListener {
 	 */
 	@Nonnull
 	protected Maybe<String> startStep(@Nonnull Maybe<String> scenarioId, @Nonnull StartTestItemRQ startStepRq) {
-		return launch.get().startTestItem(scenarioId, startStepRq);
+		setStartTime(scenarioId, startStepRq);
+		if (getReporterParameters().getStepDeferredMaxDuration() > 0 && !deferredScenarios.containsKey(scenarioId)) {
+			return deferItem(scenarioId, startStepRq, null).itemId;
+		}
+		return startTestItem(scenarioId, startStepRq);
+	}
+
+	/**
+	 * Creates an item ID and holds the item start request until the item is finished. The item ID is used as logging context and
+	 * as parent of nested steps, it's resolved when the item is started or completed empty if the item is never reported.
+	 *
+	 * @param parentId a parent item ID
+	 * @param rq       item start request
+	 * @param scenario an item tree of a deferred scenario to add the item to, or null for a deferred step
+	 * @return the deferred item
+	 */
+	@Nonnull
+	private DeferredItem deferItem(@Nonnull Maybe<String> parentId, @Nonnull StartTestItemRQ rq,
+			@Nullable DeferredScenario scenario) {
+		Maybe<String> itemId = pendingAsyncItem.get();
+		MaybeSubject<String> subject = null;
+		if (itemId == null) {
+			subject = MaybeSubject.create();
+			itemId = subject;
+			LoggingContext.init(itemId);
+			launch.get().getStepReporter().setParent(itemId);
+		} else {
+			pendingAsyncItem.remove();
+		}
+		DeferredItem item = new DeferredItem(parentId, itemId, rq, subject, scenario);
+		trackStartTime(itemId, rq);
+		deferredItems.put(itemId, item);
+		if (scenario != null) {
+			scenario.items.add(item);
+			if (scenario.logs != null) {
+				scenario.runningItems.push(item);
+			}
+		}
+		return item;
+	}
+
+	/**
+	 * Builds the finish request of a deferred item and disposes its logging context
+	 *
+	 * @param item   a deferred item
+	 * @param status item status
+	 * @return item end time
+	 */
+	@Nonnull
+	private Date completeDeferredItem(@Nonnull DeferredItem item, @Nullable ItemStatus status) {
+		if (item.scenario != null && item.scenario.logs != null) {
+			item.scenario.runningItems.remove(item);
+		}
+		if (item.subject != null) {
+			StepReporter stepReporter = launch.get().getStepReporter();
+			stepReporter.finishPreviousStep();
+			if (stepReporter.isFailed(item.itemId)) {
+				status = ItemStatus.FAILED;
+			}
+			stepReporter.removeParent(item.itemId);
+			LoggingContext.dispose();
+		}
+		Date endTime = getClock().now(item.itemId);
+		getClock().release(item.itemId);
+		item.finishRq = buildFinishTestItemRequest(item.itemId, endTime, status);
+		return endTime;
+	}
+
+	/**
+	 * Finishes a step which start is deferred. Passed and skipped steps which are not longer than
+	 * {@link ReporterParameters#STEP_DEFERRED_MAX_DURATION} are queued until the end of the scenario, other steps are sent at
+	 * once.
+	 *
+	 * @param step   a deferred step
+	 * @param result step result
+	 */
+	private void finishDeferredStep(@Nonnull DeferredItem step, @Nonnull Result result) {
+		completeDeferredItem(step, mapItemStatus(result.getStatus()));
+		long duration = ofNullable(result.getDuration()).orElse(0L);
+		if (!ItemStatus.FAILED.name().equals(step.finishRq.getStatus())
+				&& duration <= TimeUnit.MILLISECONDS.toNanos(getReporterParameters().getStepDeferredMaxDuration())) {
+			finishedDeferredSteps.computeIfAbsent(step.parentId, k -> new ConcurrentLinkedQueue<>()).add(step);
+		} else {
+			sendDeferredStep(step);
+		}
+	}
+
+	@Nonnull
+	private Maybe<String> sendDeferredStart(@Nonnull Maybe<String> parentId, @Nonnull DeferredItem item) {
+		countItemStarted();
+		Launch myLaunch = launch.get();
+		if (item.subject == null) {
+			return myLaunch.startVirtualTestItem(parentId, item.itemId, item.startRq);
+		}
+		Maybe<String> itemId = myLaunch.startTestItem(parentId, item.startRq);
+		//noinspection ResultOfMethodCallIgnored
+		itemId.subscribe(item.subject::onSuccess, item.subject::onError, item.subject::onComplete);
+		return itemId;
+	}
+
+	private void sendDeferredFinish(@Nonnull Maybe<String> itemId, @Nonnull DeferredItem item) {
+		if (item.finishRq == null) {
+			LOGGER.warn("Deferred item '{}' was not finished, leaving it in progress", item.startRq.getName());
+			return;
+		}
+		countItemFinished();
+		//noinspection ReactiveStreamsUnusedPublisher
+		launch.get().finishTestItem(itemId, item.finishRq);
+	}
+
+	/**
+	 * Sends start and finish requests of a deferred step one after another
+	 *
+	 * @param step a finished deferred step
+	 */
+	private void sendDeferredStep(@Nonnull DeferredItem step) {
+		sendDeferredFinish(sendDeferredStart(step.parentId, step), step);
+	}
+
+	/**
+	 * Sends the item tree of a finished deferred scenario: start requests of all items in the order of start, then finish
+	 * requests of hooks and steps and the scenario finish request last. Hooks and steps are started under the started scenario
+	 * item rather than under its virtual item, which is resolved only for subscribers which were there before the binding.
+	 * In failure sampling mode held logs are sent after the start requests, a passed scenario is sent as a single item.
+	 *
+	 * @param scenario the item tree of a scenario
+	 */
+	private void sendDeferredScenario(@Nonnull DeferredScenario scenario) {
+		List<DeferredItem> items = new ArrayList<>(scenario.items);
+		if (scenario.logs != null && !ItemStatus.FAILED.name().equals(items.get(0).finishRq.getStatus())) {
+			sendSampledScenario(items, scenario.logs);
+			return;
+		}
+		List<Maybe<String>> itemIds = new ArrayList<>(items.size());
+		Map<Maybe<String>, Maybe<String>> startedItems = new HashMap<>();
+		for (DeferredItem item : items) {
+			Maybe<String> itemId = sendDeferredStart(startedItems.getOrDefault(item.parentId, item.parentId), item);
+			startedItems.put(item.itemId, itemId);
+			itemIds.add(itemId);
+		}
+		if (scenario.logs != null) {
+			scenario.logs.send(launch.get());
+		}
+		for (int i = 1; i < items.size(); i++) {
+			sendDeferredFinish(itemIds.get(i), items.get(i));
+		}
+		sendDeferredFinish(itemIds.get(0), items.get(0));
+	}
+
+	/**
+	 * Sends a passed scenario of failure sampling mode as a single item with the number and the total duration of its steps in
+	 * attributes. Held logs are discarded, IDs of hooks and steps are completed empty, so logs and nested steps reported under
+	 * them by the client are dropped.
+	 *
+	 * @param items items of the scenario, the scenario item goes first
+	 * @param logs  logs of the scenario
+	 */
+	private void sendSampledScenario(@Nonnull List<DeferredItem> items, @Nonnull ScenarioLogBuffer logs) {
+		logs.discard();
+		int steps = 0;
+		long duration = 0;
+		for (DeferredItem item : items.subList(1, items.size())) {
+			if (ItemType.STEP.name().equals(item.startRq.getType()) && item.finishRq != null) {
+				steps++;
+				duration += item.finishRq.getEndTime().getTime() - item.startRq.getStartTime().getTime();
+			}
+			ofNullable(item.subject).ifPresent(MaybeSubject::onComplete);
+		}
+		DeferredItem scenario = items.get(0);
+		Set<ItemAttributesRQ> attributes = new HashSet<>(ofNullable(scenario.finishRq.getAttributes()).orElseGet(HashSet::new));
+		attributes.add(new ItemAttributesRQ(SAMPLED_STEPS_ATTRIBUTE, String.valueOf(steps)));
+		attributes.add(new ItemAttributesRQ(SAMPLED_STEPS_DURATION_ATTRIBUTE, String.valueOf(duration)));
+		scenario.finishRq.setAttributes(attributes);
+		sendDeferredFinish(sendDeferredStart(scenario.parentId, scenario), scenario);
 	}
 
 	/**
 	 * Start Cucumber step
 	 *
+	 * @param context  current scenario context
 	 * @param testStep a cucumber step object
 	 */
-	protected void beforeStep(TestStep testStep) {
-		RunningContext.ScenarioContext context = getCurrentScenarioContext();
+	protected void beforeStep(RunningContext.ScenarioContext context, TestStep testStep) {
 		Step step = context.getStep(testStep);
 		StartTestItemRQ rq = buildStartStepRequest(testStep, context.getStepPrefix(), step.getKeyword());
 		Maybe<String> stepId = startStep(context.getId(), rq);
 		context.setCurrentStepId(stepId);
+		if (getReporterParameters().isStepArgumentAttachFull()) {
+			attachFullArgument(testStep);
+		}
 		String stepText = step.getText();
 		context.setCurrentText(stepText);
 		if (rq.isHasStats()) {
@@ -488,21 +1107,69 @@ public abstract class AbstractReporter implements ConcurrentEventListener {
 		}
 	}
 
+	/**
+	 * Start Cucumber step. The reporter calls this method, by default it calls
+	 * {@link #beforeStep(RunningContext.ScenarioContext, TestStep)} with the context of the handled scenario.
+	 *
+	 * @param testStep a cucumber step object
+	 * @deprecated override {@link #beforeStep(RunningContext.ScenarioContext, TestStep)}
+	 */
+	@Deprecated
+	protected void beforeStep(TestStep testStep) {
+		beforeStep(getCurrentScenarioContext(), testStep);
+	}
+
+	/**
+	 * Attaches full content of a step argument to the current step if the argument was truncated by the step argument formatter
+	 *
+	 * @param testStep Cucumber's TestStep object
+	 */
+	protected void attachFullArgument(@Nonnull TestStep testStep) {
+		if (!(testStep instanceof PickleStepTestStep)) {
+			return;
+		}
+		for (gherkin.pickles.Argument argument : ((PickleStepTestStep) testStep).getStepArgument()) {
+			if (formatArgument(argument).isTruncated()) {
+				byte[] content = getStepArgumentFormatter().getFullContent(argument).getBytes(StandardCharsets.UTF_8);
+				countAttachment(content.length);
+				emitAttachment(content, ContentType.TEXT_PLAIN, FULL_ARGUMENT_ATTACHMENT_NAME);
+			}
+		}
+	}
+
 	/**
 	 * Finish Cucumber step
 	 *
-	 * @param result Step result
+	 * @param context current scenario context
+	 * @param result  Step result
 	 */
-	protected void afterStep(Result result) {
+	protected void afterStep(RunningContext.ScenarioContext context, Result result) {
 		reportResult(result, null);
-		RunningContext.ScenarioContext context = getCurrentScenarioContext();
 		if (mapItemStatus(result.getStatus()) == ItemStatus.FAILED) {
 			Optional.ofNullable(result.getError()).ifPresent(error -> errorMap.put(context.getCurrentStepId(), error));
 		}
-		finishTestItem(context.getCurrentStepId(), result.getStatus());
+		DeferredItem deferredStep = deferredItems.get(context.getCurrentStepId());
+		if (deferredStep != null && deferredStep.scenario == null) {
+			deferredItems.remove(context.getCurrentStepId());
+			finishDeferredStep(deferredStep, result);
+		} else {
+			finishTestItem(context.getCurrentStepId(), result.getStatus());
+		}
 		context.setCurrentStepId(null);
 	}
 
+	/**
+	 * Finish Cucumber step. The reporter calls this method, by default it calls
+	 * {@link #afterStep(RunningContext.ScenarioContext, Result)} with the context of the handled scenario.
+	 *
+	 * @param result Step result
+	 * @deprecated override {@link #afterStep(RunningContext.ScenarioContext, Result)}
+	 */
+	@Deprecated
+	protected void afterStep(Result result) {
+		afterStep(getCurrentScenarioContext(), result);
+	}
+
 	/**
 	 * Extension point to customize test creation event/request
 	 *
@@ -514,7 +1181,7 @@ public abstract class AbstractReporter implements ConcurrentEventListener {
 		Pair<String, String> typeName = getHookTypeAndName(hookType);
 		rq.setType(typeName.getKey());
 		rq.setName(typeName.getValue());
-		rq.setStartTime(Calendar.getInstance().getTime());
+		rq.setStartTime(getClock().now());
 		return rq;
 	}
 
@@ -527,29 +1194,41 @@ public abstract class AbstractReporter implements ConcurrentEventListener {
 	 */
 	@Nonnull
 	protected Maybe<String> startHook(@Nonnull Maybe<String> parentId, @Nonnull StartTestItemRQ rq) {
-		return launch.get().startTestItem(parentId, rq);
+		setStartTime(parentId, rq);
+		return startTestItem(parentId, rq);
 	}
 
 	/**
 	 * Called when before/after-hooks are started
 	 *
+	 * @param context  current scenario context
 	 * @param hookType a hook type
 	 */
-	protected void beforeHooks(HookType hookType) {
+	protected void beforeHooks(RunningContext.ScenarioContext context, HookType hookType) {
 		StartTestItemRQ rq = buildStartHookRequest(hookType);
-
-		RunningContext.ScenarioContext context = getCurrentScenarioContext();
 		context.setHookStepId(startHook(context.getId(), rq));
 		context.setHookStatus(Result.Type.PASSED);
 	}
 
+	/**
+	 * Called when before/after-hooks are started. The reporter calls this method, by default it calls
+	 * {@link #beforeHooks(RunningContext.ScenarioContext, HookType)} with the context of the handled scenario.
+	 *
+	 * @param hookType a hook type
+	 * @deprecated override {@link #beforeHooks(RunningContext.ScenarioContext, HookType)}
+	 */
+	@Deprecated
+	protected void beforeHooks(HookType hookType) {
+		beforeHooks(getCurrentScenarioContext(), hookType);
+	}
+
 	/**
 	 * Called when before/after-hooks are finished
 	 *
+	 * @param context  current scenario context
 	 * @param hookType a hook type
 	 */
-	protected void afterHooks(HookType hookType) {
-		RunningContext.ScenarioContext context = getCurrentScenarioContext();
+	protected void afterHooks(RunningContext.ScenarioContext context, HookType hookType) {
 		finishTestItem(context.getHookStepId(), context.getHookStatus());
 		context.setHookStepId(null);
 		if (hookType == HookType.AfterStep) {
@@ -558,16 +1237,44 @@ public abstract class AbstractReporter implements ConcurrentEventListener {
 		}
 	}
 
+	/**
+	 * Called when before/after-hooks are finished. The reporter calls this method, by default it calls
+	 * {@link #afterHooks(RunningContext.ScenarioContext, HookType)} with the context of the handled scenario.
+	 *
+	 * @param hookType a hook type
+	 * @deprecated override {@link #afterHooks(RunningContext.ScenarioContext, HookType)}
+	 */
+	@Deprecated
+	protected void afterHooks(HookType hookType) {
+		afterHooks(getCurrentScenarioContext(), hookType);
+	}
+
 	/**
 	 * Called when a specific before/after-hook is finished
 	 *
+	 * @param context  current scenario context
 	 * @param step     TestStep object
 	 * @param result   Hook result
 	 * @param isBefore - if true, before-hook, if false - after-hook
 	 */
-	protected void hookFinished(HookTestStep step, Result result, Boolean isBefore) {
+	protected void hookFinished(RunningContext.ScenarioContext context, HookTestStep step, Result result, Boolean isBefore) {
 		reportResult(result, (isBefore ? "Before" : "After") + " hook: " + step.getCodeLocation());
-		getCurrentScenarioContext().setHookStatus(result.getStatus());
+		context.setHookStatus(result.getStatus());
+	}
+
+	/**
+	 * Called when a specific before/after-hook is finished. The reporter calls this method, by default it calls
+	 * {@link #hookFinished(RunningContext.ScenarioContext, HookTestStep, Result, Boolean)} with the context of the handled
+	 * scenario.
+	 *
+	 * @param step     TestStep object
+	 * @param result   Hook result
+	 * @param isBefore - if true, before-hook, if false - after-hook
+	 * @deprecated override {@link #hookFinished(RunningContext.ScenarioContext, HookTestStep, Result, Boolean)}
+	 */
+	@Deprecated
+	protected void hookFinished(HookTestStep step, Result result, Boolean isBefore) {
+		hookFinished(getCurrentScenarioContext(), step, result, isBefore);
 	}
 
 	/**
@@ -626,11 +1333,8 @@ public abstract class AbstractReporter implements ConcurrentEventListener {
 		String type = ofNullable(mimeType).filter(ContentType::isValidType).orElseGet(() -> getDataType(data, name));
 		String attachmentName = ofNullable(name).filter(m -> !m.isEmpty())
 				.orElseGet(() -> ofNullable(type).map(t -> t.substring(0, t.indexOf("/"))).orElse(""));
-		ReportPortal.emitLog(
-				new ReportPortalMessage(ByteSource.wrap(data), type, attachmentName),
-				"INFO",
-				Calendar.getInstance().getTime()
-		);
+		countAttachment(data.length);
+		emitAttachment(data, type, attachmentName);
 	}
 
 	/**
@@ -649,7 +1353,42 @@ public abstract class AbstractReporter implements ConcurrentEventListener {
 	 * @param level   a log level, see standard Log4j / logback logging levels
 	 */
 	protected void sendLog(final String message, final String level) {
-		ReportPortal.emitLog(message, level, Calendar.getInstance().getTime());
+		countLog();
+		Date time = getClock().now();
+		DeferredItem item = getSampledItem();
+		if (item == null) {
+			ReportPortal.emitLog(message, level, time);
+		} else {
+			item.scenario.logs.add(item.itemId, level, time, message);
+		}
+	}
+
+	/**
+	 * Returns the innermost running item of the scenario which event is handled on the current thread, if the scenario is
+	 * reported in failure sampling mode. The scenario is resolved from its TestCase object.
+	 *
+	 * @return the item to hold logs for or null if logs should be sent at once
+	 */
+	@Nullable
+	private DeferredItem getSampledItem() {
+		if (!isFailureSampling()) {
+			return null;
+		}
+		TestCase testCase = handledTestCase.get();
+		RunningContext.ScenarioContext context = testCase == null ? null : scenarioContexts.get(testCase);
+		Maybe<String> scenarioId = context == null ? null : context.getId();
+		DeferredScenario scenario = scenarioId == null ? null : deferredScenarios.get(scenarioId);
+		return scenario == null ? null : scenario.runningItems.peek();
+	}
+
+	private void emitAttachment(@Nonnull byte[] data, @Nullable String type, @Nonnull String name) {
+		Date time = getClock().now();
+		DeferredItem item = getSampledItem();
+		if (item == null) {
+			ReportPortal.emitLog(new ReportPortalMessage(ByteSource.wrap(data), type, name), "INFO", time);
+		} else {
+			item.scenario.logs.add(item.itemId, "INFO", time, name, type, data);
+		}
 	}
 
 	private boolean isBefore(TestStep step) {
@@ -670,8 +1409,10 @@ public abstract class AbstractReporter implements ConcurrentEventListener {
 			LOGGER.error("BUG: Trying to finish unspecified test item.");
 			return;
 		}
-		Date endTime = ofNullable(dateTime).orElse(Calendar.getInstance().getTime());
+		Date endTime = ofNullable(dateTime).orElseGet(() -> getClock().now(itemId));
+		getClock().release(itemId);
 		FinishTestItemRQ rq = buildFinishTestItemRequest(itemId, endTime, null);
+		countItemFinished();
 		//noinspection ReactiveStreamsUnusedPublisher
 		launch.get().finishTestItem(itemId, rq);
 	}
@@ -680,12 +1421,20 @@ public abstract class AbstractReporter implements ConcurrentEventListener {
 		ITEM_TREE.getTestItems().remove(createKey(featureContext.getUri()));
 	}
 
+	/**
+	 * Finish a feature on RP and release its state
+	 *
+	 * @param featureContext the feature context
+	 */
+	private void finishFeature(@Nonnull RunningContext.FeatureContext featureContext) {
+		Date featureCompletionDateTime = featureEndTime.remove(featureContext.getUri());
+		finishFeature(featureContext.getFeatureId(), featureCompletionDateTime);
+		removeFromTree(featureContext);
+		getFeatureSourceStore().release(featureContext.getUri());
+	}
+
 	protected void handleEndOfFeature() {
-		currentFeatureContextMap.values().forEach(f -> {
-			Date featureCompletionDateTime = featureEndTime.get(f.getUri());
-			finishFeature(f.getFeatureId(), featureCompletionDateTime);
-			removeFromTree(f);
-		});
+		currentFeatureContextMap.values().stream().map(CompletableFuture::join).forEach(this::finishFeature);
 		currentFeatureContextMap.clear();
 	}
 
@@ -694,38 +1443,222 @@ public abstract class AbstractReporter implements ConcurrentEventListener {
 	}
 
 	protected EventHandler<TestSourceRead> getTestSourceReadHandler() {
-		return event -> RunningContext.FeatureContext.addTestSourceReadEvent(event.uri, event);
+		return event -> getFeatureSourceStore().put(event.uri, event.source);
 	}
 
 	protected EventHandler<TestCaseStarted> getTestCaseStartedHandler() {
-		return this::handleStartOfTestCase;
+		return event -> {
+			AsyncReportingPipeline pipeline = getAsyncPipeline();
+			if (pipeline == null) {
+				handleTestCase(event.getTestCase(), () -> handleStartOfTestCase(event));
+				return;
+			}
+			long time = getClock().millis();
+			Maybe<String> itemId = startAsyncItem(event.getTestCase());
+			pipeline.submit(event.getTestCase(),
+					() -> handleAsync(event.getTestCase(), itemId, time, () -> handleStartOfTestCase(event))
+			);
+		};
 	}
 
 	protected EventHandler<TestStepStarted> getTestStepStartedHandler() {
-		return this::handleTestStepStarted;
+		return event -> {
+			AsyncReportingPipeline pipeline = getAsyncPipeline();
+			if (pipeline == null) {
+				handleTestCase(event.getTestCase(), () -> handleTestStepStarted(event));
+				return;
+			}
+			long time = getClock().millis();
+			Maybe<String> itemId = startAsyncItem(event.getTestCase());
+			pipeline.submit(event.getTestCase(),
+					() -> handleAsync(event.getTestCase(), itemId, time, () -> handleTestStepStarted(event))
+			);
+		};
 	}
 
 	protected EventHandler<TestStepFinished> getTestStepFinishedHandler() {
-		return this::handleTestStepFinished;
+		return event -> {
+			AsyncReportingPipeline pipeline = getAsyncPipeline();
+			if (pipeline == null) {
+				handleTestCase(event.getTestCase(), () -> handleTestStepFinished(event));
+				return;
+			}
+			long time = getClock().millis();
+			Pair<Maybe<String>, Boolean> item = finishAsyncItem(event.getTestCase());
+			TestStepFinished snapshot = item.getValue() ?
+					new TestStepFinished(event.getTimeStamp(),
+							event.getTimeStampMillis(),
+							event.getTestCase(),
+							event.testStep,
+							failNestedParent(event.result)
+					) :
+					event;
+			pipeline.submit(event.getTestCase(),
+					() -> handleAsync(event.getTestCase(), item.getKey(), time, () -> handleTestStepFinished(snapshot))
+			);
+		};
 	}
 
 	protected EventHandler<TestCaseFinished> getTestCaseFinishedHandler() {
-		return this::afterScenario;
+		return event -> {
+			AsyncReportingPipeline pipeline = getAsyncPipeline();
+			if (pipeline == null) {
+				handleTestCase(event.getTestCase(), () -> finishScenario(event));
+				return;
+			}
+			long time = getClock().millis();
+			Pair<Maybe<String>, Boolean> item = finishAsyncItem(event.getTestCase());
+			asyncItems.remove(event.getTestCase());
+			TestCaseFinished snapshot = item.getValue() ?
+					new TestCaseFinished(event.getTimeStamp(), event.getTimeStampMillis(), event.getTestCase(), failNestedParent(event.result)) :
+					event;
+			pipeline.submit(event.getTestCase(),
+					() -> handleAsync(event.getTestCase(), item.getKey(), time, () -> finishScenario(snapshot))
+			);
+		};
+	}
+
+	/**
+	 * Creates a virtual item on a test thread for an item which will be started asynchronously. The virtual item is used as
+	 * logging context and as parent of nested steps on the test thread. A virtual item is resolved only for subscribers which
+	 * were there before the item is started, so it's subscribed at once: nested steps and logs of the item body may come after
+	 * a consumer thread has started the item.
+	 *
+	 * @param testCase Cucumber's TestCase object
+	 * @return virtual item ID
+	 */
+	@Nonnull
+	private Maybe<String> startAsyncItem(@Nonnull TestCase testCase) {
+		Launch myLaunch = launch.get();
+		Maybe<String> itemId = myLaunch.createVirtualItem();
+		itemId.subscribe(SubscriptionUtils.logMaybeResults("Virtual item"));
+		myLaunch.getStepReporter().setParent(itemId);
+		asyncItems.computeIfAbsent(testCase, t -> new ArrayDeque<>()).push(itemId);
+		return itemId;
+	}
+
+	/**
+	 * @param testCase Cucumber's TestCase object
+	 * @return virtual item ID of the current scenario, hook or step of the test case or null if there is no such item
+	 */
+	@Nullable
+	private Maybe<String> getAsyncItem(@Nonnull TestCase testCase) {
+		return ofNullable(asyncItems.get(testCase)).map(Deque::peek).orElse(null);
+	}
+
+	/**
+	 * Completes a virtual item on a test thread: finishes its last nested step and disposes its logging context.
+	 *
+	 * @param testCase Cucumber's TestCase object
+	 * @return virtual item ID and true if a nested step of the item failed
+	 */
+	@Nonnull
+	private Pair<Maybe<String>, Boolean> finishAsyncItem(@Nonnull TestCase testCase) {
+		Maybe<String> itemId = ofNullable(asyncItems.get(testCase)).map(Deque::poll).orElse(null);
+		if (itemId == null) {
+			return Pair.of(null, Boolean.FALSE);
+		}
+		StepReporter stepReporter = launch.get().getStepReporter();
+		stepReporter.finishPreviousStep();
+		boolean failed = stepReporter.isFailed(itemId);
+		stepReporter.removeParent(itemId);
+		LoggingContext.dispose();
+		return Pair.of(itemId, failed);
+	}
+
+	@Nonnull
+	private static Result failNestedParent(@Nonnull Result result) {
+		return result.is(Result.Type.PASSED) ? new Result(Result.Type.FAILED, result.getDuration(), result.getError()) : result;
+	}
+
+	/**
+	 * Handles an event of a test case, the context of its scenario is returned by deprecated
+	 * {@link #getCurrentScenarioContext()} method while the event is handled
+	 *
+	 * @param testCase Cucumber's TestCase object
+	 * @param handler  an event handler
+	 */
+	private void handleTestCase(@Nonnull TestCase testCase, @Nonnull Runnable handler) {
+		TestCase previous = handledTestCase.get();
+		handledTestCase.set(testCase);
+		try {
+			handler.run();
+		} finally {
+			if (previous == null) {
+				handledTestCase.remove();
+			} else {
+				handledTestCase.set(previous);
+			}
+		}
+	}
+
+	/**
+	 * Handles an event snapshot on a consumer thread within the logging context of the item. Items and logs of the event take
+	 * the time of the event rather than the time the snapshot is handled at, so a consumer backlog doesn't distort durations.
+	 *
+	 * @param testCase Cucumber's TestCase object
+	 * @param itemId   a virtual item ID created on the test thread
+	 * @param time     the time of the event taken on the test thread
+	 * @param handler  an event handler
+	 */
+	private void handleAsync(@Nonnull TestCase testCase, @Nullable Maybe<String> itemId, long time, @Nonnull Runnable handler) {
+		pendingAsyncItem.set(itemId);
+		if (itemId != null) {
+			LoggingContext.init(itemId);
+		}
+		try {
+			getClock().runAt(time, () -> handleTestCase(testCase, handler));
+		} finally {
+			pendingAsyncItem.remove();
+			while (LoggingContext.context() != null) {
+				LoggingContext.dispose();
+			}
+		}
 	}
 
 	protected EventHandler<TestRunFinished> getTestRunFinishedHandler() {
 		return event -> {
+			ofNullable(getAsyncPipeline()).ifPresent(AsyncReportingPipeline::close);
 			handleEndOfFeature();
+			getFeatureSourceStore().close();
 			afterLaunch();
 		};
 	}
 
 	protected EventHandler<EmbedEvent> getEmbedEventHandler() {
-		return event -> embedding(event.name, event.mimeType, event.data);
+		return event -> {
+			AsyncReportingPipeline pipeline = getAsyncPipeline();
+			if (pipeline == null) {
+				handleTestCase(event.getTestCase(), () -> embed(event.getTestCase(), event, event.data));
+				return;
+			}
+			long time = getClock().millis();
+			TestCase testCase = event.getTestCase();
+			Maybe<String> itemId = getAsyncItem(testCase);
+			pipeline.submitLog(testCase,
+					"INFO",
+					event.data,
+					data -> handleAsync(testCase, itemId, time, () -> embed(testCase, event, data))
+			);
+		};
 	}
 
 	protected EventHandler<WriteEvent> getWriteEventHandler() {
-		return event -> sendLog(event.text);
+		return event -> {
+			AsyncReportingPipeline pipeline = getAsyncPipeline();
+			if (pipeline == null) {
+				handleTestCase(event.getTestCase(), () -> sendLog(event.text));
+				return;
+			}
+			long time = getClock().millis();
+			TestCase testCase = event.getTestCase();
+			Maybe<String> itemId = getAsyncItem(testCase);
+			pipeline.submitLog(testCase,
+					"INFO",
+					event.text.getBytes(StandardCharsets.UTF_8),
+					text -> handleAsync(testCase, itemId, time, () -> sendLog(new String(text, StandardCharsets.UTF_8)))
+			);
+		};
 	}
 
 	/**
@@ -746,15 +1679,39 @@ public abstract class AbstractReporter implements ConcurrentEventListener {
 	 */
 	@Override
 	public void setEventPublisher(EventPublisher publisher) {
-		publisher.registerHandlerFor(TestRunStarted.class, getTestRunStartedHandler());
-		publisher.registerHandlerFor(TestSourceRead.class, getTestSourceReadHandler());
-		publisher.registerHandlerFor(TestCaseStarted.class, getTestCaseStartedHandler());
-		publisher.registerHandlerFor(TestStepStarted.class, getTestStepStartedHandler());
-		publisher.registerHandlerFor(TestStepFinished.class, getTestStepFinishedHandler());
-		publisher.registerHandlerFor(TestCaseFinished.class, getTestCaseFinishedHandler());
-		publisher.registerHandlerFor(TestRunFinished.class, getTestRunFinishedHandler());
-		publisher.registerHandlerFor(EmbedEvent.class, getEmbedEventHandler());
-		publisher.registerHandlerFor(WriteEvent.class, getWriteEventHandler());
+		publisher.registerHandlerFor(TestRunStarted.class, measure(Handler.TEST_RUN_STARTED, getTestRunStartedHandler()));
+		publisher.registerHandlerFor(TestSourceRead.class, measure(Handler.TEST_SOURCE_READ, getTestSourceReadHandler()));
+		publisher.registerHandlerFor(TestCaseStarted.class, measure(Handler.TEST_CASE_STARTED, getTestCaseStartedHandler()));
+		publisher.registerHandlerFor(TestStepStarted.class, measure(Handler.TEST_STEP_STARTED, getTestStepStartedHandler()));
+		publisher.registerHandlerFor(TestStepFinished.class, measure(Handler.TEST_STEP_FINISHED, getTestStepFinishedHandler()));
+		publisher.registerHandlerFor(TestCaseFinished.class, measure(Handler.TEST_CASE_FINISHED, getTestCaseFinishedHandler()));
+		publisher.registerHandlerFor(TestRunFinished.class, measure(Handler.TEST_RUN_FINISHED, getTestRunFinishedHandler()));
+		publisher.registerHandlerFor(EmbedEvent.class, measure(Handler.EMBED_EVENT, getEmbedEventHandler()));
+		publisher.registerHandlerFor(WriteEvent.class, measure(Handler.WRITE_EVENT, getWriteEventHandler()));
+	}
+
+	/**
+	 * Wraps an event handler into a latency measuring one if metrics are enabled
+	 *
+	 * @param handler  a measured handler
+	 * @param delegate an event handler
+	 * @param <T>      an event type
+	 * @return the measuring handler or the event handler itself if metrics are disabled
+	 */
+	@Nonnull
+	private <T extends Event> EventHandler<T> measure(@Nonnull Handler handler, @Nonnull EventHandler<T> delegate) {
+		ReporterMetrics reporterMetrics = getMetrics();
+		if (reporterMetrics == null) {
+			return delegate;
+		}
+		return event -> {
+			long start = System.nanoTime();
+			try {
+				delegate.receive(event);
+			} finally {
+				reporterMetrics.record(handler, System.nanoTime() - start);
+			}
+		};
 	}
 
 	/**
@@ -772,7 +1729,7 @@ public abstract class AbstractReporter implements ConcurrentEventListener {
 		startFeatureRq.setCodeRef(getCodeRef(uri, 0));
 		startFeatureRq.setName(buildName(featureKeyword, AbstractReporter.COLON_INFIX, featureName));
 		startFeatureRq.setAttributes(extractAttributes(feature.getTags()));
-		startFeatureRq.setStartTime(Calendar.getInstance().getTime());
+		startFeatureRq.setStartTime(getClock().now());
 		startFeatureRq.setType(getFeatureTestItemType());
 		return startFeatureRq;
 	}
@@ -785,65 +1742,179 @@ public abstract class AbstractReporter implements ConcurrentEventListener {
 	 */
 	@Nonnull
 	protected Maybe<String> startFeature(@Nonnull StartTestItemRQ startFeatureRq) {
+		countItemStarted();
 		Optional<Maybe<String>> root = getRootItemId();
-		return root.map(r -> launch.get().startTestItem(r, startFeatureRq)).orElseGet(() -> launch.get().startTestItem(startFeatureRq));
+		return root.map(r -> {
+			setStartTime(r, startFeatureRq);
+			return launch.get().startTestItem(r, startFeatureRq);
+		}).orElseGet(() -> launch.get().startTestItem(startFeatureRq));
 	}
 
 	private void addToTree(RunningContext.FeatureContext context) {
 		ITEM_TREE.getTestItems().put(createKey(context.getUri()), TestItemTree.createTestItemLeaf(context.getFeatureId()));
 	}
 
-	protected void handleStartOfTestCase(TestCaseStarted event) {
-		TestCase testCase = event.testCase;
-		RunningContext.FeatureContext newFeatureContext = new RunningContext.FeatureContext(testCase);
-		String featureUri = newFeatureContext.getUri();
-		RunningContext.FeatureContext featureContext = currentFeatureContextMap.computeIfAbsent(
-				featureUri, u -> {
-					getRootItemId(); // trigger root item creation
-					newFeatureContext.setFeatureId(startFeature(buildStartFeatureRequest(newFeatureContext.getFeature(), featureUri)));
-					if (launch.get().getParameters().isCallbackReportingEnabled()) {
-						addToTree(newFeatureContext);
-					}
-					return newFeatureContext;
-				}
+	/**
+	 * Creates a feature context and starts the feature on RP
+	 *
+	 * @param testCase the first started test case of the feature
+	 * @return the feature context
+	 */
+	@Nonnull
+	private RunningContext.FeatureContext startFeatureContext(@Nonnull TestCase testCase) {
+		RunningContext.FeatureContext featureContext = new RunningContext.FeatureContext(testCase,
+				getFeatureSourceStore().get(testCase.getUri())
 		);
+		getRootItemId(); // trigger root item creation
+		Feature feature = featureContext.getFeature();
+		Object event = ReporterEvents.begin(ReporterEventType.FEATURE_START);
+		try {
+			featureContext.setFeatureId(startFeature(buildStartFeatureRequest(feature, featureContext.getUri())));
+		} finally {
+			ReporterEvents.commit(event,
+					featureContext.getUri(),
+					ofNullable(feature).map(f -> f.getLocation().getLine()).orElse(0),
+					ofNullable(feature).map(Feature::getName).orElse(null)
+			);
+		}
+		if (launch.get().getParameters().isCallbackReportingEnabled()) {
+			addToTree(featureContext);
+		}
+		return featureContext;
+	}
 
-		if (!featureContext.getUri().equals(testCase.getUri())) {
-			throw new IllegalStateException("Scenario URI does not match Feature URI.");
+	/**
+	 * Returns the context of the feature of a test case, starting the feature if it's the first started test case of it. The
+	 * feature is started outside of the map lock, so threads which start scenarios of other features are not blocked.
+	 *
+	 * @param testCase Cucumber's TestCase object
+	 * @return the feature context
+	 */
+	@Nonnull
+	private RunningContext.FeatureContext getFeatureContext(@Nonnull TestCase testCase) {
+		String uri = testCase.getUri();
+		CompletableFuture<RunningContext.FeatureContext> featureContext = currentFeatureContextMap.get(uri);
+		if (featureContext == null) {
+			CompletableFuture<RunningContext.FeatureContext> placeholder = new CompletableFuture<>();
+			featureContext = currentFeatureContextMap.putIfAbsent(uri, placeholder);
+			if (featureContext == null) {
+				try {
+					placeholder.complete(startFeatureContext(testCase));
+				} catch (RuntimeException | Error e) {
+					currentFeatureContextMap.remove(uri, placeholder);
+					placeholder.completeExceptionally(e);
+					throw e;
+				}
+				featureContext = placeholder;
+			}
 		}
+		return featureContext.join();
+	}
 
-		RunningContext.ScenarioContext newScenarioContext = featureContext.getScenarioContext(testCase);
+	protected void handleStartOfTestCase(TestCaseStarted event) {
+		TestCase testCase = event.testCase;
+		Object reporterEvent = ReporterEvents.begin(ReporterEventType.SCENARIO_START);
+		try {
+			RunningContext.FeatureContext featureContext = getFeatureContext(testCase);
 
-		Pair<Integer, String> scenarioLineFeatureURI = Pair.of(newScenarioContext.getLine(), featureContext.getUri());
-		RunningContext.ScenarioContext scenarioContext = currentScenarioContextMap.computeIfAbsent(
-				scenarioLineFeatureURI, k -> {
-					currentScenarioContext.set(newScenarioContext);
-					return newScenarioContext;
-				}
-		);
+			if (!featureContext.getUri().equals(testCase.getUri())) {
+				throw new IllegalStateException("Scenario URI does not match Feature URI.");
+			}
 
-		beforeScenario(featureContext, scenarioContext);
+			RunningContext.ScenarioContext scenarioContext = featureContext.getScenarioContext(testCase);
+			scenarioContexts.put(testCase, scenarioContext);
+			beforeScenario(featureContext, scenarioContext);
+		} finally {
+			ReporterEvents.commit(reporterEvent, testCase.getUri(), testCase.getLine(), testCase.getName());
+		}
 	}
 
 	protected void handleTestStepStarted(TestStepStarted event) {
+		RunningContext.ScenarioContext context = getScenarioContext(event.getTestCase());
+		if (context == null) {
+			LOGGER.error("BUG: Unable to find scenario context for step: {}", event.testStep.getCodeLocation());
+			return;
+		}
 		TestStep testStep = event.testStep;
-		if (testStep instanceof HookTestStep) {
-			beforeHooks(((HookTestStep) testStep).getHookType());
-		} else {
-			if (getCurrentScenarioContext().withBackground()) {
-				getCurrentScenarioContext().nextBackgroundStep();
-			}
-			beforeStep(testStep);
+		boolean hook = testStep instanceof HookTestStep;
+		Object reporterEvent = ReporterEvents.begin(hook ? ReporterEventType.HOOK_START : ReporterEventType.STEP_START);
+		try {
+			handleTestCase(event.getTestCase(), () -> {
+				if (hook) {
+					beforeHooks(((HookTestStep) testStep).getHookType());
+				} else {
+					if (context.withBackground()) {
+						context.nextBackgroundStep();
+					}
+					beforeStep(testStep);
+				}
+			});
+		} finally {
+			commitStepEvent(reporterEvent, event.getTestCase(), testStep);
 		}
 	}
 
 	protected void handleTestStepFinished(TestStepFinished event) {
-		if (event.testStep instanceof HookTestStep) {
-			HookTestStep testStep = (HookTestStep) event.testStep;
-			hookFinished(testStep, event.result, isBefore(event.testStep));
-			afterHooks(testStep.getHookType());
+		RunningContext.ScenarioContext context = getScenarioContext(event.getTestCase());
+		if (context == null) {
+			LOGGER.error("BUG: Unable to find scenario context for step: {}", event.testStep.getCodeLocation());
+			return;
+		}
+		boolean hook = event.testStep instanceof HookTestStep;
+		Object reporterEvent = ReporterEvents.begin(hook ? ReporterEventType.HOOK_FINISH : ReporterEventType.STEP_FINISH);
+		try {
+			handleTestCase(event.getTestCase(), () -> {
+				if (hook) {
+					HookTestStep testStep = (HookTestStep) event.testStep;
+					hookFinished(testStep, event.result, isBefore(event.testStep));
+					afterHooks(testStep.getHookType());
+				} else {
+					afterStep(event.result);
+					((PickleStepTestStep) event.testStep).getStepArgument().forEach(formattedArguments::remove);
+				}
+			});
+		} finally {
+			commitStepEvent(reporterEvent, event.getTestCase(), event.testStep);
+		}
+	}
+
+	private static void commitStepEvent(@Nullable Object reporterEvent, @Nonnull TestCase testCase, @Nonnull TestStep testStep) {
+		if (testStep instanceof PickleStepTestStep) {
+			PickleStepTestStep step = (PickleStepTestStep) testStep;
+			ReporterEvents.commit(reporterEvent, testCase.getUri(), step.getStepLine(), step.getStepText());
 		} else {
-			afterStep(event.result);
+			ReporterEvents.commit(reporterEvent, testCase.getUri(), testCase.getLine(), testStep.getCodeLocation());
+		}
+	}
+
+	/**
+	 * Finishes a scenario recording the time spent by the reporter
+	 *
+	 * @param event Cucumber's TestCaseFinished object
+	 */
+	private void finishScenario(@Nonnull TestCaseFinished event) {
+		Object reporterEvent = ReporterEvents.begin(ReporterEventType.SCENARIO_FINISH);
+		try {
+			afterScenario(event);
+		} finally {
+			TestCase testCase = event.getTestCase();
+			ReporterEvents.commit(reporterEvent, testCase.getUri(), testCase.getLine(), testCase.getName());
+		}
+	}
+
+	/**
+	 * Sends an attachment recording the time spent by the reporter
+	 *
+	 * @param testCase Cucumber's TestCase object
+	 * @param event    Cucumber's EmbedEvent object
+	 * @param data     data to attach
+	 */
+	private void embed(@Nonnull TestCase testCase, @Nonnull EmbedEvent event, @Nonnull byte[] data) {
+		Object reporterEvent = ReporterEvents.begin(ReporterEventType.EMBEDDING);
+		try {
+			embedding(event.name, event.mimeType, data);
+		} finally {
+			ReporterEvents.commit(reporterEvent, testCase.getUri(), testCase.getLine(), event.name);
 		}
 	}
 
@@ -889,6 +1960,27 @@ public abstract class AbstractReporter implements ConcurrentEventListener {
 		return MarkdownUtils.formatDataTable(table);
 	}
 
+	/**
+	 * Formats a step multiline argument with the reporter's step argument formatter. The argument is formatted once per step
+	 * execution and the result is shared by the step description, parameters and logs until the step is finished.
+	 *
+	 * @param argument a step Data Table or Doc String
+	 * @return the formatted argument
+	 */
+	@Nonnull
+	protected StepArgumentFormatter.FormattedArgument formatArgument(@Nonnull gherkin.pickles.Argument argument) {
+		Function<gherkin.pickles.Argument, StepArgumentFormatter.FormattedArgument> formatter = a -> {
+			if (a instanceof PickleTable) {
+				return getStepArgumentFormatter().formatTable((PickleTable) a, this::formatDataTable);
+			}
+			if (a instanceof PickleString) {
+				return getStepArgumentFormatter().formatDocString((PickleString) a);
+			}
+			return new StepArgumentFormatter.FormattedArgument(a.toString(), false);
+		};
+		return formattedArguments.computeIfAbsent(argument, formatter);
+	}
+
 	/**
 	 * Generate multiline argument (DataTable or DocString) representation
 	 *
@@ -898,24 +1990,21 @@ public abstract class AbstractReporter implements ConcurrentEventListener {
 	 */
 	@Nonnull
 	protected String buildMultilineArgument(@Nonnull TestStep step) {
-		List<List<String>> table = null;
+		String table = null;
 		String docString = null;
 		PickleStepTestStep pickleStep = (PickleStepTestStep) step;
 		if (!pickleStep.getStepArgument().isEmpty()) {
 			gherkin.pickles.Argument argument = pickleStep.getStepArgument().get(0);
 			if (argument instanceof PickleString) {
-				docString = ((PickleString) argument).getContent();
+				docString = formatArgument(argument).getText();
 			} else if (argument instanceof PickleTable) {
-				table = ((PickleTable) argument).getRows()
-						.stream()
-						.map(r -> r.getCells().stream().map(PickleCell::getValue).collect(Collectors.toList()))
-						.collect(Collectors.toList());
+				table = formatArgument(argument).getText();
 			}
 		}
 
 		StringBuilder marg = new StringBuilder();
 		if (table != null) {
-			marg.append(formatDataTable(table));
+			marg.append(table);
 		}
 
 		if (docString != null) {
@@ -958,19 +2047,7 @@ public abstract class AbstractReporter implements ConcurrentEventListener {
 	 */
 	@Nullable
 	protected Set<ItemAttributesRQ> getAttributes(@Nonnull TestStep testStep) {
-		Object definitionMatch = getDefinitionMatch(testStep);
-		if (definitionMatch != null) {
-			try {
-				Method method = retrieveMethod(definitionMatch);
-				Attributes attributesAnnotation = method.getAnnotation(Attributes.class);
-				if (attributesAnnotation != null) {
-					return AttributeParser.retrieveAttributes(attributesAnnotation);
-				}
-			} catch (NoSuchFieldException | IllegalAccessException e) {
-				return null;
-			}
-		}
-		return null;
+		return ofNullable(getStepDefinitionMetadata(testStep)).map(StepDefinitionMetadata::getAttributes).orElse(null);
 	}
 
 	/**
@@ -981,25 +2058,37 @@ public abstract class AbstractReporter implements ConcurrentEventListener {
 	 */
 	@Nullable
 	protected String getCodeRef(@Nonnull TestStep testStep) {
-		return ofNullable(getDefinitionMatch(testStep)).map(m -> (StepDefinitionMatch) m).flatMap(stepDefinitionMatch -> {
-			try {
-				Field stepDefinitionField = stepDefinitionMatch.getClass().getDeclaredField(STEP_DEFINITION_FIELD_NAME);
-				stepDefinitionField.setAccessible(true);
-				Object javaStepDefinition = stepDefinitionField.get(stepDefinitionMatch);
-				Method getLocationMethod = javaStepDefinition.getClass().getDeclaredMethod(GET_LOCATION_METHOD_NAME, boolean.class);
-				getLocationMethod.setAccessible(true);
-				return of(String.valueOf(getLocationMethod.invoke(javaStepDefinition, true))).filter(r -> !r.isEmpty()).map(r -> {
-					int openingBracketIndex = r.indexOf(METHOD_OPENING_BRACKET);
-					if (openingBracketIndex > 0) {
-						return r.substring(0, r.indexOf(METHOD_OPENING_BRACKET));
-					} else {
-						return r;
-					}
-				});
-			} catch (NoSuchFieldException | NoSuchMethodException | IllegalAccessException | InvocationTargetException ignore) {
-			}
-			return Optional.empty();
-		}).orElseGet(testStep::getCodeLocation);
+		return ofNullable(getStepDefinitionMetadata(testStep)).map(StepDefinitionMetadata::getCodeRef)
+				.orElseGet(testStep::getCodeLocation);
+	}
+
+	/**
+	 * Returns metadata of a step definition matched by a test step. The metadata is resolved once per step definition, except
+	 * scenario scoped ones.
+	 *
+	 * @param testStep Cucumber's TestStep object
+	 * @return step definition metadata or null if the step is not matched by a step definition (ambiguous, undefined, etc.)
+	 */
+	@Nullable
+	protected StepDefinitionMetadata getStepDefinitionMetadata(@Nonnull TestStep testStep) {
+		Object definitionMatch = getDefinitionMatch(testStep);
+		if (definitionMatch == null) {
+			return null;
+		}
+		Object stepDefinition;
+		try {
+			stepDefinition = getStepDefinition(definitionMatch);
+		} catch (NoSuchFieldException e) {
+			return null;
+		}
+		if (!(stepDefinition instanceof StepDefinition)) {
+			return null;
+		}
+		StepDefinition definition = (StepDefinition) stepDefinition;
+		if (definition instanceof ScenarioScoped) {
+			return StepDefinitionMetadata.resolve(definition);
+		}
+		return stepDefinitionMetadata.computeIfAbsent(definition, StepDefinitionMetadata::resolve);
 	}
 
 	/**
@@ -1036,13 +2125,8 @@ public abstract class AbstractReporter implements ConcurrentEventListener {
 		params.addAll(ofNullable(pickleStepTestStep.getPickleStep().getArgument()).map(a -> IntStream.range(0, a.size()).mapToObj(i -> {
 			gherkin.pickles.Argument arg = a.get(i);
 			String value;
-			if (arg instanceof PickleString) {
-				value = ((PickleString) arg).getContent();
-			} else if (arg instanceof PickleTable) {
-				value = formatDataTable(((PickleTable) arg).getRows()
-						.stream()
-						.map(r -> r.getCells().stream().map(PickleCell::getValue).collect(Collectors.toList()))
-						.collect(Collectors.toList()));
+			if (arg instanceof PickleString || arg instanceof PickleTable) {
+				value = formatArgument(arg).getText();
 			} else {
 				value = arg.toString();
 			}
@@ -0,0 +1,430 @@
+/*
+ * Copyright 2020 EPAM Systems
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.epam.reportportal.cucumber;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+
+/**
+ * Executes reporting tasks on dedicated consumer threads. Each consumer has its own bounded buffer (lane), tasks are assigned to
+ * lanes by an ordering key, so tasks with the same key are executed one by one in the order of submission, while tasks with
+ * different keys may be executed in parallel.
+ * <p>
+ * What happens if the buffer of a lane is full is defined by {@link OverflowPolicy}. Only logs may be dropped or spilled to
+ * disk, other tasks are small and always wait for free space in the buffer or, with {@link OverflowPolicy#SPILL} policy, are
+ * queued after spilled logs to keep the order. No more tasks than the buffer size are queued after spilled logs, further
+ * tasks wait until queued ones are executed, so the memory held by a lane is bounded with any policy.
+ * <p>
+ * Tasks submitted after the pipeline is closed are executed on the calling thread. Consumer threads are virtual on Java 21+
+ * runtimes and platform daemon threads otherwise, see {@link ReportingThreads}.
+ */
+public class AsyncReportingPipeline implements Closeable {
+	private static final Logger LOGGER = LoggerFactory.getLogger(AsyncReportingPipeline.class);
+	private static final String THREAD_NAME_PREFIX = "rp-cucumber-reporter-";
+
+	/**
+	 * Defines what happens if a producer submits a task into a full buffer
+	 */
+	public enum OverflowPolicy {
+		/**
+		 * The producer waits for free space in the buffer
+		 */
+		BLOCK,
+		/**
+		 * INFO and lower level logs are dropped, other tasks wait for free space in the buffer
+		 */
+		DROP_INFO_LOGS,
+		/**
+		 * Log content is written to a local segment file and read back when the log is sent, the producer never waits for logs.
+		 * Other tasks are queued after spilled logs and wait for free space once the buffer size of them is queued.
+		 */
+		SPILL
+	}
+
+	private final List<Lane> lanes;
+	private final OverflowPolicy policy;
+	private final SpillSegment spillSegment;
+	private final AtomicLong blockedSubmits = new AtomicLong();
+	private final AtomicLong droppedLogs = new AtomicLong();
+	private final AtomicLong spilledLogs = new AtomicLong();
+	private final AtomicLong spilledBytes = new AtomicLong();
+	private volatile boolean closed;
+
+	/**
+	 * Creates a pipeline which blocks producers on overflow
+	 *
+	 * @param consumers  number of consumer threads
+	 * @param bufferSize capacity of the buffer of each consumer thread
+	 */
+	public AsyncReportingPipeline(int consumers, int bufferSize) {
+		this(consumers, bufferSize, OverflowPolicy.BLOCK, null);
+	}
+
+	/**
+	 * @param consumers      number of consumer threads
+	 * @param bufferSize     capacity of the buffer of each consumer thread
+	 * @param policy         buffer overflow policy
+	 * @param spillDirectory a directory for the spill segment file, the system temporary directory is used if null
+	 */
+	public AsyncReportingPipeline(int consumers, int bufferSize, @Nonnull OverflowPolicy policy, @Nullable Path spillDirectory) {
+		if (consumers <= 0) {
+			throw new IllegalArgumentException("Number of consumers should be positive: " + consumers);
+		}
+		if (bufferSize <= 0) {
+			throw new IllegalArgumentException("Buffer size should be positive: " + bufferSize);
+		}
+		this.policy = policy;
+		spillSegment = policy == OverflowPolicy.SPILL ? new SpillSegment(spillDirectory) : null;
+		lanes = new ArrayList<>(consumers);
+		for (int i = 1; i <= consumers; i++) {
+			Lane lane = new Lane(bufferSize, THREAD_NAME_PREFIX + i);
+			lanes.add(lane);
+			lane.thread.start();
+		}
+	}
+
+	@Nonnull
+	private Lane getLane(@Nonnull Object key) {
+		return lanes.get((System.identityHashCode(key) & Integer.MAX_VALUE) % lanes.size());
+	}
+
+	/**
+	 * Submits a task for execution after all previously submitted tasks with the same key
+	 *
+	 * @param key  an ordering key, compared by identity
+	 * @param task a task to execute
+	 */
+	public void submit(@Nonnull Object key, @Nonnull Runnable task) {
+		Lane lane = getLane(key);
+		if (closed || Thread.currentThread() == lane.thread) {
+			runSafely(task);
+			return;
+		}
+		lane.put(task, policy == OverflowPolicy.SPILL, true);
+	}
+
+	/**
+	 * Submits a log for sending after all previously submitted tasks with the same key. If the buffer is full the log may be
+	 * dropped or spilled to disk depending on the overflow policy.
+	 *
+	 * @param key     an ordering key, compared by identity
+	 * @param level   the log level
+	 * @param content the log content
+	 * @param sender  a function which sends the log content
+	 */
+	public void submitLog(@Nonnull Object key, @Nonnull String level, @Nonnull byte[] content, @Nonnull Consumer<byte[]> sender) {
+		Lane lane = getLane(key);
+		if (closed || Thread.currentThread() == lane.thread) {
+			runSafely(() -> sender.accept(content));
+			return;
+		}
+		switch (policy) {
+			case DROP_INFO_LOGS:
+				if (isDroppable(level)) {
+					if (!lane.offer(() -> sender.accept(content))) {
+						droppedLogs.incrementAndGet();
+					}
+					return;
+				}
+				break;
+			case SPILL:
+				if (!lane.offer(() -> sender.accept(content))) {
+					lane.put(spill(content, sender), true, false);
+				}
+				return;
+			default:
+				break;
+		}
+		lane.put(() -> sender.accept(content), false, false);
+	}
+
+	private static boolean isDroppable(@Nonnull String level) {
+		switch (level.toUpperCase()) {
+			case "INFO":
+			case "DEBUG":
+			case "TRACE":
+				return true;
+			default:
+				return false;
+		}
+	}
+
+	@Nonnull
+	private Runnable spill(@Nonnull byte[] content, @Nonnull Consumer<byte[]> sender) {
+		long position;
+		try {
+			position = spillSegment.write(content);
+		} catch (IOException e) {
+			LOGGER.warn("Unable to spill a log to disk, keeping it in memory", e);
+			return () -> sender.accept(content);
+		}
+		spilledLogs.incrementAndGet();
+		spilledBytes.addAndGet(content.length);
+		int length = content.length;
+		return () -> {
+			byte[] spilledContent;
+			try {
+				spilledContent = spillSegment.read(position, length);
+			} catch (IOException e) {
+				LOGGER.error("Unable to read a spilled log from disk", e);
+				return;
+			}
+			sender.accept(spilledContent);
+		};
+	}
+
+	/**
+	 * Waits until all tasks submitted before the call are executed
+	 */
+	public void drain() {
+		CountDownLatch latch = new CountDownLatch(lanes.size());
+		lanes.forEach(l -> l.put(latch::countDown, policy == OverflowPolicy.SPILL, false));
+		boolean interrupted = false;
+		while (latch.getCount() > 0) {
+			try {
+				latch.await();
+			} catch (InterruptedException e) {
+				interrupted = true;
+			}
+		}
+		if (interrupted) {
+			Thread.currentThread().interrupt();
+		}
+	}
+
+	/**
+	 * Executes all submitted tasks and stops consumer threads
+	 */
+	@Override
+	public void close() {
+		if (closed) {
+			return;
+		}
+		drain();
+		closed = true;
+		lanes.forEach(l -> l.thread.interrupt());
+		if (spillSegment != null) {
+			spillSegment.close();
+		}
+		if (droppedLogs.get() > 0 || spilledLogs.get() > 0) {
+			LOGGER.warn(
+					"Reporting buffer overflow: {} logs dropped, {} logs ({} bytes) spilled to disk, {} submits blocked",
+					droppedLogs.get(),
+					spilledLogs.get(),
+					spilledBytes.get(),
+					blockedSubmits.get()
+			);
+		}
+	}
+
+	/**
+	 * @return the buffer overflow policy
+	 */
+	@Nonnull
+	public OverflowPolicy getPolicy() {
+		return policy;
+	}
+
+	/**
+	 * @return number of submits which waited for free space in a buffer
+	 */
+	public long getBlockedSubmits() {
+		return blockedSubmits.get();
+	}
+
+	/**
+	 * @return number of logs dropped on buffer overflow
+	 */
+	public long getDroppedLogs() {
+		return droppedLogs.get();
+	}
+
+	/**
+	 * @return number of logs spilled to disk on buffer overflow
+	 */
+	public long getSpilledLogs() {
+		return spilledLogs.get();
+	}
+
+	/**
+	 * @return number of log content bytes spilled to disk on buffer overflow
+	 */
+	public long getSpilledBytes() {
+		return spilledBytes.get();
+	}
+
+	private static void runSafely(@Nonnull Runnable task) {
+		try {
+			task.run();
+		} catch (Throwable e) {
+			LOGGER.error("Unable to execute a reporting task", e);
+		}
+	}
+
+	/**
+	 * A task queued into the overflow queue, which counts towards the overflow queue limit
+	 */
+	private static class OverflowTask implements Runnable {
+		private final Runnable task;
+
+		private OverflowTask(@Nonnull Runnable task) {
+			this.task = task;
+		}
+
+		@Override
+		public void run() {
+			task.run();
+		}
+	}
+
+	private class Lane implements Runnable {
+		private final Thread thread;
+		private final int capacity;
+		private final Deque<Runnable> buffer;
+		private final Deque<Runnable> overflow = new ArrayDeque<>();
+		private int overflowTasks;
+		private final ReentrantLock lock = new ReentrantLock();
+		private final Condition notEmpty = lock.newCondition();
+		private final Condition notFull = lock.newCondition();
+
+		private Lane(int bufferSize, @Nonnull String name) {
+			thread = ReportingThreads.newThread(name, this);
+			capacity = bufferSize;
+			buffer = new ArrayDeque<>(bufferSize);
+		}
+
+		/**
+		 * Puts a task into the buffer if it has free space and there are no overflow tasks queued before
+		 *
+		 * @param task a task
+		 * @return true if the task was put
+		 */
+		private boolean offer(@Nonnull Runnable task) {
+			lock.lock();
+			try {
+				if (!overflow.isEmpty() || buffer.size() >= capacity) {
+					return false;
+				}
+				buffer.add(task);
+				notEmpty.signal();
+				return true;
+			} finally {
+				lock.unlock();
+			}
+		}
+
+		/**
+		 * Puts a task into the buffer, waiting for free space or queueing the task into the overflow queue
+		 *
+		 * @param task     a task
+		 * @param overflow true if the task should be queued into the overflow queue instead of waiting
+		 * @param limited  true if the task counts towards the overflow queue limit and waits once the limit is reached
+		 */
+		private void put(@Nonnull Runnable task, boolean overflow, boolean limited) {
+			boolean interrupted = false;
+			boolean blocked = false;
+			lock.lock();
+			try {
+				while (true) {
+					if (overflow && (!this.overflow.isEmpty() || buffer.size() >= capacity)) {
+						if (!limited || overflowTasks < capacity) {
+							if (limited) {
+								overflowTasks++;
+								this.overflow.add(new OverflowTask(task));
+							} else {
+								this.overflow.add(task);
+							}
+							notEmpty.signal();
+							return;
+						}
+					} else if (buffer.size() < capacity) {
+						buffer.add(task);
+						notEmpty.signal();
+						return;
+					}
+					if (!blocked) {
+						blocked = true;
+						blockedSubmits.incrementAndGet();
+					}
+					try {
+						notFull.await();
+					} catch (InterruptedException e) {
+						interrupted = true;
+					}
+				}
+			} finally {
+				lock.unlock();
+				if (interrupted) {
+					Thread.currentThread().interrupt();
+				}
+			}
+		}
+
+		@Nonnull
+		private Runnable take() throws InterruptedException {
+			lock.lock();
+			try {
+				while (buffer.isEmpty() && overflow.isEmpty()) {
+					notEmpty.await();
+				}
+				Runnable task = buffer.poll();
+				if (task == null) {
+					task = overflow.poll();
+					if (task instanceof OverflowTask) {
+						overflowTasks--;
+						notFull.signalAll();
+					}
+				} else {
+					notFull.signalAll();
+				}
+				return task;
+			} finally {
+				lock.unlock();
+			}
+		}
+
+		@Override
+		public void run() {
+			while (true) {
+				Runnable task;
+				try {
+					task = take();
+				} catch (InterruptedException e) {
+					if (closed) {
+						return;
+					}
+					continue;
+				}
+				runSafely(task);
+			}
+		}
+	}
+}
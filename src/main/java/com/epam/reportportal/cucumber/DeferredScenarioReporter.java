@@ -0,0 +1,34 @@
+/*
+ * Copyright 2020 EPAM Systems
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.epam.reportportal.cucumber;
+
+/**
+ * Cucumber reporter for ReportPortal that reports scenarios as test methods, the same way as {@link ScenarioReporter}, but
+ * holds the item tree of a scenario in memory while the scenario is running.
+ * <p>
+ * Scenario, hook and step items are created as virtual items, their start and finish requests are kept in a per-scenario
+ * list and sent in one burst when the scenario is finished: start requests in the order of start, then finish requests.
+ * Item start and end times are taken when the events happen, so the reported timeline is the same as with
+ * {@link ScenarioReporter}. Logs, embeddings and nested steps are bound to the virtual items and are sent by the client as
+ * soon as their items are started, so a running scenario sends no requests at all.
+ */
+public class DeferredScenarioReporter extends ScenarioReporter {
+
+	@Override
+	protected boolean isScenarioReportingDeferred() {
+		return true;
+	}
+}
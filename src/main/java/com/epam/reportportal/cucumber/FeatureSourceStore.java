@@ -0,0 +1,169 @@
+/*
+ * Copyright 2020 EPAM Systems
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.epam.reportportal.cucumber;
+
+import cucumber.runtime.io.MultiLoader;
+import cucumber.runtime.io.Resource;
+import cucumber.util.Encoding;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.io.Closeable;
+import java.io.IOException;
+import java.net.URI;
+import java.util.ArrayDeque;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+
+/**
+ * Holds parsed feature files of a reporter instance by their URIs. A feature source is parsed once per its content and the
+ * source text is released as soon as the feature's AST is built. Entries are released when the feature is finished. If the
+ * store is bounded, the oldest entries are evicted on overflow and re-read from their URIs on demand.
+ * <p>
+ * If a parser executor is specified, features are parsed in background as soon as they are put into the store, otherwise a
+ * feature is parsed by the first thread which accesses it.
+ */
+public class FeatureSourceStore implements Closeable {
+	private static final Logger LOGGER = LoggerFactory.getLogger(FeatureSourceStore.class);
+	private static final String FEATURE_SUFFIX = ".feature";
+
+	private final int maxSize;
+	private final ExecutorService parser;
+	private final Map<String, ParsedFeature> features = new ConcurrentHashMap<>();
+	private final Queue<String> insertionOrder = new ArrayDeque<>();
+
+	/**
+	 * Creates an unbounded store
+	 */
+	public FeatureSourceStore() {
+		this(0);
+	}
+
+	/**
+	 * @param maxSize maximum number of features held by the store, zero or a negative value means no limit
+	 */
+	public FeatureSourceStore(int maxSize) {
+		this(maxSize, null);
+	}
+
+	/**
+	 * @param maxSize maximum number of features held by the store, zero or a negative value means no limit
+	 * @param parser  an executor to parse features in background, the store shuts it down on {@link #close()}
+	 */
+	public FeatureSourceStore(int maxSize, @Nullable ExecutorService parser) {
+		this.maxSize = maxSize;
+		this.parser = parser;
+	}
+
+	/**
+	 * Puts a feature source into the store. If the store already contains the same source for the URI the old entry is kept.
+	 *
+	 * @param uri    a feature URI
+	 * @param source the feature file text
+	 * @return parsed feature for the source
+	 */
+	@Nonnull
+	public synchronized ParsedFeature put(@Nonnull String uri, @Nonnull String source) {
+		ParsedFeature existing = features.get(uri);
+		if (existing != null && existing.getSourceHash() == source.hashCode()) {
+			return existing;
+		}
+		ParsedFeature parsedFeature = new ParsedFeature(source);
+		if (features.put(uri, parsedFeature) == null && maxSize > 0) {
+			insertionOrder.add(uri);
+			while (features.size() > maxSize) {
+				String eldest = insertionOrder.poll();
+				if (eldest == null) {
+					break;
+				}
+				features.remove(eldest);
+			}
+		}
+		if (parser != null) {
+			try {
+				parser.execute(parsedFeature::getFeature);
+			} catch (RejectedExecutionException e) {
+				LOGGER.debug("Feature parser is shut down, '{}' will be parsed on demand", uri);
+			}
+		}
+		return parsedFeature;
+	}
+
+	/**
+	 * Returns a parsed feature by its URI. If the feature was evicted from the store its source is read again from the URI.
+	 *
+	 * @param uri a feature URI
+	 * @return parsed feature
+	 * @throws IllegalStateException if there is no feature in the store and the feature source can't be read
+	 */
+	@Nonnull
+	public ParsedFeature get(@Nonnull String uri) {
+		ParsedFeature parsedFeature = features.get(uri);
+		if (parsedFeature != null) {
+			return parsedFeature;
+		}
+		LOGGER.debug("Feature '{}' is not in the source store, reading it again", uri);
+		return put(uri, readSource(uri));
+	}
+
+	/**
+	 * Releases a parsed feature
+	 *
+	 * @param uri a feature URI
+	 */
+	public synchronized void release(@Nonnull String uri) {
+		if (features.remove(uri) != null && maxSize > 0) {
+			insertionOrder.remove(uri);
+		}
+	}
+
+	/**
+	 * @return number of features held by the store
+	 */
+	public int size() {
+		return features.size();
+	}
+
+	/**
+	 * Shuts down the background parser, if any. Features which are not parsed yet will be parsed on demand.
+	 */
+	@Override
+	public void close() {
+		if (parser != null) {
+			parser.shutdownNow();
+		}
+	}
+
+	@Nonnull
+	protected String readSource(@Nonnull String uri) {
+		try {
+			Iterator<Resource> resources = new MultiLoader(getClass().getClassLoader()).resources(URI.create(uri), FEATURE_SUFFIX)
+					.iterator();
+			if (resources.hasNext()) {
+				return Encoding.readFile(resources.next());
+			}
+		} catch (IOException | RuntimeException e) {
+			throw new IllegalStateException("Unable to read feature source: " + uri, e);
+		}
+		throw new IllegalStateException("Unable to find feature source: " + uri);
+	}
+}
@@ -0,0 +1,105 @@
+/*
+ * Copyright 2020 EPAM Systems
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.epam.reportportal.cucumber;
+
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A concurrent latency histogram with power of two buckets: a bucket with index {@code i} counts values from {@code 2^i} to
+ * {@code 2^(i+1) - 1} nanoseconds. Recording a value doesn't allocate memory, percentiles are estimated by upper bounds of
+ * the buckets.
+ */
+class LatencyHistogram {
+	private static final int BUCKETS = Long.SIZE;
+
+	private final LongAdder[] buckets = new LongAdder[BUCKETS];
+	private final LongAdder totalNanos = new LongAdder();
+	private final LongAccumulator maxNanos = new LongAccumulator(Math::max, 0);
+
+	LatencyHistogram() {
+		for (int i = 0; i < BUCKETS; i++) {
+			buckets[i] = new LongAdder();
+		}
+	}
+
+	/**
+	 * Records a value
+	 *
+	 * @param nanos a latency in nanoseconds, negative values are recorded as zero
+	 */
+	void record(long nanos) {
+		long value = Math.max(nanos, 0);
+		buckets[BUCKETS - 1 - Long.numberOfLeadingZeros(value | 1)].increment();
+		totalNanos.add(value);
+		maxNanos.accumulate(value);
+	}
+
+	/**
+	 * @return number of recorded values
+	 */
+	long getCount() {
+		long count = 0;
+		for (LongAdder bucket : buckets) {
+			count += bucket.sum();
+		}
+		return count;
+	}
+
+	/**
+	 * @return sum of recorded values in nanoseconds
+	 */
+	long getTotalNanos() {
+		return totalNanos.sum();
+	}
+
+	/**
+	 * @return maximum recorded value in nanoseconds
+	 */
+	long getMaxNanos() {
+		return maxNanos.get();
+	}
+
+	/**
+	 * Estimates a percentile of recorded values
+	 *
+	 * @param percentile a percentile from 0 to 100
+	 * @return the upper bound of the bucket which contains the percentile, but not more than the maximum recorded value, or zero
+	 * if there are no values
+	 */
+	long getPercentileNanos(double percentile) {
+		long[] counts = new long[BUCKETS];
+		long count = 0;
+		for (int i = 0; i < BUCKETS; i++) {
+			counts[i] = buckets[i].sum();
+			count += counts[i];
+		}
+		if (count == 0) {
+			return 0;
+		}
+		long rank = Math.max(1, (long) Math.ceil(count * Math.min(Math.max(percentile, 0), 100) / 100));
+		long max = getMaxNanos();
+		long seen = 0;
+		for (int i = 0; i < BUCKETS; i++) {
+			seen += counts[i];
+			if (seen >= rank) {
+				long upperBound = i == BUCKETS - 1 ? Long.MAX_VALUE : (1L << (i + 1)) - 1;
+				return Math.min(upperBound, max);
+			}
+		}
+		return max;
+	}
+}
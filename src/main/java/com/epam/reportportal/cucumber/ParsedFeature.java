@@ -0,0 +1,220 @@
+/*
+ * Copyright 2020 EPAM Systems
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.epam.reportportal.cucumber;
+
+import gherkin.AstBuilder;
+import gherkin.Parser;
+import gherkin.ParserException;
+import gherkin.TokenMatcher;
+import gherkin.ast.*;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.util.ArrayList;
+import java.util.List;
+
+import static java.util.Optional.ofNullable;
+
+/**
+ * A feature file source which is parsed into Gherkin AST at most once, on the first access. Along with the AST line indexes of
+ * the feature's scenarios are built, which map scenario lines and outline example row lines to their scenario definitions and
+ * example row lines to outline iteration numbers. The source text is released as soon as the AST is built, so only the AST
+ * and its indexes are retained.
+ */
+public class ParsedFeature {
+	private static final ScenarioDefinition[] EMPTY_INDEX = new ScenarioDefinition[0];
+	private static final int[] EMPTY_ITERATION_INDEX = new int[0];
+
+	private final int sourceHash;
+	private volatile String source;
+	private volatile Document document;
+
+	public ParsedFeature(@Nonnull String source) {
+		sourceHash = source.hashCode();
+		this.source = source;
+	}
+
+	private Document getDocument() {
+		Document result = document;
+		if (result == null) {
+			synchronized (this) {
+				result = document;
+				if (result == null) {
+					result = new Document(parse(source));
+					document = result;
+					source = null;
+				}
+			}
+		}
+		return result;
+	}
+
+	/**
+	 * @return true if the source is already parsed and released
+	 */
+	public boolean isParsed() {
+		return document != null;
+	}
+
+	/**
+	 * Parse a feature file source into Gherkin AST
+	 *
+	 * @param source feature file text
+	 * @return parsed feature or null if the source is not a valid Gherkin document
+	 */
+	@Nullable
+	public static Feature parse(@Nonnull String source) {
+		Parser<GherkinDocument> parser = new Parser<>(new AstBuilder());
+		TokenMatcher matcher = new TokenMatcher();
+		GherkinDocument gherkinDocument;
+		try {
+			gherkinDocument = parser.parse(source, matcher);
+		} catch (ParserException e) {
+			// Ignore exceptions
+			return null;
+		}
+		return gherkinDocument.getFeature();
+	}
+
+	/**
+	 * @return hash code of the source this feature was parsed from
+	 */
+	public int getSourceHash() {
+		return sourceHash;
+	}
+
+	/**
+	 * @return parsed feature or null if the source is not a valid Gherkin document
+	 */
+	@Nullable
+	public Feature getFeature() {
+		return getDocument().feature;
+	}
+
+	/**
+	 * Returns a scenario definition by a test case line: a scenario line or an outline example row line.
+	 *
+	 * @param line a test case line number
+	 * @return a scenario definition or null if there is no scenario on the line
+	 */
+	@Nullable
+	public ScenarioDefinition getScenario(int line) {
+		ScenarioDefinition[] index = getDocument().scenarioByLine;
+		return line >= 0 && line < index.length ? index[line] : null;
+	}
+
+	/**
+	 * Returns a serial number of an outline example row, counting from one through all examples of the outline.
+	 *
+	 * @param line an example row line number
+	 * @return the iteration number or zero if there is no example row on the line
+	 */
+	public int getOutlineIteration(int line) {
+		int[] index = getDocument().iterationByLine;
+		return line >= 0 && line < index.length ? index[line] : 0;
+	}
+
+	/**
+	 * Returns the number of pickles (test cases) Cucumber compiles from the feature without filters: one per scenario and one
+	 * per outline example row, scenarios and outlines without steps are compiled too.
+	 *
+	 * @return the number of pickles
+	 */
+	public int getPickleCount() {
+		return getDocument().pickleCount;
+	}
+
+	private static final class Document {
+		private final Feature feature;
+		private final ScenarioDefinition[] scenarioByLine;
+		private final int[] iterationByLine;
+		private final int pickleCount;
+
+		private Document(@Nullable Feature feature) {
+			this.feature = feature;
+			scenarioByLine = feature == null ? EMPTY_INDEX : buildIndex(feature);
+			iterationByLine = feature == null ? EMPTY_ITERATION_INDEX : buildIterationIndex(feature, scenarioByLine.length);
+			pickleCount = feature == null ? 0 : countPickles(feature);
+		}
+
+		private static int countPickles(@Nonnull Feature feature) {
+			int count = 0;
+			for (ScenarioDefinition scenario : feature.getChildren()) {
+				if (scenario instanceof Background) {
+					continue;
+				}
+				count += scenario instanceof ScenarioOutline ? getExampleRows((ScenarioOutline) scenario).size() : 1;
+			}
+			return count;
+		}
+
+		private static int[] buildIterationIndex(@Nonnull Feature feature, int size) {
+			int[] index = new int[size];
+			for (ScenarioDefinition scenario : feature.getChildren()) {
+				if (scenario instanceof ScenarioOutline) {
+					int iteration = 0;
+					for (TableRow tableRow : getExampleRows((ScenarioOutline) scenario)) {
+						index[tableRow.getLocation().getLine()] = ++iteration;
+					}
+				}
+			}
+			return index;
+		}
+
+		private static ScenarioDefinition[] buildIndex(@Nonnull Feature feature) {
+			int maxLine = 0;
+			for (ScenarioDefinition scenario : feature.getChildren()) {
+				if (scenario instanceof Background) {
+					continue;
+				}
+				maxLine = Math.max(maxLine, scenario.getLocation().getLine());
+				if (scenario instanceof ScenarioOutline) {
+					for (TableRow tableRow : getExampleRows((ScenarioOutline) scenario)) {
+						maxLine = Math.max(maxLine, tableRow.getLocation().getLine());
+					}
+				}
+			}
+			ScenarioDefinition[] index = new ScenarioDefinition[maxLine + 1];
+			for (ScenarioDefinition scenario : feature.getChildren()) {
+				if (scenario instanceof Background) {
+					continue;
+				}
+				index[scenario.getLocation().getLine()] = scenario;
+				if (scenario instanceof ScenarioOutline) {
+					for (TableRow tableRow : getExampleRows((ScenarioOutline) scenario)) {
+						index[tableRow.getLocation().getLine()] = scenario;
+					}
+				}
+			}
+			return index;
+		}
+	}
+
+	/**
+	 * Returns all example rows of a scenario outline in the order of their appearance in the feature file.
+	 *
+	 * @param scenarioOutline Cucumber's ScenarioOutline object
+	 * @return example table rows
+	 */
+	@Nonnull
+	public static List<TableRow> getExampleRows(@Nonnull ScenarioOutline scenarioOutline) {
+		List<TableRow> rows = new ArrayList<>();
+		for (Examples example : scenarioOutline.getExamples()) {
+			ofNullable(example.getTableBody()).ifPresent(rows::addAll);
+		}
+		return rows;
+	}
+}
@@ -0,0 +1,140 @@
+/*
+ * Copyright 2020 EPAM Systems
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.epam.reportportal.cucumber;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.time.Clock;
+import java.util.Date;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+/**
+ * Time source for test items and logs. By default the time is taken from the wall clock once, on the clock creation, and is
+ * advanced by the monotonic {@link System#nanoTime()} afterwards, so it never goes back because of system time adjustments.
+ * <p>
+ * Besides the current time the clock tracks the last time given out for each parent item, and guarantees that timestamps of
+ * child items of the same parent are strictly increasing, even if they are taken within the same millisecond.
+ * <p>
+ * An event handled on a thread other than the one it happened on is handled with the time of the calling thread fixed at
+ * the time of the event, see {@link #runAt(long, Runnable)}.
+ */
+public class ReporterClock {
+	private final LongSupplier millis;
+	private final Map<Object, AtomicLong> lastTimes = new ConcurrentHashMap<>();
+	private final ThreadLocal<Long> fixedTime = new ThreadLocal<>();
+
+	/**
+	 * Creates a monotonic clock based on the current system time
+	 */
+	public ReporterClock() {
+		long baseMillis = System.currentTimeMillis();
+		long baseNanos = System.nanoTime();
+		millis = () -> baseMillis + TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - baseNanos);
+	}
+
+	/**
+	 * Creates a clock based on the given time source
+	 *
+	 * @param clock a time source
+	 */
+	public ReporterClock(@Nonnull Clock clock) {
+		millis = clock::millis;
+	}
+
+	/**
+	 * @return current time in milliseconds since the epoch, or the fixed time if called within {@link #runAt(long, Runnable)}
+	 */
+	public long millis() {
+		Long time = fixedTime.get();
+		return time == null ? millis.getAsLong() : time;
+	}
+
+	/**
+	 * Runs a task with the time of the calling thread fixed at the given time
+	 *
+	 * @param time a time in milliseconds since the epoch
+	 * @param task a task to run
+	 */
+	public void runAt(long time, @Nonnull Runnable task) {
+		Long previous = fixedTime.get();
+		fixedTime.set(time);
+		try {
+			task.run();
+		} finally {
+			if (previous == null) {
+				fixedTime.remove();
+			} else {
+				fixedTime.set(previous);
+			}
+		}
+	}
+
+	/**
+	 * @return current time
+	 */
+	@Nonnull
+	public Date now() {
+		return new Date(millis());
+	}
+
+	/**
+	 * Returns current time for a child item of the given parent, strictly greater than any time returned for the parent before
+	 *
+	 * @param parent a parent item ID or null if the item has no parent
+	 * @return current time
+	 */
+	@Nonnull
+	public Date now(@Nullable Object parent) {
+		return next(parent, millis());
+	}
+
+	/**
+	 * Returns the given time if it's greater than any time returned for the parent before, or the next millisecond after the
+	 * last returned time otherwise
+	 *
+	 * @param parent a parent item ID or null if the item has no parent
+	 * @param time   a desired time
+	 * @return the time to use for a child item of the parent
+	 */
+	@Nonnull
+	public Date next(@Nullable Object parent, @Nonnull Date time) {
+		return parent == null ? time : next(parent, time.getTime());
+	}
+
+	@Nonnull
+	private Date next(@Nullable Object parent, long time) {
+		if (parent == null) {
+			return new Date(time);
+		}
+		AtomicLong last = lastTimes.computeIfAbsent(parent, p -> new AtomicLong(Long.MIN_VALUE));
+		return new Date(last.updateAndGet(previous -> previous < time ? time : previous + 1));
+	}
+
+	/**
+	 * Stops time tracking for a parent item, should be called when the item is finished
+	 *
+	 * @param parent a parent item ID
+	 */
+	public void release(@Nullable Object parent) {
+		if (parent != null) {
+			lastTimes.remove(parent);
+		}
+	}
+}
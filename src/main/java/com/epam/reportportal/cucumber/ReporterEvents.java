@@ -0,0 +1,52 @@
+/*
+ * Copyright 2020 EPAM Systems
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.epam.reportportal.cucumber;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+
+/**
+ * Records reporter lifecycle events which measure time spent inside the reporter. This is the Java 8 version which records
+ * nothing, the multi-release JAR contains a Java 11 version which emits Java Flight Recorder events.
+ */
+final class ReporterEvents {
+
+	private ReporterEvents() {
+		throw new AssertionError("No instances should exist for the class!");
+	}
+
+	/**
+	 * Starts timing of an event
+	 *
+	 * @param type the event type
+	 * @return an event to pass to {@link #commit(Object, String, int, String)} or null if the event is not recorded
+	 */
+	@Nullable
+	static Object begin(@Nonnull ReporterEventType type) {
+		return null;
+	}
+
+	/**
+	 * Finishes timing of an event and records it
+	 *
+	 * @param event an event returned by {@link #begin(ReporterEventType)}
+	 * @param uri   a feature URI
+	 * @param line  a scenario or step line
+	 * @param text  a feature name, a scenario name, a step text, a hook code location or an attachment name
+	 */
+	static void commit(@Nullable Object event, @Nullable String uri, int line, @Nullable String text) {
+	}
+}
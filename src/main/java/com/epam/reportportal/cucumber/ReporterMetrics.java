@@ -0,0 +1,250 @@
+/*
+ * Copyright 2020 EPAM Systems
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.epam.reportportal.cucumber;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.annotation.Nonnull;
+import javax.management.JMException;
+import javax.management.ObjectName;
+import java.beans.ConstructorProperties;
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Reporter overhead metrics: latencies of Cucumber event handlers and counters of reported items, logs and attachments.
+ * Recording doesn't allocate memory. In asynchronous mode handler latencies include only the work done on test threads.
+ */
+public class ReporterMetrics implements ReporterMetricsMXBean {
+	private static final Logger LOGGER = LoggerFactory.getLogger(ReporterMetrics.class);
+	private static final String DOMAIN = "com.epam.reportportal.cucumber";
+	private static final String SUMMARY_ROW_FORMAT = "%n%-20s %10s %12s %12s %12s %12s %12s";
+
+	/**
+	 * Measured Cucumber event handlers
+	 */
+	public enum Handler {
+		TEST_RUN_STARTED,
+		TEST_SOURCE_READ,
+		TEST_CASE_STARTED,
+		TEST_STEP_STARTED,
+		TEST_STEP_FINISHED,
+		TEST_CASE_FINISHED,
+		TEST_RUN_FINISHED,
+		EMBED_EVENT,
+		WRITE_EVENT
+	}
+
+	private final Map<Handler, LatencyHistogram> handlers = new EnumMap<>(Handler.class);
+	private final LongAdder itemsStarted = new LongAdder();
+	private final LongAdder itemsFinished = new LongAdder();
+	private final LongAdder logs = new LongAdder();
+	private final LongAdder embeddedBytes = new LongAdder();
+	private volatile ObjectName objectName;
+
+	public ReporterMetrics() {
+		for (Handler handler : Handler.values()) {
+			handlers.put(handler, new LatencyHistogram());
+		}
+	}
+
+	/**
+	 * Records a handler latency
+	 *
+	 * @param handler the handler
+	 * @param nanos   the latency in nanoseconds
+	 */
+	public void record(@Nonnull Handler handler, long nanos) {
+		handlers.get(handler).record(nanos);
+	}
+
+	public void itemStarted() {
+		itemsStarted.increment();
+	}
+
+	public void itemFinished() {
+		itemsFinished.increment();
+	}
+
+	public void logSent() {
+		logs.increment();
+	}
+
+	/**
+	 * Counts an attachment
+	 *
+	 * @param bytes size of the attachment
+	 */
+	public void attachmentSent(long bytes) {
+		logs.increment();
+		embeddedBytes.add(bytes);
+	}
+
+	@Override
+	public long getItemsStarted() {
+		return itemsStarted.sum();
+	}
+
+	@Override
+	public long getItemsFinished() {
+		return itemsFinished.sum();
+	}
+
+	@Override
+	public long getLogs() {
+		return logs.sum();
+	}
+
+	@Override
+	public long getEmbeddedBytes() {
+		return embeddedBytes.sum();
+	}
+
+	/**
+	 * @param handler a handler
+	 * @return latency statistics of the handler
+	 */
+	@Nonnull
+	public HandlerStatistics getHandler(@Nonnull Handler handler) {
+		LatencyHistogram histogram = handlers.get(handler);
+		return new HandlerStatistics(handler.name(),
+				histogram.getCount(),
+				histogram.getTotalNanos(),
+				histogram.getPercentileNanos(50),
+				histogram.getPercentileNanos(99),
+				histogram.getMaxNanos()
+		);
+	}
+
+	@Override
+	public List<HandlerStatistics> getHandlers() {
+		List<HandlerStatistics> result = new ArrayList<>(handlers.size());
+		for (Handler handler : Handler.values()) {
+			result.add(getHandler(handler));
+		}
+		return result;
+	}
+
+	/**
+	 * Registers the metrics in the platform MBean server
+	 *
+	 * @param name a name which distinguishes the reporter instance
+	 */
+	public void register(@Nonnull String name) {
+		try {
+			ObjectName objectName = new ObjectName(DOMAIN + ":type=" + ReporterMetrics.class.getSimpleName() + ",name=" + ObjectName.quote(
+					name));
+			ManagementFactory.getPlatformMBeanServer().registerMBean(this, objectName);
+			this.objectName = objectName;
+		} catch (JMException e) {
+			LOGGER.warn("Unable to register reporter metrics MBean", e);
+		}
+	}
+
+	/**
+	 * Removes the metrics from the platform MBean server
+	 */
+	public void unregister() {
+		ObjectName name = objectName;
+		if (name == null) {
+			return;
+		}
+		objectName = null;
+		try {
+			ManagementFactory.getPlatformMBeanServer().unregisterMBean(name);
+		} catch (JMException e) {
+			LOGGER.warn("Unable to unregister reporter metrics MBean", e);
+		}
+	}
+
+	/**
+	 * @return a human-readable table of the metrics
+	 */
+	@Nonnull
+	public String getSummary() {
+		StringBuilder summary = new StringBuilder("Reporter metrics: ");
+		summary.append(getItemsStarted()).append(" items started, ").append(getItemsFinished()).append(" items finished, ");
+		summary.append(getLogs()).append(" logs, ").append(getEmbeddedBytes()).append(" embedded bytes");
+		summary.append(String.format(SUMMARY_ROW_FORMAT, "Handler", "Count", "Total, ms", "Mean, us", "P50, us", "P99, us", "Max, us"));
+		for (HandlerStatistics handler : getHandlers()) {
+			if (handler.getCount() == 0) {
+				continue;
+			}
+			summary.append(String.format(SUMMARY_ROW_FORMAT,
+					handler.getName(),
+					handler.getCount(),
+					TimeUnit.NANOSECONDS.toMillis(handler.getTotalNanos()),
+					TimeUnit.NANOSECONDS.toMicros(handler.getTotalNanos() / handler.getCount()),
+					TimeUnit.NANOSECONDS.toMicros(handler.getP50Nanos()),
+					TimeUnit.NANOSECONDS.toMicros(handler.getP99Nanos()),
+					TimeUnit.NANOSECONDS.toMicros(handler.getMaxNanos())
+			));
+		}
+		return summary.toString();
+	}
+
+	/**
+	 * A snapshot of latency statistics of an event handler, percentiles are estimated by upper bounds of power of two buckets
+	 */
+	public static class HandlerStatistics {
+		private final String name;
+		private final long count;
+		private final long totalNanos;
+		private final long p50Nanos;
+		private final long p99Nanos;
+		private final long maxNanos;
+
+		@ConstructorProperties({ "name", "count", "totalNanos", "p50Nanos", "p99Nanos", "maxNanos" })
+		public HandlerStatistics(String name, long count, long totalNanos, long p50Nanos, long p99Nanos, long maxNanos) {
+			this.name = name;
+			this.count = count;
+			this.totalNanos = totalNanos;
+			this.p50Nanos = p50Nanos;
+			this.p99Nanos = p99Nanos;
+			this.maxNanos = maxNanos;
+		}
+
+		public String getName() {
+			return name;
+		}
+
+		public long getCount() {
+			return count;
+		}
+
+		public long getTotalNanos() {
+			return totalNanos;
+		}
+
+		public long getP50Nanos() {
+			return p50Nanos;
+		}
+
+		public long getP99Nanos() {
+			return p99Nanos;
+		}
+
+		public long getMaxNanos() {
+			return maxNanos;
+		}
+	}
+}
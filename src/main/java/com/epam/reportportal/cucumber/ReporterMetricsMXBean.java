@@ -0,0 +1,49 @@
+/*
+ * Copyright 2020 EPAM Systems
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.epam.reportportal.cucumber;
+
+import java.util.List;
+
+/**
+ * Management interface of {@link ReporterMetrics}
+ */
+public interface ReporterMetricsMXBean {
+
+	/**
+	 * @return number of test items started by the reporter
+	 */
+	long getItemsStarted();
+
+	/**
+	 * @return number of test items finished by the reporter
+	 */
+	long getItemsFinished();
+
+	/**
+	 * @return number of logs and attachments sent by the reporter
+	 */
+	long getLogs();
+
+	/**
+	 * @return number of attachment bytes sent by the reporter
+	 */
+	long getEmbeddedBytes();
+
+	/**
+	 * @return latency statistics of Cucumber event handlers
+	 */
+	List<ReporterMetrics.HandlerStatistics> getHandlers();
+}
@@ -0,0 +1,405 @@
+/*
+ * Copyright 2020 EPAM Systems
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.epam.reportportal.cucumber;
+
+import com.epam.reportportal.utils.properties.PropertiesLoader;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+
+import static java.util.Optional.ofNullable;
+
+/**
+ * Cucumber agent specific parameters. The parameters are read from the same sources as the client's listener parameters:
+ * 'reportportal.properties' file, environment variables and JVM system properties.
+ */
+public class ReporterParameters {
+	private static final Logger LOGGER = LoggerFactory.getLogger(ReporterParameters.class);
+
+	/**
+	 * Maximum number of feature sources held by the reporter, zero or a negative value means no limit
+	 */
+	public static final String FEATURE_SOURCE_STORE_SIZE = "rp.cucumber.feature.source.store.size";
+
+	/**
+	 * Number of threads which parse feature files in background as soon as they are read, zero disables background parsing
+	 */
+	public static final String FEATURE_PARSER_THREADS = "rp.cucumber.feature.parser.threads";
+
+	/**
+	 * Finish a feature as soon as its last scenario is finished instead of at the end of the run. The number of scenarios is
+	 * counted from the feature file, so features with scenarios filtered out by tags, names or lines are still finished at the
+	 * end of the run.
+	 */
+	public static final String FEATURE_EARLY_FINISH = "rp.cucumber.feature.early.finish";
+
+	/**
+	 * Maximum number of Data Table rows reported in step descriptions, parameters and logs, zero means no limit
+	 */
+	public static final String STEP_ARGUMENT_MAX_ROWS = "rp.cucumber.step.argument.max.rows";
+
+	/**
+	 * Maximum number of characters of a step Data Table or Doc String reported in step descriptions, parameters and logs, zero
+	 * means no limit. A Data Table is cut by whole formatted rows.
+	 */
+	public static final String STEP_ARGUMENT_MAX_LENGTH = "rp.cucumber.step.argument.max.length";
+
+	/**
+	 * Attach full content of a truncated step argument to the step
+	 */
+	public static final String STEP_ARGUMENT_ATTACH_FULL = "rp.cucumber.step.argument.attach.full";
+
+	/**
+	 * Number of threads which build and send reporting requests asynchronously, off the Cucumber test threads, zero disables
+	 * asynchronous reporting. Imperative nested steps ({@code StepReporter.sendStep}) are not supported in asynchronous mode,
+	 * since the client finishes them on any test item finish, use annotated nested steps instead.
+	 */
+	public static final String ASYNC_CONSUMERS = "rp.cucumber.async.consumers";
+
+	/**
+	 * Capacity of the asynchronous reporting buffer of each consumer thread, test threads wait if the buffer is full
+	 */
+	public static final String ASYNC_BUFFER_SIZE = "rp.cucumber.async.buffer.size";
+
+	/**
+	 * What happens if the asynchronous reporting buffer is full: 'BLOCK' the test thread, 'DROP_INFO_LOGS' or 'SPILL' logs to a
+	 * local file, see {@link AsyncReportingPipeline.OverflowPolicy}
+	 */
+	public static final String ASYNC_OVERFLOW_POLICY = "rp.cucumber.async.overflow.policy";
+
+	/**
+	 * A directory for spilled logs, the system temporary directory is used by default
+	 */
+	public static final String ASYNC_SPILL_DIRECTORY = "rp.cucumber.async.spill.directory";
+
+	/**
+	 * Collect latency histograms of Cucumber event handlers and counters of reported items, logs and attachments, publish them
+	 * as an MBean and log a summary at the end of the launch, see {@link ReporterMetrics}
+	 */
+	public static final String METRICS_ENABLED = "rp.cucumber.metrics.enabled";
+
+	/**
+	 * A directory for the offline reporting journal. If set, no requests are sent to ReportPortal, all launch, item and log
+	 * requests are written to the journal instead, see {@link com.epam.reportportal.cucumber.journal.JournalReportPortalClient}.
+	 * Each launch is written to its own {@code launch-<date>-<time>-<random ID>} subdirectory, which is passed to
+	 * {@link com.epam.reportportal.cucumber.journal.JournalReplayer} to upload the launch.
+	 */
+	public static final String JOURNAL_DIRECTORY = "rp.cucumber.journal.directory";
+
+	/**
+	 * Size of a memory-mapped journal segment file in bytes
+	 */
+	public static final String JOURNAL_SEGMENT_SIZE = "rp.cucumber.journal.segment.size";
+
+	/**
+	 * Maximum duration of a step in milliseconds, which start is held until the end of its scenario and sent right before the
+	 * step finish. Failed and longer steps are started as soon as they are finished. Zero disables deferred step start.
+	 */
+	public static final String STEP_DEFERRED_MAX_DURATION = "rp.cucumber.step.deferred.max.duration";
+
+	/**
+	 * Report full details only for failed scenarios. Steps, hooks and logs of a scenario are held until the scenario is
+	 * finished, a passed scenario is reported as a single item with the number and the total duration of its steps in
+	 * attributes. Not supported with asynchronous reporting.
+	 */
+	public static final String FAILURE_SAMPLING = "rp.cucumber.failure.sampling";
+
+	/**
+	 * Maximum size in bytes of log content held in memory for a scenario in failure sampling mode. The limit and the overflow
+	 * policy apply to logs and embeddings reported by the agent only: logs emitted by test code through {@code ReportPortal}
+	 * or logging framework appenders are held by the client's logging context until the scenario is finished, regardless of
+	 * the limit.
+	 */
+	public static final String FAILURE_SAMPLING_BUFFER_SIZE = "rp.cucumber.failure.sampling.buffer.size";
+
+	/**
+	 * What happens with logs which don't fit into the failure sampling buffer: 'SPILL' them to a local file or 'DROP' them, see
+	 * {@link SamplingOverflowPolicy}
+	 */
+	public static final String FAILURE_SAMPLING_OVERFLOW_POLICY = "rp.cucumber.failure.sampling.overflow.policy";
+
+	/**
+	 * A directory for logs spilled in failure sampling mode, the system temporary directory is used by default
+	 */
+	public static final String FAILURE_SAMPLING_SPILL_DIRECTORY = "rp.cucumber.failure.sampling.spill.directory";
+
+	public static final int DEFAULT_FEATURE_SOURCE_STORE_SIZE = 0;
+	public static final int DEFAULT_FEATURE_PARSER_THREADS = 0;
+	public static final boolean DEFAULT_FEATURE_EARLY_FINISH = false;
+	public static final int DEFAULT_STEP_ARGUMENT_MAX_ROWS = 0;
+	public static final int DEFAULT_STEP_ARGUMENT_MAX_LENGTH = 0;
+	public static final boolean DEFAULT_STEP_ARGUMENT_ATTACH_FULL = false;
+	public static final int DEFAULT_ASYNC_CONSUMERS = 0;
+	public static final int DEFAULT_ASYNC_BUFFER_SIZE = 1024;
+	public static final AsyncReportingPipeline.OverflowPolicy DEFAULT_ASYNC_OVERFLOW_POLICY = AsyncReportingPipeline.OverflowPolicy.BLOCK;
+	public static final boolean DEFAULT_METRICS_ENABLED = false;
+	public static final int DEFAULT_JOURNAL_SEGMENT_SIZE = 16 * 1024 * 1024;
+	public static final int DEFAULT_STEP_DEFERRED_MAX_DURATION = 0;
+	public static final boolean DEFAULT_FAILURE_SAMPLING = false;
+	public static final int DEFAULT_FAILURE_SAMPLING_BUFFER_SIZE = 1024 * 1024;
+	public static final SamplingOverflowPolicy DEFAULT_FAILURE_SAMPLING_OVERFLOW_POLICY = SamplingOverflowPolicy.SPILL;
+
+	private int featureSourceStoreSize;
+	private int featureParserThreads;
+	private boolean featureEarlyFinish;
+	private int stepArgumentMaxRows;
+	private int stepArgumentMaxLength;
+	private boolean stepArgumentAttachFull;
+	private int asyncConsumers;
+	private int asyncBufferSize;
+	private AsyncReportingPipeline.OverflowPolicy asyncOverflowPolicy;
+	private Path asyncSpillDirectory;
+	private boolean metricsEnabled;
+	private Path journalDirectory;
+	private int journalSegmentSize;
+	private int stepDeferredMaxDuration;
+	private boolean failureSampling;
+	private int failureSamplingBufferSize;
+	private SamplingOverflowPolicy failureSamplingOverflowPolicy;
+	private Path failureSamplingSpillDirectory;
+
+	public ReporterParameters() {
+		featureSourceStoreSize = DEFAULT_FEATURE_SOURCE_STORE_SIZE;
+		featureParserThreads = DEFAULT_FEATURE_PARSER_THREADS;
+		featureEarlyFinish = DEFAULT_FEATURE_EARLY_FINISH;
+		stepArgumentMaxRows = DEFAULT_STEP_ARGUMENT_MAX_ROWS;
+		stepArgumentMaxLength = DEFAULT_STEP_ARGUMENT_MAX_LENGTH;
+		stepArgumentAttachFull = DEFAULT_STEP_ARGUMENT_ATTACH_FULL;
+		asyncConsumers = DEFAULT_ASYNC_CONSUMERS;
+		asyncBufferSize = DEFAULT_ASYNC_BUFFER_SIZE;
+		asyncOverflowPolicy = DEFAULT_ASYNC_OVERFLOW_POLICY;
+		metricsEnabled = DEFAULT_METRICS_ENABLED;
+		journalSegmentSize = DEFAULT_JOURNAL_SEGMENT_SIZE;
+		stepDeferredMaxDuration = DEFAULT_STEP_DEFERRED_MAX_DURATION;
+		failureSampling = DEFAULT_FAILURE_SAMPLING;
+		failureSamplingBufferSize = DEFAULT_FAILURE_SAMPLING_BUFFER_SIZE;
+		failureSamplingOverflowPolicy = DEFAULT_FAILURE_SAMPLING_OVERFLOW_POLICY;
+	}
+
+	public ReporterParameters(@Nonnull PropertiesLoader properties) {
+		featureSourceStoreSize = getInt(properties, FEATURE_SOURCE_STORE_SIZE, DEFAULT_FEATURE_SOURCE_STORE_SIZE);
+		featureParserThreads = getInt(properties, FEATURE_PARSER_THREADS, DEFAULT_FEATURE_PARSER_THREADS);
+		featureEarlyFinish = getBoolean(properties, FEATURE_EARLY_FINISH, DEFAULT_FEATURE_EARLY_FINISH);
+		stepArgumentMaxRows = getInt(properties, STEP_ARGUMENT_MAX_ROWS, DEFAULT_STEP_ARGUMENT_MAX_ROWS);
+		stepArgumentMaxLength = getInt(properties, STEP_ARGUMENT_MAX_LENGTH, DEFAULT_STEP_ARGUMENT_MAX_LENGTH);
+		stepArgumentAttachFull = getBoolean(properties, STEP_ARGUMENT_ATTACH_FULL, DEFAULT_STEP_ARGUMENT_ATTACH_FULL);
+		asyncConsumers = getInt(properties, ASYNC_CONSUMERS, DEFAULT_ASYNC_CONSUMERS);
+		asyncBufferSize = getInt(properties, ASYNC_BUFFER_SIZE, DEFAULT_ASYNC_BUFFER_SIZE);
+		asyncOverflowPolicy = getEnum(properties,
+				ASYNC_OVERFLOW_POLICY,
+				AsyncReportingPipeline.OverflowPolicy.class,
+				DEFAULT_ASYNC_OVERFLOW_POLICY
+		);
+		asyncSpillDirectory = getPath(properties, ASYNC_SPILL_DIRECTORY);
+		metricsEnabled = getBoolean(properties, METRICS_ENABLED, DEFAULT_METRICS_ENABLED);
+		journalDirectory = getPath(properties, JOURNAL_DIRECTORY);
+		journalSegmentSize = getInt(properties, JOURNAL_SEGMENT_SIZE, DEFAULT_JOURNAL_SEGMENT_SIZE);
+		stepDeferredMaxDuration = getInt(properties, STEP_DEFERRED_MAX_DURATION, DEFAULT_STEP_DEFERRED_MAX_DURATION);
+		failureSampling = getBoolean(properties, FAILURE_SAMPLING, DEFAULT_FAILURE_SAMPLING);
+		failureSamplingBufferSize = getInt(properties, FAILURE_SAMPLING_BUFFER_SIZE, DEFAULT_FAILURE_SAMPLING_BUFFER_SIZE);
+		failureSamplingOverflowPolicy = getEnum(properties,
+				FAILURE_SAMPLING_OVERFLOW_POLICY,
+				SamplingOverflowPolicy.class,
+				DEFAULT_FAILURE_SAMPLING_OVERFLOW_POLICY
+		);
+		failureSamplingSpillDirectory = getPath(properties, FAILURE_SAMPLING_SPILL_DIRECTORY);
+	}
+
+	@Nullable
+	private static Path getPath(@Nonnull PropertiesLoader properties, @Nonnull String name) {
+		return ofNullable(properties.getProperty(name)).map(String::trim).filter(d -> !d.isEmpty()).map(Paths::get).orElse(null);
+	}
+
+	private static boolean getBoolean(@Nonnull PropertiesLoader properties, @Nonnull String name, boolean defaultValue) {
+		return ofNullable(properties.getProperty(name)).map(String::trim).map(Boolean::parseBoolean).orElse(defaultValue);
+	}
+
+	private static <T extends Enum<T>> T getEnum(@Nonnull PropertiesLoader properties, @Nonnull String name,
+			@Nonnull Class<T> type, @Nonnull T defaultValue) {
+		return ofNullable(properties.getProperty(name)).map(String::trim).map(v -> {
+			try {
+				return Enum.valueOf(type, v.toUpperCase());
+			} catch (IllegalArgumentException e) {
+				LOGGER.warn("Unable to parse '{}' property value '{}', using default value: {}", name, v, defaultValue);
+				return defaultValue;
+			}
+		}).orElse(defaultValue);
+	}
+
+	private static int getInt(@Nonnull PropertiesLoader properties, @Nonnull String name, int defaultValue) {
+		return ofNullable(properties.getProperty(name)).map(String::trim).map(v -> {
+			try {
+				return Integer.parseInt(v);
+			} catch (NumberFormatException e) {
+				LOGGER.warn("Unable to parse '{}' property value '{}', using default value: {}", name, v, defaultValue);
+				return defaultValue;
+			}
+		}).orElse(defaultValue);
+	}
+
+	public int getFeatureSourceStoreSize() {
+		return featureSourceStoreSize;
+	}
+
+	public void setFeatureSourceStoreSize(int featureSourceStoreSize) {
+		this.featureSourceStoreSize = featureSourceStoreSize;
+	}
+
+	public int getFeatureParserThreads() {
+		return featureParserThreads;
+	}
+
+	public void setFeatureParserThreads(int featureParserThreads) {
+		this.featureParserThreads = featureParserThreads;
+	}
+
+	public boolean isFeatureEarlyFinish() {
+		return featureEarlyFinish;
+	}
+
+	public void setFeatureEarlyFinish(boolean featureEarlyFinish) {
+		this.featureEarlyFinish = featureEarlyFinish;
+	}
+
+	public int getStepArgumentMaxRows() {
+		return stepArgumentMaxRows;
+	}
+
+	public void setStepArgumentMaxRows(int stepArgumentMaxRows) {
+		this.stepArgumentMaxRows = stepArgumentMaxRows;
+	}
+
+	public int getStepArgumentMaxLength() {
+		return stepArgumentMaxLength;
+	}
+
+	public void setStepArgumentMaxLength(int stepArgumentMaxLength) {
+		this.stepArgumentMaxLength = stepArgumentMaxLength;
+	}
+
+	public boolean isStepArgumentAttachFull() {
+		return stepArgumentAttachFull;
+	}
+
+	public void setStepArgumentAttachFull(boolean stepArgumentAttachFull) {
+		this.stepArgumentAttachFull = stepArgumentAttachFull;
+	}
+
+	public int getAsyncConsumers() {
+		return asyncConsumers;
+	}
+
+	public void setAsyncConsumers(int asyncConsumers) {
+		this.asyncConsumers = asyncConsumers;
+	}
+
+	public int getAsyncBufferSize() {
+		return asyncBufferSize;
+	}
+
+	public void setAsyncBufferSize(int asyncBufferSize) {
+		this.asyncBufferSize = asyncBufferSize;
+	}
+
+	@Nonnull
+	public AsyncReportingPipeline.OverflowPolicy getAsyncOverflowPolicy() {
+		return asyncOverflowPolicy;
+	}
+
+	public void setAsyncOverflowPolicy(@Nonnull AsyncReportingPipeline.OverflowPolicy asyncOverflowPolicy) {
+		this.asyncOverflowPolicy = asyncOverflowPolicy;
+	}
+
+	@Nullable
+	public Path getAsyncSpillDirectory() {
+		return asyncSpillDirectory;
+	}
+
+	public void setAsyncSpillDirectory(@Nullable Path asyncSpillDirectory) {
+		this.asyncSpillDirectory = asyncSpillDirectory;
+	}
+
+	public boolean isMetricsEnabled() {
+		return metricsEnabled;
+	}
+
+	public void setMetricsEnabled(boolean metricsEnabled) {
+		this.metricsEnabled = metricsEnabled;
+	}
+
+	@Nullable
+	public Path getJournalDirectory() {
+		return journalDirectory;
+	}
+
+	public void setJournalDirectory(@Nullable Path journalDirectory) {
+		this.journalDirectory = journalDirectory;
+	}
+
+	public int getJournalSegmentSize() {
+		return journalSegmentSize;
+	}
+
+	public void setJournalSegmentSize(int journalSegmentSize) {
+		this.journalSegmentSize = journalSegmentSize;
+	}
+
+	public int getStepDeferredMaxDuration() {
+		return stepDeferredMaxDuration;
+	}
+
+	public void setStepDeferredMaxDuration(int stepDeferredMaxDuration) {
+		this.stepDeferredMaxDuration = stepDeferredMaxDuration;
+	}
+
+	public boolean isFailureSampling() {
+		return failureSampling;
+	}
+
+	public void setFailureSampling(boolean failureSampling) {
+		this.failureSampling = failureSampling;
+	}
+
+	public int getFailureSamplingBufferSize() {
+		return failureSamplingBufferSize;
+	}
+
+	public void setFailureSamplingBufferSize(int failureSamplingBufferSize) {
+		this.failureSamplingBufferSize = failureSamplingBufferSize;
+	}
+
+	@Nonnull
+	public SamplingOverflowPolicy getFailureSamplingOverflowPolicy() {
+		return failureSamplingOverflowPolicy;
+	}
+
+	public void setFailureSamplingOverflowPolicy(@Nonnull SamplingOverflowPolicy failureSamplingOverflowPolicy) {
+		this.failureSamplingOverflowPolicy = failureSamplingOverflowPolicy;
+	}
+
+	@Nullable
+	public Path getFailureSamplingSpillDirectory() {
+		return failureSamplingSpillDirectory;
+	}
+
+	public void setFailureSamplingSpillDirectory(@Nullable Path failureSamplingSpillDirectory) {
+		this.failureSamplingSpillDirectory = failureSamplingSpillDirectory;
+	}
+}
@@ -0,0 +1,56 @@
+/*
+ * Copyright 2020 EPAM Systems
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.epam.reportportal.cucumber;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.util.concurrent.ExecutorService;
+
+/**
+ * Creates threads for reporting work. This is the Java 8 version which uses platform daemon threads, the multi-release JAR
+ * contains a Java 21 version which uses virtual threads.
+ */
+final class ReportingThreads {
+
+	private ReportingThreads() {
+		throw new AssertionError("No instances should exist for the class!");
+	}
+
+	/**
+	 * Creates an unstarted daemon thread
+	 *
+	 * @param name thread name
+	 * @param task a task to run
+	 * @return the thread
+	 */
+	@Nonnull
+	static Thread newThread(@Nonnull String name, @Nonnull Runnable task) {
+		Thread thread = new Thread(task, name);
+		thread.setDaemon(true);
+		return thread;
+	}
+
+	/**
+	 * Creates an executor which runs each task on a new virtual thread
+	 *
+	 * @param namePrefix thread name prefix
+	 * @return the executor or null if virtual threads are not supported by the runtime
+	 */
+	@Nullable
+	static ExecutorService newVirtualThreadExecutor(@Nonnull String namePrefix) {
+		return null;
+	}
+}
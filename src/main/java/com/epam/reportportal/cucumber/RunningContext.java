@@ -20,16 +20,12 @@ import cucumber.api.Result;
 import cucumber.api.TestCase;
 import cucumber.api.TestStep;
 import cucumber.api.event.TestSourceRead;
-import gherkin.AstBuilder;
-import gherkin.Parser;
-import gherkin.ParserException;
-import gherkin.TokenMatcher;
 import gherkin.ast.*;
 import io.reactivex.Maybe;
 
 import java.util.*;
 import java.util.concurrent.ConcurrentHashMap;
-import java.util.stream.Collectors;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.stream.IntStream;
 
 /**
@@ -49,15 +45,55 @@ public class RunningContext {
 	public static class FeatureContext {
 		private static final Map<String, TestSourceRead> PATH_TO_READ_EVENT_MAP = new ConcurrentHashMap<>();
 		private final String currentFeatureUri;
+		private final ParsedFeature parsedFeature;
 		private final Feature currentFeature;
+		private final AtomicInteger remainingScenarios;
 		private Maybe<String> currentFeatureId;
 
+		/**
+		 * Creates a context of a feature added with {@link #addTestSourceReadEvent(String, TestSourceRead)}, the reporter
+		 * doesn't add features there anymore
+		 *
+		 * @param testCase Cucumber's TestCase object
+		 * @throws IllegalStateException if the feature source wasn't added
+		 * @deprecated use {@link #FeatureContext(TestCase, ParsedFeature)} with a feature from {@link FeatureSourceStore}
+		 */
+		@Deprecated
 		public FeatureContext(TestCase testCase) {
-			TestSourceRead event = PATH_TO_READ_EVENT_MAP.get(testCase.getUri());
-			currentFeature = getFeature(event.source);
-			currentFeatureUri = event.uri;
+			this(testCase, new ParsedFeature(getTestSource(testCase.getUri())));
+		}
+
+		private static String getTestSource(String path) {
+			TestSourceRead event = PATH_TO_READ_EVENT_MAP.get(path);
+			if (event == null) {
+				throw new IllegalStateException("Feature source is unknown: " + path
+						+ ", use FeatureContext(TestCase, ParsedFeature) with a feature from the reporter's FeatureSourceStore");
+			}
+			return event.source;
+		}
+
+		public FeatureContext(TestCase testCase, ParsedFeature feature) {
+			parsedFeature = feature;
+			currentFeature = parsedFeature.getFeature();
+			currentFeatureUri = testCase.getUri();
+			remainingScenarios = new AtomicInteger(parsedFeature.getPickleCount());
 		}
 
+		/**
+		 * Counts a finished scenario of the feature
+		 *
+		 * @return true if it was the last scenario expected in the feature
+		 */
+		public boolean finishScenario() {
+			return remainingScenarios.decrementAndGet() == 0;
+		}
+
+		/**
+		 * @param path  a feature URI
+		 * @param event Cucumber's TestSourceRead object
+		 * @deprecated the events are held for the life of the JVM, use {@link FeatureSourceStore} instead
+		 */
+		@Deprecated
 		public static void addTestSourceReadEvent(String path, TestSourceRead event) {
 			PATH_TO_READ_EVENT_MAP.put(path, event);
 		}
@@ -67,23 +103,14 @@ public class RunningContext {
 			ScenarioContext context = new ScenarioContext();
 			context.processScenario(scenario);
 			context.setTestCase(testCase);
-			context.processBackground(getBackground());
-			context.processScenarioOutline(scenario);
 			context.setFeatureUri(getUri());
+			context.processBackground(getBackground());
+			context.processScenarioOutline(scenario, parsedFeature.getOutlineIteration(testCase.getLine()));
 			return context;
 		}
 
 		public Feature getFeature(String source) {
-			Parser<GherkinDocument> parser = new Parser<>(new AstBuilder());
-			TokenMatcher matcher = new TokenMatcher();
-			GherkinDocument gherkinDocument;
-			try {
-				gherkinDocument = parser.parse(source, matcher);
-			} catch (ParserException e) {
-				// Ignore exceptions
-				return null;
-			}
-			return gherkinDocument.getFeature();
+			return ParsedFeature.parse(source);
 		}
 
 		public Background getBackground() {
@@ -109,32 +136,15 @@ public class RunningContext {
 
 		@SuppressWarnings("unchecked")
 		public <T extends ScenarioDefinition> T getScenario(TestCase testCase) {
-			List<ScenarioDefinition> featureScenarios = getFeature().getChildren();
-			for (ScenarioDefinition scenario : featureScenarios) {
-				if (scenario instanceof Background) {
-					continue;
-				}
-				if (testCase.getLine() == scenario.getLocation().getLine() && testCase.getName().equals(scenario.getName())) {
-					return (T) scenario;
-				} else {
-					if (scenario instanceof ScenarioOutline) {
-						for (Examples example : ((ScenarioOutline) scenario).getExamples()) {
-							for (TableRow tableRow : example.getTableBody()) {
-								if (tableRow.getLocation().getLine() == testCase.getLine()) {
-									return (T) scenario;
-								}
-							}
-						}
-					}
-				}
+			ScenarioDefinition scenario = parsedFeature.getScenario(testCase.getLine());
+			if (scenario == null) {
+				throw new IllegalStateException("Scenario can't be null!");
 			}
-			throw new IllegalStateException("Scenario can't be null!");
+			return (T) scenario;
 		}
 	}
 
 	public static class ScenarioContext {
-		private static final Map<ScenarioDefinition, List<Integer>> scenarioOutlineMap = new ConcurrentHashMap<>();
-
 		private final Queue<Step> backgroundSteps = new ArrayDeque<>();
 		private final Map<Integer, Step> scenarioLocationMap = new HashMap<>();
 		private Maybe<String> currentStepId;
@@ -169,24 +179,33 @@ public class RunningContext {
 		 * Takes the serial number of scenario outline and links it to the executing scenario
 		 *
 		 * @param scenarioOutline Cucumber's ScenarioDefinition object
+		 * @deprecated Use {@link #processScenarioOutline(ScenarioDefinition, int)} with an iteration number from a feature index
 		 **/
+		@Deprecated
 		public void processScenarioOutline(ScenarioDefinition scenarioOutline) {
 			if (isScenarioOutline(scenarioOutline)) {
-				scenarioOutlineMap.computeIfAbsent(scenarioOutline,
-						k -> ((ScenarioOutline) scenarioOutline).getExamples()
-								.stream()
-								.flatMap(e -> e.getTableBody().stream())
-								.map(r -> r.getLocation().getLine())
-								.collect(Collectors.toList())
-				);
-				int iterationIdx = IntStream.range(0, scenarioOutlineMap.get(scenarioOutline).size())
-						.filter(i -> getLine() == scenarioOutlineMap.get(scenarioOutline).get(i))
+				List<TableRow> rows = ParsedFeature.getExampleRows((ScenarioOutline) scenarioOutline);
+				int line = getLine();
+				int iteration = IntStream.range(0, rows.size())
+						.filter(i -> line == rows.get(i).getLocation().getLine())
 						.findFirst()
-						.orElseThrow(() -> new IllegalStateException(String.format("No outline iteration number found for scenario %s:%s",
-								uri,
-								getLine()
-						)));
-				outlineIteration = String.format("[%d]", iterationIdx + 1);
+						.orElse(-1) + 1;
+				processScenarioOutline(scenarioOutline, iteration);
+			}
+		}
+
+		/**
+		 * Links the serial number of scenario outline to the executing scenario
+		 *
+		 * @param scenarioOutline Cucumber's ScenarioDefinition object
+		 * @param iteration       the serial number of the outline example row, counting from one
+		 **/
+		public void processScenarioOutline(ScenarioDefinition scenarioOutline, int iteration) {
+			if (isScenarioOutline(scenarioOutline)) {
+				if (iteration <= 0) {
+					throw new IllegalStateException(String.format("No outline iteration number found for scenario %s:%s", uri, getLine()));
+				}
+				outlineIteration = String.format("[%d]", iteration);
 			}
 		}
 
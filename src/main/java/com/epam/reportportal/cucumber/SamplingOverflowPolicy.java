@@ -0,0 +1,31 @@
+/*
+ * Copyright 2020 EPAM Systems
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.epam.reportportal.cucumber;
+
+/**
+ * Defines what happens with logs of a scenario which don't fit into the failure sampling buffer, see
+ * {@link ReporterParameters#FAILURE_SAMPLING_BUFFER_SIZE}
+ */
+public enum SamplingOverflowPolicy {
+	/**
+	 * Log content is written to a local segment file and read back if the scenario fails
+	 */
+	SPILL,
+	/**
+	 * Logs are dropped, the number of dropped logs is reported as a warning if the scenario fails
+	 */
+	DROP
+}
@@ -0,0 +1,186 @@
+/*
+ * Copyright 2020 EPAM Systems
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.epam.reportportal.cucumber;
+
+import com.epam.reportportal.message.ReportPortalMessage;
+import com.epam.reportportal.service.Launch;
+import com.epam.reportportal.service.ReportPortal;
+import com.epam.reportportal.utils.files.ByteSource;
+import com.epam.ta.reportportal.ws.model.log.SaveLogRQ;
+import io.reactivex.Maybe;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Logs of a scenario reported in failure sampling mode, which are held until the scenario is finished. The logs are sent if the
+ * scenario fails and discarded otherwise. Content of logs which don't fit into the buffer is spilled to disk or dropped
+ * depending on the {@link SamplingOverflowPolicy}.
+ */
+class ScenarioLogBuffer {
+	private static final Logger LOGGER = LoggerFactory.getLogger(ScenarioLogBuffer.class);
+
+	private final int limit;
+	private final SamplingOverflowPolicy policy;
+	private final Supplier<SpillSegment> spillSegment;
+	private final List<BufferedLog> logs = new ArrayList<>();
+	private long size;
+	private int dropped;
+
+	/**
+	 * @param limit        maximum size in bytes of log content held in memory
+	 * @param policy       buffer overflow policy
+	 * @param spillSegment a supplier of a spill segment shared by all scenarios
+	 */
+	ScenarioLogBuffer(int limit, @Nonnull SamplingOverflowPolicy policy, @Nonnull Supplier<SpillSegment> spillSegment) {
+		this.limit = limit;
+		this.policy = policy;
+		this.spillSegment = spillSegment;
+	}
+
+	/**
+	 * Adds a text log
+	 *
+	 * @param itemId  an ID of the item to log to
+	 * @param level   the log level
+	 * @param time    the log time
+	 * @param message the log message
+	 */
+	synchronized void add(@Nonnull Maybe<String> itemId, @Nonnull String level, @Nonnull Date time, @Nonnull String message) {
+		add(new BufferedLog(itemId, level, time, null, null), message.getBytes(StandardCharsets.UTF_8));
+	}
+
+	/**
+	 * Adds a log with an attachment
+	 *
+	 * @param itemId      an ID of the item to log to
+	 * @param level       the log level
+	 * @param time        the log time
+	 * @param name        the attachment name
+	 * @param contentType the attachment type
+	 * @param content     the attachment content
+	 */
+	synchronized void add(@Nonnull Maybe<String> itemId, @Nonnull String level, @Nonnull Date time, @Nonnull String name,
+			@Nullable String contentType, @Nonnull byte[] content) {
+		add(new BufferedLog(itemId, level, time, name, contentType), content);
+	}
+
+	private void add(@Nonnull BufferedLog log, @Nonnull byte[] content) {
+		log.length = content.length;
+		if (size + content.length <= limit) {
+			size += content.length;
+			log.content = content;
+			logs.add(log);
+			return;
+		}
+		if (policy == SamplingOverflowPolicy.DROP) {
+			dropped++;
+			return;
+		}
+		try {
+			log.position = spillSegment.get().write(content);
+		} catch (IOException e) {
+			LOGGER.warn("Unable to spill a log to disk, keeping it in memory", e);
+			log.content = content;
+		}
+		logs.add(log);
+	}
+
+	/**
+	 * Sends all logs of the buffer, the items to log to should be started before
+	 *
+	 * @param launch a launch to send logs to
+	 */
+	synchronized void send(@Nonnull Launch launch) {
+		for (BufferedLog log : logs) {
+			byte[] content = log.content;
+			if (content == null) {
+				try {
+					content = spillSegment.get().read(log.position, log.length);
+				} catch (IOException e) {
+					LOGGER.error("Unable to read a spilled log from disk", e);
+					spillSegment.get().discard();
+					continue;
+				}
+			}
+			launch.log(log.itemId, log.toRequest(content));
+		}
+		if (dropped > 0) {
+			LOGGER.warn("Failure sampling buffer overflow: {} logs of a failed scenario dropped", dropped);
+		}
+		clear();
+	}
+
+	/**
+	 * Discards all logs of the buffer
+	 */
+	synchronized void discard() {
+		logs.stream().filter(l -> l.content == null).forEach(l -> spillSegment.get().discard());
+		clear();
+	}
+
+	private void clear() {
+		logs.clear();
+		size = 0;
+		dropped = 0;
+	}
+
+	private static class BufferedLog {
+		private final Maybe<String> itemId;
+		private final String level;
+		private final Date time;
+		private final String name;
+		private final String contentType;
+		private byte[] content;
+		private long position;
+		private int length;
+
+		private BufferedLog(@Nonnull Maybe<String> itemId, @Nonnull String level, @Nonnull Date time, @Nullable String name,
+				@Nullable String contentType) {
+			this.itemId = itemId;
+			this.level = level;
+			this.time = time;
+			this.name = name;
+			this.contentType = contentType;
+		}
+
+		@Nonnull
+		private Function<String, SaveLogRQ> toRequest(@Nonnull byte[] content) {
+			if (name == null) {
+				String message = new String(content, StandardCharsets.UTF_8);
+				return itemUuid -> {
+					SaveLogRQ rq = new SaveLogRQ();
+					rq.setItemUuid(itemUuid);
+					rq.setLevel(level);
+					rq.setLogTime(time);
+					rq.setMessage(message);
+					return rq;
+				};
+			}
+			ReportPortalMessage message = new ReportPortalMessage(ByteSource.wrap(content), contentType, name);
+			return itemUuid -> ReportPortal.toSaveLogRQ(null, itemUuid, level, time, message);
+		}
+	}
+}
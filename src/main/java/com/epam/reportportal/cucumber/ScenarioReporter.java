@@ -23,7 +23,6 @@ import cucumber.api.TestStep;
 import io.reactivex.Maybe;
 
 import javax.annotation.Nonnull;
-import java.util.Calendar;
 import java.util.Optional;
 
 /**
@@ -68,8 +67,8 @@ public class ScenarioReporter extends AbstractReporter {
 		return rq;
 	}
 	@Override
-	protected void beforeStep(TestStep testStep) {
-		super.beforeStep(testStep);
+	protected void beforeStep(RunningContext.ScenarioContext context, TestStep testStep) {
+		super.beforeStep(context, testStep);
 		String description = buildMultilineArgument(testStep).trim();
 		if (!description.isEmpty()) {
 			sendLog(description);
@@ -124,8 +123,9 @@ public class ScenarioReporter extends AbstractReporter {
 		rootSuiteId = new MemoizingSupplier<>(() -> {
 			StartTestItemRQ rq = new StartTestItemRQ();
 			rq.setName(DUMMY_ROOT_SUITE_NAME);
-			rq.setStartTime(Calendar.getInstance().getTime());
+			rq.setStartTime(getClock().now());
 			rq.setType(RP_STORY_TYPE);
+			countItemStarted();
 			return launch.get().startTestItem(rq);
 		});
 	}
@@ -0,0 +1,128 @@
+/*
+ * Copyright 2020 EPAM Systems
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.epam.reportportal.cucumber;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * A local file which holds log content spilled out of a full reporting buffer. Content is appended to the end of the file and
+ * read back once. The file is created on the first write, it's truncated as soon as all written content is read and deleted
+ * on close.
+ */
+class SpillSegment implements Closeable {
+	private static final Logger LOGGER = LoggerFactory.getLogger(SpillSegment.class);
+	private static final String FILE_PREFIX = "rp-cucumber-spill-";
+	private static final String FILE_SUFFIX = ".seg";
+
+	private final Path directory;
+	private Path path;
+	private RandomAccessFile file;
+	private long unread;
+
+	/**
+	 * @param directory a directory for the segment file, the system temporary directory is used if null
+	 */
+	SpillSegment(@Nullable Path directory) {
+		this.directory = directory;
+	}
+
+	/**
+	 * Appends content to the segment
+	 *
+	 * @param content content to write
+	 * @return position of the content in the segment
+	 * @throws IOException if the segment file can't be created or written
+	 */
+	synchronized long write(@Nonnull byte[] content) throws IOException {
+		if (file == null) {
+			path = directory == null ? Files.createTempFile(FILE_PREFIX, FILE_SUFFIX) : Files.createTempFile(directory,
+					FILE_PREFIX,
+					FILE_SUFFIX
+			);
+			path.toFile().deleteOnExit();
+			file = new RandomAccessFile(path.toFile(), "rw");
+		}
+		long position = file.length();
+		file.seek(position);
+		file.write(content);
+		unread++;
+		return position;
+	}
+
+	/**
+	 * Reads content previously written to the segment. Content which failed to be read is still unread and should be
+	 * discarded.
+	 *
+	 * @param position position of the content
+	 * @param length   length of the content
+	 * @return the content
+	 * @throws IOException if the segment file can't be read
+	 */
+	@Nonnull
+	synchronized byte[] read(long position, int length) throws IOException {
+		if (file == null) {
+			throw new IOException("Spill segment is closed");
+		}
+		byte[] content = new byte[length];
+		file.seek(position);
+		file.readFully(content);
+		release();
+		return content;
+	}
+
+	/**
+	 * Releases content previously written to the segment without reading it
+	 */
+	synchronized void discard() {
+		if (file != null) {
+			release();
+		}
+	}
+
+	private void release() {
+		if (--unread > 0) {
+			return;
+		}
+		try {
+			file.setLength(0);
+		} catch (IOException e) {
+			LOGGER.warn("Unable to truncate spill segment file: " + path, e);
+		}
+	}
+
+	@Override
+	public synchronized void close() {
+		if (file == null) {
+			return;
+		}
+		try {
+			file.close();
+			Files.deleteIfExists(path);
+		} catch (IOException e) {
+			LOGGER.warn("Unable to delete spill segment file: " + path, e);
+		}
+		file = null;
+	}
+}
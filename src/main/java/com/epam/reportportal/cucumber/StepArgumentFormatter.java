@@ -0,0 +1,192 @@
+/*
+ * Copyright 2020 EPAM Systems
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.epam.reportportal.cucumber;
+
+import gherkin.pickles.PickleCell;
+import gherkin.pickles.PickleRow;
+import gherkin.pickles.PickleString;
+import gherkin.pickles.PickleTable;
+
+import javax.annotation.Nonnull;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Formats step multiline arguments (Data Tables and Doc Strings) with optional row and character limits. The rest of an
+ * argument which doesn't fit the limits is replaced with a truncation marker, which is not counted in the character limit.
+ * A Data Table is cut by whole rows: the formatter finds the greatest number of rows whose formatted text fits the character
+ * limit by doubling the number of rows and then halving the interval, so rows far past the limit are never formatted. Its
+ * marker reports the number of shown rows. A Doc String is cut by characters and its marker reports the number of shown
+ * characters.
+ */
+public class StepArgumentFormatter {
+	public static final String TRUNCATION_MARKER = "\n... truncated: %d of %d %s shown";
+
+	private static final String ROWS = "rows";
+	private static final String CHARACTERS = "characters";
+	private static final String TABLE_COLUMN_SEPARATOR = "|";
+	private static final String NEW_LINE = "\n";
+
+	private final int maxRows;
+	private final int maxLength;
+
+	/**
+	 * Creates a formatter without limits
+	 */
+	public StepArgumentFormatter() {
+		this(0, 0);
+	}
+
+	/**
+	 * @param maxRows   maximum number of Data Table rows to format, zero or a negative value means no limit
+	 * @param maxLength maximum number of characters of a formatted argument without a truncation marker, zero or a negative
+	 *                  value means no limit
+	 */
+	public StepArgumentFormatter(int maxRows, int maxLength) {
+		this.maxRows = maxRows;
+		this.maxLength = maxLength;
+	}
+
+	/**
+	 * Formats a Data Table. If even the first row doesn't fit the character limit, its formatted text is cut at the limit and
+	 * no rows are reported as shown.
+	 *
+	 * @param table          a step Data Table
+	 * @param tableFormatter a function which formats table rows, its result is expected to grow with the number of rows
+	 * @return the formatted table
+	 */
+	@Nonnull
+	public FormattedArgument formatTable(@Nonnull PickleTable table, @Nonnull Function<List<List<String>>, String> tableFormatter) {
+		List<PickleRow> rows = table.getRows();
+		int rowLimit = maxRows > 0 ? Math.min(maxRows, rows.size()) : rows.size();
+		List<List<String>> cells = new ArrayList<>();
+		Function<Integer, String> format = rowNumber -> {
+			rows.subList(cells.size(), Math.max(cells.size(), rowNumber))
+					.forEach(row -> cells.add(row.getCells().stream().map(PickleCell::getValue).collect(Collectors.toList())));
+			return tableFormatter.apply(cells.subList(0, rowNumber));
+		};
+		if (maxLength <= 0) {
+			return withRowMarker(format.apply(rowLimit), rowLimit, rows.size());
+		}
+		// double the number of rows while they fit the limit, then search between the last fitting and the first exceeding one
+		int fitting = 0;
+		String fittingTable = "";
+		int exceeding = 1;
+		while (exceeding <= rowLimit) {
+			String formattedTable = format.apply(exceeding);
+			if (formattedTable.length() > maxLength) {
+				break;
+			}
+			fitting = exceeding;
+			fittingTable = formattedTable;
+			exceeding *= 2;
+		}
+		exceeding = Math.min(exceeding, rowLimit + 1);
+		while (exceeding - fitting > 1) {
+			int middle = (fitting + exceeding) >>> 1;
+			String formattedTable = format.apply(middle);
+			if (formattedTable.length() > maxLength) {
+				exceeding = middle;
+			} else {
+				fitting = middle;
+				fittingTable = formattedTable;
+			}
+		}
+		if (fitting == 0 && rowLimit > 0) {
+			fittingTable = format.apply(1).substring(0, maxLength);
+		}
+		return withRowMarker(fittingTable, fitting, rows.size());
+	}
+
+	@Nonnull
+	private static FormattedArgument withRowMarker(@Nonnull String formattedTable, int shownRows, int totalRows) {
+		if (shownRows >= totalRows) {
+			return new FormattedArgument(formattedTable, false);
+		}
+		return new FormattedArgument(formattedTable + String.format(TRUNCATION_MARKER, shownRows, totalRows, ROWS), true);
+	}
+
+	/**
+	 * Formats a Doc String
+	 *
+	 * @param docString a step Doc String
+	 * @return the formatted Doc String
+	 */
+	@Nonnull
+	public FormattedArgument formatDocString(@Nonnull PickleString docString) {
+		String content = docString.getContent();
+		if (maxLength > 0 && content.length() > maxLength) {
+			return new FormattedArgument(
+					content.substring(0, maxLength) + String.format(TRUNCATION_MARKER, maxLength, content.length(), CHARACTERS),
+					true
+			);
+		}
+		return new FormattedArgument(content, false);
+	}
+
+	/**
+	 * Returns full plain text content of a step argument: a Data Table in Gherkin notation or Doc String content.
+	 *
+	 * @param argument a step argument
+	 * @return the argument content
+	 */
+	@Nonnull
+	public String getFullContent(@Nonnull gherkin.pickles.Argument argument) {
+		if (argument instanceof PickleString) {
+			return ((PickleString) argument).getContent();
+		}
+		if (!(argument instanceof PickleTable)) {
+			return argument.toString();
+		}
+		List<PickleRow> rows = ((PickleTable) argument).getRows();
+		StringBuilder buffer = new StringBuilder();
+		for (PickleRow row : rows) {
+			buffer.append(TABLE_COLUMN_SEPARATOR);
+			for (PickleCell cell : row.getCells()) {
+				buffer.append(' ').append(cell.getValue()).append(' ').append(TABLE_COLUMN_SEPARATOR);
+			}
+			buffer.append(NEW_LINE);
+		}
+		return buffer.toString();
+	}
+
+	/**
+	 * A formatted step argument
+	 */
+	public static class FormattedArgument {
+		private final String text;
+		private final boolean truncated;
+
+		public FormattedArgument(@Nonnull String text, boolean truncated) {
+			this.text = text;
+			this.truncated = truncated;
+		}
+
+		@Nonnull
+		public String getText() {
+			return text;
+		}
+
+		/**
+		 * @return true if the argument exceeds the formatter limits and its text is truncated
+		 */
+		public boolean isTruncated() {
+			return truncated;
+		}
+	}
+}
@@ -0,0 +1,112 @@
+/*
+ * Copyright 2020 EPAM Systems
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.epam.reportportal.cucumber;
+
+import com.epam.reportportal.annotations.TestCaseId;
+import com.epam.reportportal.annotations.attribute.Attributes;
+import com.epam.reportportal.utils.AttributeParser;
+import com.epam.ta.reportportal.ws.model.attribute.ItemAttributesRQ;
+import cucumber.runtime.StepDefinition;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.lang.reflect.Method;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Set;
+
+import static java.util.Optional.ofNullable;
+
+/**
+ * Reporting metadata of a step definition: a code reference, the step definition method with its Test Case ID annotation and
+ * static attributes. The metadata is resolved once per step definition, since it requires reflective access to cucumber
+ * internals.
+ */
+public class StepDefinitionMetadata {
+	private static final String METHOD_OPENING_BRACKET = "(";
+
+	private final String codeRef;
+	private final Method method;
+	private final TestCaseId testCaseId;
+	private final Set<ItemAttributesRQ> attributes;
+
+	private StepDefinitionMetadata(@Nullable String codeRef, @Nullable Method method) {
+		this.codeRef = codeRef;
+		this.method = method;
+		testCaseId = ofNullable(method).map(m -> m.getAnnotation(TestCaseId.class)).orElse(null);
+		attributes = ofNullable(method).map(m -> m.getAnnotation(Attributes.class))
+				.map(AttributeParser::retrieveAttributes)
+				.map(Collections::unmodifiableSet)
+				.orElse(null);
+	}
+
+	/**
+	 * Resolves metadata of a step definition
+	 *
+	 * @param stepDefinition Cucumber's StepDefinition object
+	 * @return step definition metadata
+	 */
+	@Nonnull
+	public static StepDefinitionMetadata resolve(@Nonnull StepDefinition stepDefinition) {
+		Method method;
+		try {
+			method = Utils.retrieveStepDefinitionMethod(stepDefinition);
+		} catch (NoSuchFieldException e) {
+			method = null;
+		}
+		return new StepDefinitionMetadata(getCodeRef(stepDefinition), method);
+	}
+
+	@Nullable
+	private static String getCodeRef(@Nonnull StepDefinition stepDefinition) {
+		return ofNullable(stepDefinition.getLocation(true)).filter(r -> !r.isEmpty()).map(r -> {
+			int openingBracketIndex = r.indexOf(METHOD_OPENING_BRACKET);
+			return openingBracketIndex > 0 ? r.substring(0, openingBracketIndex) : r;
+		}).orElse(null);
+	}
+
+	/**
+	 * @return a code reference or null if the step definition has no location
+	 */
+	@Nullable
+	public String getCodeRef() {
+		return codeRef;
+	}
+
+	/**
+	 * @return the step definition method or null if the step definition is not backed by a method
+	 */
+	@Nullable
+	public Method getMethod() {
+		return method;
+	}
+
+	/**
+	 * @return {@link TestCaseId} annotation of the step definition method or null if there is no such annotation
+	 */
+	@Nullable
+	public TestCaseId getTestCaseId() {
+		return testCaseId;
+	}
+
+	/**
+	 * @return a modifiable copy of attributes defined by {@link Attributes} annotation or null if there is no such annotation
+	 */
+	@Nullable
+	public Set<ItemAttributesRQ> getAttributes() {
+		return ofNullable(attributes).map(HashSet::new).orElse(null);
+	}
+}
@@ -17,10 +17,13 @@ package com.epam.reportportal.cucumber;
 
 import com.epam.reportportal.listeners.ItemStatus;
 import com.epam.reportportal.listeners.LogLevel;
-import com.epam.reportportal.utils.reflect.Accessible;
 import cucumber.api.Result;
 import cucumber.api.TestStep;
 
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Field;
 import java.lang.reflect.Method;
 import java.util.*;
 import java.util.stream.Collectors;
@@ -33,6 +36,10 @@ public class Utils {
 	private static final String STEP_DEFINITION_FIELD_NAME = "stepDefinition";
 	private static final String METHOD_FIELD_NAME = "method";
 
+	private static final FieldGetter DEFINITION_MATCH_GETTER = new FieldGetter(DEFINITION_MATCH_FIELD_NAME);
+	private static final FieldGetter STEP_DEFINITION_GETTER = new FieldGetter(STEP_DEFINITION_FIELD_NAME);
+	private static final FieldGetter METHOD_GETTER = new FieldGetter(METHOD_FIELD_NAME);
+
 	private Utils() {
 		throw new AssertionError("No instances should exist for the class!");
 	}
@@ -81,22 +88,70 @@ public class Utils {
 	}
 
 	public static Method retrieveMethod(Object stepDefinitionMatch) throws IllegalAccessException, NoSuchFieldException {
-		Object javaStepDefinition = Accessible.on(stepDefinitionMatch).field(STEP_DEFINITION_FIELD_NAME).getValue();
+		Object javaStepDefinition = getStepDefinition(stepDefinitionMatch);
 		Method method = null;
 		if (javaStepDefinition != null) {
-			method = (Method) Accessible.on(javaStepDefinition).field(METHOD_FIELD_NAME).getValue();
+			method = retrieveStepDefinitionMethod(javaStepDefinition);
 		}
 		return method;
 	}
 
+	public static Object getStepDefinition(Object stepDefinitionMatch) throws NoSuchFieldException {
+		return STEP_DEFINITION_GETTER.getValue(stepDefinitionMatch);
+	}
+
+	public static Method retrieveStepDefinitionMethod(Object stepDefinition) throws NoSuchFieldException {
+		return (Method) METHOD_GETTER.getValue(stepDefinition);
+	}
+
 	public static final java.util.function.Function<List<cucumber.api.Argument>, List<?>> ARGUMENTS_TRANSFORM = arguments -> ofNullable(
 			arguments).map(args -> args.stream().map(cucumber.api.Argument::getValue).collect(Collectors.toList())).orElse(null);
 
 	public static Object getDefinitionMatch(TestStep testStep) {
 		try {
-			return Accessible.on(testStep).field(DEFINITION_MATCH_FIELD_NAME).getValue();
+			return DEFINITION_MATCH_GETTER.getValue(testStep);
 		} catch (NoSuchFieldException e) {
 			return null;
 		}
 	}
+
+	/**
+	 * Getter of a private field by its name. The field is looked up once per class, through the class hierarchy, and is read
+	 * by a method handle afterwards.
+	 */
+	private static final class FieldGetter extends ClassValue<Optional<MethodHandle>> {
+		private static final MethodType GETTER_TYPE = MethodType.methodType(Object.class, Object.class);
+
+		private final String fieldName;
+
+		private FieldGetter(String fieldName) {
+			this.fieldName = fieldName;
+		}
+
+		@Override
+		protected Optional<MethodHandle> computeValue(Class<?> type) {
+			for (Class<?> current = type; current != null; current = current.getSuperclass()) {
+				try {
+					Field field = current.getDeclaredField(fieldName);
+					field.setAccessible(true);
+					return Optional.of(MethodHandles.lookup().unreflectGetter(field).asType(GETTER_TYPE));
+				} catch (NoSuchFieldException ignore) {
+				} catch (IllegalAccessException | RuntimeException e) {
+					return Optional.empty();
+				}
+			}
+			return Optional.empty();
+		}
+
+		private Object getValue(Object object) throws NoSuchFieldException {
+			MethodHandle getter = get(object.getClass()).orElseThrow(() -> new NoSuchFieldException(fieldName));
+			try {
+				return getter.invokeExact(object);
+			} catch (RuntimeException | Error e) {
+				throw e;
+			} catch (Throwable e) {
+				throw new IllegalStateException(e);
+			}
+		}
+	}
 }
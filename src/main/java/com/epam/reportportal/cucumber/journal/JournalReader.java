@@ -0,0 +1,128 @@
+/*
+ * Copyright 2020 EPAM Systems
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.epam.reportportal.cucumber.journal;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+
+import static com.epam.reportportal.cucumber.journal.JournalWriter.*;
+
+/**
+ * Reads records of a reporting journal written by {@link JournalWriter}, sequentially or by position. Segment files are
+ * memory-mapped read-only, so record payloads such as attachments are copied into the heap only when they are read.
+ */
+public class JournalReader implements Closeable {
+	private final List<MappedByteBuffer> segments = new ArrayList<>();
+	private int segment;
+	private int offset = SEGMENT_HEADER_SIZE;
+
+	/**
+	 * @param directory a journal directory
+	 * @throws IOException if the journal has no segments or a segment can't be read
+	 */
+	public JournalReader(@Nonnull Path directory) throws IOException {
+		for (int i = 0; ; i++) {
+			Path path = getSegmentPath(directory, i);
+			if (!Files.exists(path)) {
+				break;
+			}
+			try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+				MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+				if (buffer.limit() < SEGMENT_HEADER_SIZE || buffer.getInt(0) != MAGIC) {
+					throw new IOException("Not a journal segment: " + path);
+				}
+				segments.add(buffer);
+			}
+		}
+		if (segments.isEmpty()) {
+			throw new IOException("No journal segments found in: " + directory);
+		}
+	}
+
+	@Nullable
+	private JournalRecord read(int segment, int offset) throws IOException {
+		ByteBuffer buffer = segments.get(segment);
+		if (buffer.limit() - offset < RECORD_HEADER_SIZE) {
+			return null;
+		}
+		int length = buffer.getInt(offset);
+		if (length == 0) {
+			return null;
+		}
+		if (length < Byte.BYTES || buffer.limit() - offset - Integer.BYTES < length) {
+			throw new IOException("Corrupted journal record at segment " + segment + ", offset " + offset);
+		}
+		ByteBuffer record = buffer.duplicate();
+		record.position(offset + Integer.BYTES);
+		JournalRecordType type = JournalRecordType.valueOf(record.get());
+		byte[] payload = new byte[length - Byte.BYTES];
+		record.get(payload);
+		return new JournalRecord(type, toPosition(segment, offset), payload);
+	}
+
+	/**
+	 * Reads the next record of the journal
+	 *
+	 * @return the record or null if there are no more records
+	 * @throws IOException if the journal is corrupted
+	 */
+	@Nullable
+	public synchronized JournalRecord next() throws IOException {
+		while (segment < segments.size()) {
+			JournalRecord record = read(segment, offset);
+			if (record != null) {
+				offset += Integer.BYTES + Byte.BYTES + record.getPayload().length;
+				return record;
+			}
+			segment++;
+			offset = SEGMENT_HEADER_SIZE;
+		}
+		return null;
+	}
+
+	/**
+	 * Reads a record by its position
+	 *
+	 * @param position a position returned by {@link JournalWriter#append(JournalRecordType, byte[])}
+	 * @return the record
+	 * @throws IOException if there is no record at the position
+	 */
+	@Nonnull
+	public JournalRecord read(long position) throws IOException {
+		int recordSegment = (int) (position >>> Integer.SIZE);
+		int recordOffset = (int) position;
+		JournalRecord record = recordSegment < segments.size() ? read(recordSegment, recordOffset) : null;
+		if (record == null) {
+			throw new IOException("No journal record at position: " + position);
+		}
+		return record;
+	}
+
+	@Override
+	public void close() {
+		segments.clear();
+	}
+}
@@ -0,0 +1,60 @@
+/*
+ * Copyright 2020 EPAM Systems
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.epam.reportportal.cucumber.journal;
+
+import javax.annotation.Nonnull;
+import java.io.ByteArrayInputStream;
+import java.io.DataInputStream;
+
+/**
+ * A record read from a reporting journal
+ */
+public class JournalRecord {
+	private final JournalRecordType type;
+	private final long position;
+	private final byte[] payload;
+
+	public JournalRecord(@Nonnull JournalRecordType type, long position, @Nonnull byte[] payload) {
+		this.type = type;
+		this.position = position;
+		this.payload = payload;
+	}
+
+	@Nonnull
+	public JournalRecordType getType() {
+		return type;
+	}
+
+	/**
+	 * @return position of the record in the journal, see {@link JournalWriter#append(JournalRecordType, byte[])}
+	 */
+	public long getPosition() {
+		return position;
+	}
+
+	@Nonnull
+	public byte[] getPayload() {
+		return payload;
+	}
+
+	/**
+	 * @return a stream to read fields of the payload
+	 */
+	@Nonnull
+	public DataInputStream getPayloadInput() {
+		return new DataInputStream(new ByteArrayInputStream(payload));
+	}
+}
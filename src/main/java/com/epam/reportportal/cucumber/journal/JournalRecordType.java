@@ -0,0 +1,78 @@
+/*
+ * Copyright 2020 EPAM Systems
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.epam.reportportal.cucumber.journal;
+
+import javax.annotation.Nonnull;
+
+/**
+ * Types of reporting journal records
+ */
+public enum JournalRecordType {
+	/**
+	 * A launch start: launch ID and start launch request JSON
+	 */
+	START_LAUNCH(1),
+	/**
+	 * A launch finish: launch ID and finish request JSON
+	 */
+	FINISH_LAUNCH(2),
+	/**
+	 * An item start: item ID, parent item ID or an empty string for root items and start item request JSON
+	 */
+	START_ITEM(3),
+	/**
+	 * An item finish: item ID and finish item request JSON
+	 */
+	FINISH_ITEM(4),
+	/**
+	 * A single log without attachment: save log request JSON
+	 */
+	LOG(5),
+	/**
+	 * Raw content of an attachment, referenced by position from {@link #LOG_BATCH} records
+	 */
+	ATTACHMENT(6),
+	/**
+	 * A batch of logs: save log requests JSON array, then the number of attachments and for each of them a file name, a
+	 * content type and the position of its {@link #ATTACHMENT} record
+	 */
+	LOG_BATCH(7);
+
+	private final byte code;
+
+	JournalRecordType(int code) {
+		this.code = (byte) code;
+	}
+
+	public byte getCode() {
+		return code;
+	}
+
+	/**
+	 * @param code a record type code
+	 * @return the record type
+	 * @throws IllegalArgumentException if the code is unknown
+	 */
+	@Nonnull
+	public static JournalRecordType valueOf(byte code) {
+		for (JournalRecordType type : values()) {
+			if (type.code == code) {
+				return type;
+			}
+		}
+		throw new IllegalArgumentException("Unknown journal record type: " + code);
+	}
+}
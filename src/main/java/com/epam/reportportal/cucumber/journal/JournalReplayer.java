@@ -0,0 +1,452 @@
+/*
+ * Copyright 2020 EPAM Systems
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.epam.reportportal.cucumber.journal;
+
+import com.epam.reportportal.service.ReportPortal;
+import com.epam.reportportal.service.ReportPortalClient;
+import com.epam.ta.reportportal.ws.model.FinishExecutionRQ;
+import com.epam.ta.reportportal.ws.model.FinishTestItemRQ;
+import com.epam.ta.reportportal.ws.model.StartTestItemRQ;
+import com.epam.ta.reportportal.ws.model.launch.StartLaunchRQ;
+import com.epam.ta.reportportal.ws.model.log.SaveLogRQ;
+import com.fasterxml.jackson.core.type.TypeReference;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.*;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import static com.epam.reportportal.utils.http.HttpRequestUtils.MAPPER;
+import static com.epam.reportportal.utils.http.HttpRequestUtils.buildLogMultiPartRequest;
+import static java.util.Optional.ofNullable;
+
+/**
+ * Uploads a journal recorded by {@link JournalReportPortalClient} to ReportPortal. The journal is scanned once to rebuild the
+ * item tree (launch, root suites, features, scenarios, steps and hooks), keeping only journal positions of requests, then the
+ * tree is uploaded: an item is started before its logs and children and finished after them. Siblings which have children of
+ * their own, such as features or suites, are independent subtrees and are uploaded in parallel, leaf items are uploaded one
+ * by one in the order of recording.
+ * <p>
+ * Progress is saved into a checkpoint file, a replay started with the same checkpoint skips items and logs already uploaded.
+ * Server IDs differ from IDs recorded in the journal, so requests are re-targeted to the uploaded items.
+ * <p>
+ * The class can be run as an application: {@code JournalReplayer <launch journal directory> [parallelism]}, ReportPortal connection
+ * is configured the same way as for the agent, the checkpoint file is created in the journal directory.
+ */
+public class JournalReplayer {
+	private static final Logger LOGGER = LoggerFactory.getLogger(JournalReplayer.class);
+	private static final String CHECKPOINT_FILE = "replay.checkpoint";
+	private static final TypeReference<List<SaveLogRQ>> LOG_LIST_TYPE = new TypeReference<List<SaveLogRQ>>() {
+	};
+
+	private final ReportPortalClient client;
+	private final int parallelism;
+
+	/**
+	 * @param client      a client to upload the journal with
+	 * @param parallelism number of subtrees uploaded in parallel
+	 */
+	public JournalReplayer(@Nonnull ReportPortalClient client, int parallelism) {
+		if (parallelism <= 0) {
+			throw new IllegalArgumentException("Replay parallelism should be positive: " + parallelism);
+		}
+		this.client = client;
+		this.parallelism = parallelism;
+	}
+
+	/**
+	 * A position of a recorded log: a log record and the index of the log in the record
+	 */
+	private static class LogReference {
+		private final long position;
+		private final int index;
+
+		private LogReference(long position, int index) {
+			this.position = position;
+			this.index = index;
+		}
+	}
+
+	/**
+	 * A recorded launch or item with positions of its requests
+	 */
+	private static class Node {
+		private final String id;
+		private final String parentId;
+		private final long start;
+		private long finish = -1;
+		private final List<Node> children = new ArrayList<>();
+		private final List<LogReference> logs = new ArrayList<>();
+
+		private Node(@Nonnull String id, @Nullable String parentId, long start) {
+			this.id = id;
+			this.parentId = parentId;
+			this.start = start;
+		}
+
+		private boolean hasGrandchildren() {
+			return children.stream().anyMatch(c -> !c.children.isEmpty());
+		}
+	}
+
+	private static byte[] readBytes(@Nonnull DataInputStream input) throws IOException {
+		byte[] result = new byte[input.readInt()];
+		input.readFully(result);
+		return result;
+	}
+
+	@Nonnull
+	private static List<LogReference> getLogs(@Nonnull List<LogReference> launchLogs,
+			@Nonnull Map<String, List<LogReference>> itemLogs, @Nullable String itemId) {
+		return itemId == null ? launchLogs : itemLogs.computeIfAbsent(itemId, k -> new ArrayList<>());
+	}
+
+	/**
+	 * Reads the item tree of a journal
+	 *
+	 * @param reader a journal reader
+	 * @return the launch node
+	 * @throws IOException if the journal is corrupted
+	 */
+	@Nonnull
+	private static Node readTree(@Nonnull JournalReader reader) throws IOException {
+		Node launch = null;
+		Map<String, Node> items = new LinkedHashMap<>();
+		List<LogReference> launchLogs = new ArrayList<>();
+		Map<String, List<LogReference>> itemLogs = new HashMap<>();
+		for (JournalRecord record = reader.next(); record != null; record = reader.next()) {
+			DataInputStream payload = record.getPayloadInput();
+			switch (record.getType()) {
+				case START_LAUNCH:
+					launch = new Node(payload.readUTF(), null, record.getPosition());
+					break;
+				case FINISH_LAUNCH:
+					if (launch != null) {
+						launch.finish = record.getPosition();
+					}
+					break;
+				case START_ITEM:
+					String id = payload.readUTF();
+					String parentId = payload.readUTF();
+					items.put(id, new Node(id, parentId.isEmpty() ? null : parentId, record.getPosition()));
+					break;
+				case FINISH_ITEM:
+					Node finished = items.get(payload.readUTF());
+					if (finished != null) {
+						finished.finish = record.getPosition();
+					}
+					break;
+				case LOG:
+					SaveLogRQ log = MAPPER.readValue(readBytes(payload), SaveLogRQ.class);
+					getLogs(launchLogs, itemLogs, log.getItemUuid()).add(new LogReference(record.getPosition(), -1));
+					break;
+				case LOG_BATCH:
+					List<SaveLogRQ> logs = MAPPER.readValue(readBytes(payload), LOG_LIST_TYPE);
+					for (int i = 0; i < logs.size(); i++) {
+						getLogs(launchLogs, itemLogs, logs.get(i).getItemUuid()).add(new LogReference(record.getPosition(), i));
+					}
+					break;
+				default:
+					break;
+			}
+		}
+		if (launch == null) {
+			throw new IOException("No launch start found in the journal");
+		}
+		launch.logs.addAll(launchLogs);
+		for (Node item : items.values()) {
+			ofNullable(itemLogs.get(item.id)).ifPresent(item.logs::addAll);
+			Node parent = item.parentId == null ? launch : items.get(item.parentId);
+			if (parent == null) {
+				throw new IOException("Parent item " + item.parentId + " of item " + item.id + " is not found in the journal");
+			}
+			parent.children.add(item);
+		}
+		return launch;
+	}
+
+	/**
+	 * Uploads a journal, using a checkpoint file in the journal directory
+	 *
+	 * @param journalDirectory a journal directory
+	 * @return ID of the uploaded launch
+	 * @throws IOException if the journal or the checkpoint can't be read
+	 */
+	@Nonnull
+	public String replay(@Nonnull Path journalDirectory) throws IOException {
+		return replay(journalDirectory, journalDirectory.resolve(CHECKPOINT_FILE));
+	}
+
+	/**
+	 * Uploads a journal. If the upload fails it can be restarted with the same checkpoint file.
+	 *
+	 * @param journalDirectory a journal directory
+	 * @param checkpointFile   a checkpoint file
+	 * @return ID of the uploaded launch
+	 * @throws IOException if the journal or the checkpoint can't be read
+	 */
+	@Nonnull
+	public String replay(@Nonnull Path journalDirectory, @Nonnull Path checkpointFile) throws IOException {
+		try (JournalReader reader = new JournalReader(journalDirectory); ReplayCheckpoint checkpoint = new ReplayCheckpoint(
+				checkpointFile)) {
+			Node launch = readTree(reader);
+			Upload upload = new Upload(reader, checkpoint);
+			String launchId = upload.startLaunch(launch);
+			ForkJoinPool pool = new ForkJoinPool(parallelism);
+			try {
+				pool.invoke(new ChildrenTask(upload, launch));
+			} catch (UncheckedIOException e) {
+				throw e.getCause();
+			} finally {
+				// subtrees still running after a failure should save their progress before the checkpoint is closed
+				pool.shutdown();
+				pool.awaitQuiescence(Long.MAX_VALUE, TimeUnit.MILLISECONDS);
+			}
+			upload.finishLaunch(launch);
+			return launchId;
+		}
+	}
+
+	/**
+	 * Uploads requests of tree nodes
+	 */
+	private class Upload {
+		private final JournalReader reader;
+		private final ReplayCheckpoint checkpoint;
+		private String launchId;
+
+		private Upload(@Nonnull JournalReader reader, @Nonnull ReplayCheckpoint checkpoint) {
+			this.reader = reader;
+			this.checkpoint = checkpoint;
+		}
+
+		@Nonnull
+		private DataInputStream read(long position) throws IOException {
+			DataInputStream payload = reader.read(position).getPayloadInput();
+			// skip the launch or item ID
+			payload.readUTF();
+			return payload;
+		}
+
+		@Nonnull
+		private String startLaunch(@Nonnull Node launch) throws IOException {
+			launchId = checkpoint.getLaunchId(launch.id);
+			if (launchId == null) {
+				StartLaunchRQ rq = MAPPER.readValue(readBytes(read(launch.start)), StartLaunchRQ.class);
+				launchId = client.startLaunch(rq).blockingGet().getId();
+				checkpoint.launchStarted(launch.id, launchId);
+				LOGGER.info("Launch {} is started for journal launch {}", launchId, launch.id);
+			}
+			sendLogs(launch, null);
+			return launchId;
+		}
+
+		private void finishLaunch(@Nonnull Node launch) throws IOException {
+			if (checkpoint.isLaunchFinished()) {
+				return;
+			}
+			if (launch.finish < 0) {
+				LOGGER.warn("Launch {} was not finished in the journal, leaving it in progress", launch.id);
+				return;
+			}
+			FinishExecutionRQ rq = MAPPER.readValue(readBytes(read(launch.finish)), FinishExecutionRQ.class);
+			client.finishLaunch(launchId, rq).blockingGet();
+			checkpoint.launchFinished();
+		}
+
+		@Nonnull
+		private String startItem(@Nonnull Node item) throws IOException {
+			String itemId = checkpoint.getItemId(item.id);
+			if (itemId != null) {
+				return itemId;
+			}
+			DataInputStream payload = read(item.start);
+			payload.readUTF();
+			StartTestItemRQ rq = MAPPER.readValue(readBytes(payload), StartTestItemRQ.class);
+			rq.setLaunchUuid(launchId);
+			String parentId = item.parentId == null ? null : checkpoint.getItemId(item.parentId);
+			itemId = (parentId == null ? client.startTestItem(rq) : client.startTestItem(parentId, rq)).blockingGet().getId();
+			checkpoint.itemStarted(item.id, itemId);
+			return itemId;
+		}
+
+		private void finishItem(@Nonnull Node item, @Nonnull String itemId) throws IOException {
+			if (checkpoint.isItemFinished(item.id)) {
+				return;
+			}
+			if (item.finish < 0) {
+				LOGGER.warn("Item {} was not finished in the journal, leaving it in progress", item.id);
+				return;
+			}
+			FinishTestItemRQ rq = MAPPER.readValue(readBytes(read(item.finish)), FinishTestItemRQ.class);
+			rq.setLaunchUuid(launchId);
+			client.finishTestItem(itemId, rq).blockingGet();
+			checkpoint.itemFinished(item.id);
+		}
+
+		/**
+		 * Sends logs of a node, grouped by the records they were recorded in. Each record is saved into the checkpoint as soon
+		 * as its logs are sent, so a restarted replay sends only the remaining records.
+		 *
+		 * @param node   a launch or an item
+		 * @param itemId server ID of the item or null for launch logs
+		 * @throws IOException if a log record can't be read
+		 */
+		private void sendLogs(@Nonnull Node node, @Nullable String itemId) throws IOException {
+			if (node.logs.isEmpty() || checkpoint.isLogsSent(node.id)) {
+				return;
+			}
+			Map<Long, List<Integer>> records = node.logs.stream()
+					.collect(Collectors.groupingBy(l -> l.position,
+							LinkedHashMap::new,
+							Collectors.mapping(l -> l.index, Collectors.toList())
+					));
+			for (Map.Entry<Long, List<Integer>> record : records.entrySet()) {
+				if (checkpoint.isLogRecordSent(node.id, record.getKey())) {
+					continue;
+				}
+				JournalRecord logRecord = reader.read(record.getKey());
+				DataInputStream payload = logRecord.getPayloadInput();
+				if (logRecord.getType() == JournalRecordType.LOG) {
+					SaveLogRQ rq = MAPPER.readValue(readBytes(payload), SaveLogRQ.class);
+					rq.setLaunchUuid(launchId);
+					rq.setItemUuid(itemId);
+					client.log(rq).blockingGet();
+				} else {
+					client.log(buildLogMultiPartRequest(readBatch(payload, record.getValue(), itemId))).blockingGet();
+				}
+				checkpoint.logRecordSent(node.id, record.getKey());
+			}
+			checkpoint.logsSent(node.id);
+		}
+
+		/**
+		 * Reads logs of a batch record with their attachments
+		 *
+		 * @param payload payload of a batch record
+		 * @param indexes indexes of logs to read
+		 * @param itemId  server ID of the item the logs belong to or null for launch logs
+		 * @return the logs
+		 * @throws IOException if an attachment can't be read
+		 */
+		@Nonnull
+		private List<SaveLogRQ> readBatch(@Nonnull DataInputStream payload, @Nonnull List<Integer> indexes, @Nullable String itemId)
+				throws IOException {
+			List<SaveLogRQ> logs = MAPPER.readValue(readBytes(payload), LOG_LIST_TYPE);
+			int attachmentNumber = payload.readInt();
+			List<String> contentTypes = new ArrayList<>(attachmentNumber);
+			List<Long> positions = new ArrayList<>(attachmentNumber);
+			for (int i = 0; i < attachmentNumber; i++) {
+				payload.readUTF();
+				contentTypes.add(payload.readUTF());
+				positions.add(payload.readLong());
+			}
+			List<SaveLogRQ> result = new ArrayList<>(indexes.size());
+			Set<Integer> selected = new HashSet<>(indexes);
+			int attachment = 0;
+			for (int i = 0; i < logs.size(); i++) {
+				SaveLogRQ log = logs.get(i);
+				boolean withFile = log.getFile() != null && attachment < positions.size();
+				if (selected.contains(i)) {
+					if (withFile) {
+						log.getFile().setContentType(contentTypes.get(attachment));
+						log.getFile().setContent(reader.read(positions.get(attachment)).getPayload());
+					}
+					log.setLaunchUuid(launchId);
+					log.setItemUuid(itemId);
+					result.add(log);
+				}
+				if (withFile) {
+					attachment++;
+				}
+			}
+			return result;
+		}
+	}
+
+	/**
+	 * Uploads an item subtree
+	 */
+	private class ItemTask extends RecursiveAction {
+		private static final long serialVersionUID = 1L;
+
+		private final Upload upload;
+		private final Node item;
+
+		private ItemTask(@Nonnull Upload upload, @Nonnull Node item) {
+			this.upload = upload;
+			this.item = item;
+		}
+
+		@Override
+		protected void compute() {
+			try {
+				String itemId = upload.startItem(item);
+				upload.sendLogs(item, itemId);
+				new ChildrenTask(upload, item).compute();
+				upload.finishItem(item, itemId);
+			} catch (IOException e) {
+				throw new UncheckedIOException(e);
+			}
+		}
+	}
+
+	/**
+	 * Uploads children of a node, in parallel if they are independent subtrees
+	 */
+	private class ChildrenTask extends RecursiveAction {
+		private static final long serialVersionUID = 1L;
+
+		private final Upload upload;
+		private final Node parent;
+
+		private ChildrenTask(@Nonnull Upload upload, @Nonnull Node parent) {
+			this.upload = upload;
+			this.parent = parent;
+		}
+
+		@Override
+		protected void compute() {
+			List<ItemTask> tasks = parent.children.stream().map(c -> new ItemTask(upload, c)).collect(Collectors.toList());
+			if (parent.hasGrandchildren()) {
+				invokeAll(tasks);
+			} else {
+				tasks.forEach(ItemTask::compute);
+			}
+		}
+	}
+
+	public static void main(String[] args) throws IOException {
+		if (args.length < 1 || args.length > 2) {
+			System.err.println("Usage: JournalReplayer <journal directory> [parallelism]");
+			System.exit(2);
+		}
+		int parallelism = args.length > 1 ? Integer.parseInt(args[1]) : Runtime.getRuntime().availableProcessors();
+		ReportPortalClient client = ReportPortal.builder().build().getClient();
+		String launchId = new JournalReplayer(client, parallelism).replay(Paths.get(args[0]));
+		LOGGER.info("Journal is uploaded to launch {}", launchId);
+	}
+}
@@ -0,0 +1,238 @@
+/*
+ * Copyright 2020 EPAM Systems
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.epam.reportportal.cucumber.journal;
+
+import com.epam.reportportal.service.ReportPortalClient;
+import com.epam.ta.reportportal.ws.model.*;
+import com.epam.ta.reportportal.ws.model.item.ItemCreatedRS;
+import com.epam.ta.reportportal.ws.model.launch.*;
+import com.epam.ta.reportportal.ws.model.log.SaveLogRQ;
+import com.epam.ta.reportportal.ws.model.project.config.ProjectSettingsResource;
+import io.reactivex.Maybe;
+import okhttp3.MediaType;
+import okhttp3.MultipartBody;
+import okhttp3.RequestBody;
+import okio.Buffer;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static com.epam.reportportal.utils.http.HttpRequestUtils.MAPPER;
+import static java.util.Optional.ofNullable;
+
+/**
+ * A client which writes every launch, item and log request into a {@link JournalWriter} instead of sending it to
+ * ReportPortal. IDs of launches and items are generated locally, requests which read data from the server complete empty.
+ * Attachment content is written into separate {@link JournalRecordType#ATTACHMENT} records as soon as a log batch arrives,
+ * the batch record references them by position. A recorded journal can be read with {@link JournalReader} and uploaded to
+ * ReportPortal with {@link JournalReplayer}.
+ */
+public class JournalReportPortalClient implements ReportPortalClient, Closeable {
+	private static final Pattern NAME = Pattern.compile("\\bname=\"([^\"]*)\"");
+	private static final Pattern FILE_NAME = Pattern.compile("\\bfilename=\"([^\"]*)\"");
+	private static final String CONTENT_DISPOSITION = "Content-Disposition";
+	private static final String EMPTY_ID = "";
+
+	private final JournalWriter journal;
+
+	/**
+	 * @param journal a journal to write requests into, the client closes it on {@link #close()}
+	 */
+	public JournalReportPortalClient(@Nonnull JournalWriter journal) {
+		this.journal = journal;
+	}
+
+	@FunctionalInterface
+	private interface PayloadWriter {
+		void write(@Nonnull DataOutputStream payload) throws IOException;
+	}
+
+	private void append(@Nonnull JournalRecordType type, @Nonnull PayloadWriter writer) throws IOException {
+		ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+		try (DataOutputStream payload = new DataOutputStream(bytes)) {
+			writer.write(payload);
+		}
+		journal.append(type, bytes.toByteArray());
+	}
+
+	@Nonnull
+	private <T> Maybe<T> record(@Nonnull JournalRecordType type, @Nonnull T response, @Nonnull PayloadWriter writer) {
+		try {
+			append(type, writer);
+		} catch (IOException e) {
+			return Maybe.error(e);
+		}
+		return Maybe.just(response);
+	}
+
+	private static void writeJson(@Nonnull DataOutputStream payload, @Nonnull Object request) throws IOException {
+		byte[] json = MAPPER.writeValueAsBytes(request);
+		payload.writeInt(json.length);
+		payload.write(json);
+	}
+
+	@Nonnull
+	private static String newId() {
+		return UUID.randomUUID().toString();
+	}
+
+	@Override
+	public Maybe<StartLaunchRS> startLaunch(StartLaunchRQ rq) {
+		String id = newId();
+		return record(JournalRecordType.START_LAUNCH, new StartLaunchRS(id, 1L), payload -> {
+			payload.writeUTF(id);
+			writeJson(payload, rq);
+		});
+	}
+
+	@Override
+	public Maybe<LaunchResource> mergeLaunches(MergeLaunchesRQ rq) {
+		return Maybe.empty();
+	}
+
+	@Override
+	public Maybe<LaunchResource> updateLaunch(String launchUuid, UpdateLaunchRQ rq) {
+		return Maybe.empty();
+	}
+
+	@Override
+	public Maybe<OperationCompletionRS> finishLaunch(String launch, FinishExecutionRQ rq) {
+		return record(JournalRecordType.FINISH_LAUNCH, new OperationCompletionRS(), payload -> {
+			payload.writeUTF(launch);
+			writeJson(payload, rq);
+		});
+	}
+
+	@Nonnull
+	private Maybe<ItemCreatedRS> startItem(@Nullable String parent, @Nonnull StartTestItemRQ rq) {
+		String id = newId();
+		return record(JournalRecordType.START_ITEM, new ItemCreatedRS(id, id), payload -> {
+			payload.writeUTF(id);
+			payload.writeUTF(ofNullable(parent).orElse(EMPTY_ID));
+			writeJson(payload, rq);
+		});
+	}
+
+	@Override
+	public Maybe<ItemCreatedRS> startTestItem(StartTestItemRQ rq) {
+		return startItem(null, rq);
+	}
+
+	@Override
+	public Maybe<ItemCreatedRS> startTestItem(String parent, StartTestItemRQ rq) {
+		return startItem(parent, rq);
+	}
+
+	@Override
+	public Maybe<OperationCompletionRS> finishTestItem(String itemId, FinishTestItemRQ rq) {
+		return record(JournalRecordType.FINISH_ITEM, new OperationCompletionRS(), payload -> {
+			payload.writeUTF(itemId);
+			writeJson(payload, rq);
+		});
+	}
+
+	@Override
+	public Maybe<EntryCreatedAsyncRS> log(SaveLogRQ rq) {
+		return record(JournalRecordType.LOG, new EntryCreatedAsyncRS(newId()), payload -> writeJson(payload, rq));
+	}
+
+	@Nullable
+	private static String getHeaderValue(@Nonnull MultipartBody.Part part, @Nonnull Pattern pattern) {
+		String header = ofNullable(part.headers()).map(h -> h.get(CONTENT_DISPOSITION)).orElse(null);
+		if (header == null) {
+			return null;
+		}
+		Matcher matcher = pattern.matcher(header);
+		return matcher.find() ? matcher.group(1) : null;
+	}
+
+	@Nonnull
+	private static byte[] getContent(@Nonnull RequestBody body) throws IOException {
+		Buffer buffer = new Buffer();
+		body.writeTo(buffer);
+		return buffer.readByteArray();
+	}
+
+	@Override
+	public Maybe<BatchSaveOperatingRS> log(List<MultipartBody.Part> rq) {
+		byte[] json = null;
+		List<String> fileNames = new ArrayList<>();
+		List<String> contentTypes = new ArrayList<>();
+		List<Long> positions = new ArrayList<>();
+		try {
+			for (MultipartBody.Part part : rq) {
+				String fileName = getHeaderValue(part, FILE_NAME);
+				if (fileName == null && Constants.LOG_REQUEST_JSON_PART.equals(getHeaderValue(part, NAME))) {
+					json = getContent(part.body());
+					continue;
+				}
+				fileNames.add(ofNullable(fileName).orElse(EMPTY_ID));
+				contentTypes.add(ofNullable(part.body().contentType()).map(MediaType::toString).orElse(EMPTY_ID));
+				positions.add(journal.append(JournalRecordType.ATTACHMENT, getContent(part.body())));
+			}
+		} catch (IOException e) {
+			return Maybe.error(e);
+		}
+		if (json == null) {
+			return Maybe.error(new IllegalArgumentException("No JSON part in a log batch request"));
+		}
+		byte[] logs = json;
+		return record(JournalRecordType.LOG_BATCH, new BatchSaveOperatingRS(), payload -> {
+			payload.writeInt(logs.length);
+			payload.write(logs);
+			payload.writeInt(positions.size());
+			for (int i = 0; i < positions.size(); i++) {
+				payload.writeUTF(fileNames.get(i));
+				payload.writeUTF(contentTypes.get(i));
+				payload.writeLong(positions.get(i));
+			}
+		});
+	}
+
+	@Override
+	public Maybe<LaunchResource> getLaunchByUuid(String uuid) {
+		return Maybe.empty();
+	}
+
+	@Override
+	public Maybe<TestItemResource> getItemByUuid(String uuid) {
+		return Maybe.empty();
+	}
+
+	@Override
+	public Maybe<ProjectSettingsResource> getProjectSettings() {
+		return Maybe.empty();
+	}
+
+	/**
+	 * Flushes and closes the journal
+	 *
+	 * @throws IOException if the journal can't be closed
+	 */
+	@Override
+	public void close() throws IOException {
+		journal.close();
+	}
+}
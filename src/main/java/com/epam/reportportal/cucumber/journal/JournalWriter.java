@@ -0,0 +1,133 @@
+/*
+ * Copyright 2020 EPAM Systems
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.epam.reportportal.cucumber.journal;
+
+import javax.annotation.Nonnull;
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Appends records to a reporting journal. The journal is a directory of memory-mapped segment files which are written
+ * sequentially, a new segment is created when a record doesn't fit into the current one. Each segment starts with a magic
+ * number, each record is an int length of the rest of the record, a type code byte and a payload. Unused space at the end
+ * of a segment is zero-filled, so a zero length marks the end of the segment.
+ */
+public class JournalWriter implements Closeable {
+	static final int MAGIC = 0x52504a31;
+	static final String SEGMENT_PREFIX = "journal-";
+	static final String SEGMENT_SUFFIX = ".rpj";
+	static final int SEGMENT_HEADER_SIZE = Integer.BYTES;
+	static final int RECORD_HEADER_SIZE = Integer.BYTES + Byte.BYTES;
+
+	private final Path directory;
+	private final int segmentSize;
+	private int segment = -1;
+	private FileChannel channel;
+	private MappedByteBuffer buffer;
+	private volatile boolean closed;
+
+	/**
+	 * @param directory   a directory for segment files, it should not contain another journal
+	 * @param segmentSize size of a segment file in bytes, a larger segment is created for a record which doesn't fit
+	 * @throws IOException if the directory or the first segment can't be created
+	 */
+	public JournalWriter(@Nonnull Path directory, int segmentSize) throws IOException {
+		if (segmentSize <= SEGMENT_HEADER_SIZE + RECORD_HEADER_SIZE) {
+			throw new IllegalArgumentException("Journal segment size is too small: " + segmentSize);
+		}
+		this.directory = directory;
+		this.segmentSize = segmentSize;
+		Files.createDirectories(directory);
+		nextSegment(0);
+	}
+
+	static Path getSegmentPath(@Nonnull Path directory, int segment) {
+		return directory.resolve(String.format("%s%06d%s", SEGMENT_PREFIX, segment, SEGMENT_SUFFIX));
+	}
+
+	/**
+	 * Combines a segment number and an offset in the segment into a journal position
+	 *
+	 * @param segment a segment number
+	 * @param offset  an offset of a record in the segment
+	 * @return the position
+	 */
+	static long toPosition(int segment, int offset) {
+		return ((long) segment << Integer.SIZE) | offset;
+	}
+
+	private void nextSegment(int recordSize) throws IOException {
+		if (channel != null) {
+			buffer.force();
+			channel.close();
+		}
+		segment++;
+		channel = FileChannel.open(getSegmentPath(directory, segment),
+				StandardOpenOption.CREATE_NEW,
+				StandardOpenOption.READ,
+				StandardOpenOption.WRITE
+		);
+		buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, Math.max(segmentSize, SEGMENT_HEADER_SIZE + recordSize));
+		buffer.putInt(MAGIC);
+	}
+
+	/**
+	 * Appends a record to the journal
+	 *
+	 * @param type    the record type
+	 * @param payload the record payload
+	 * @return position of the record in the journal
+	 * @throws IOException if a new segment can't be created or the journal is closed
+	 */
+	public synchronized long append(@Nonnull JournalRecordType type, @Nonnull byte[] payload) throws IOException {
+		if (closed) {
+			throw new IOException("Journal is closed");
+		}
+		int recordSize = RECORD_HEADER_SIZE + payload.length;
+		if (buffer.remaining() < recordSize) {
+			nextSegment(recordSize);
+		}
+		long position = toPosition(segment, buffer.position());
+		buffer.putInt(Byte.BYTES + payload.length);
+		buffer.put(type.getCode());
+		buffer.put(payload);
+		return position;
+	}
+
+	/**
+	 * Flushes written records to the storage device
+	 */
+	public synchronized void flush() {
+		if (!closed) {
+			buffer.force();
+		}
+	}
+
+	@Override
+	public synchronized void close() throws IOException {
+		if (closed) {
+			return;
+		}
+		closed = true;
+		buffer.force();
+		channel.close();
+	}
+}
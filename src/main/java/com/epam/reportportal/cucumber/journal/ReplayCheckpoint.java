@@ -0,0 +1,226 @@
+/*
+ * Copyright 2020 EPAM Systems
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.epam.reportportal.cucumber.journal;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.io.BufferedWriter;
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Progress of a journal replay, kept in a text file with a line per completed operation. Each line is written and flushed
+ * right after the operation is completed, so a replay interrupted at any point can be restarted from the file. An operation
+ * which was in flight at the moment of interruption is repeated. A last line left incomplete by a crash is cut off the file.
+ */
+class ReplayCheckpoint implements Closeable {
+	private static final Logger LOGGER = LoggerFactory.getLogger(ReplayCheckpoint.class);
+
+	private static final String LAUNCH_STARTED = "launch";
+	private static final String ITEM_STARTED = "start";
+	private static final String LOG_RECORD_SENT = "log";
+	private static final String LOGS_SENT = "logs";
+	private static final String ITEM_FINISHED = "finish";
+	private static final String LAUNCH_FINISHED = "finish-launch";
+	private static final String SEPARATOR = " ";
+
+	private final Map<String, String> startedItems = new ConcurrentHashMap<>();
+	private final Map<String, Set<Long>> sentLogRecords = new ConcurrentHashMap<>();
+	private final Set<String> sentLogs = ConcurrentHashMap.newKeySet();
+	private final Set<String> finishedItems = ConcurrentHashMap.newKeySet();
+	private final BufferedWriter writer;
+	private volatile String journalLaunchId;
+	private volatile String launchId;
+	private volatile boolean launchFinished;
+
+	/**
+	 * @param path a checkpoint file, progress is loaded from it if it exists
+	 * @throws IOException if the file can't be read or opened for writing
+	 */
+	ReplayCheckpoint(@Nonnull Path path) throws IOException {
+		if (Files.exists(path)) {
+			load(path);
+		}
+		writer = Files.newBufferedWriter(path, StandardCharsets.UTF_8, StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+	}
+
+	private void load(@Nonnull Path path) throws IOException {
+		String content = new String(Files.readAllBytes(path), StandardCharsets.UTF_8);
+		int end = 0;
+		while (end < content.length()) {
+			int lineEnd = content.indexOf('\n', end);
+			boolean lastLine = lineEnd < 0 || lineEnd == content.length() - 1;
+			if (lineEnd < 0 || !apply(content.substring(end, lineEnd).trim())) {
+				if (!lastLine) {
+					throw new IOException("Malformed replay checkpoint line: " + content.substring(end, lineEnd));
+				}
+				LOGGER.warn("Ignoring incomplete last line of replay checkpoint {}", path);
+				try (FileChannel channel = FileChannel.open(path, StandardOpenOption.WRITE)) {
+					channel.truncate(content.substring(0, end).getBytes(StandardCharsets.UTF_8).length);
+				}
+				return;
+			}
+			end = lineEnd + 1;
+		}
+	}
+
+	/**
+	 * Loads a checkpoint line
+	 *
+	 * @param line a checkpoint line
+	 * @return false if the line is malformed
+	 */
+	private boolean apply(@Nonnull String line) {
+		String[] fields = line.split(SEPARATOR);
+		switch (fields[0]) {
+			case LAUNCH_STARTED:
+				if (fields.length != 3) {
+					return false;
+				}
+				journalLaunchId = fields[1];
+				launchId = fields[2];
+				return true;
+			case ITEM_STARTED:
+				if (fields.length != 3) {
+					return false;
+				}
+				startedItems.put(fields[1], fields[2]);
+				return true;
+			case LOG_RECORD_SENT:
+				if (fields.length != 3) {
+					return false;
+				}
+				try {
+					addLogRecord(fields[1], Long.parseLong(fields[2]));
+				} catch (NumberFormatException e) {
+					return false;
+				}
+				return true;
+			case LOGS_SENT:
+				if (fields.length != 2) {
+					return false;
+				}
+				sentLogs.add(fields[1]);
+				sentLogRecords.remove(fields[1]);
+				return true;
+			case ITEM_FINISHED:
+				if (fields.length != 2) {
+					return false;
+				}
+				finishedItems.add(fields[1]);
+				return true;
+			case LAUNCH_FINISHED:
+				launchFinished = fields.length == 1;
+				return launchFinished;
+			default:
+				return false;
+		}
+	}
+
+	private void addLogRecord(@Nonnull String journalId, long position) {
+		sentLogRecords.computeIfAbsent(journalId, k -> ConcurrentHashMap.newKeySet()).add(position);
+	}
+
+	private synchronized void write(@Nonnull String... fields) throws IOException {
+		writer.write(String.join(SEPARATOR, fields));
+		writer.newLine();
+		writer.flush();
+	}
+
+	/**
+	 * @param journalId journal ID of the launch
+	 * @return ID of the started launch or null if it's not started yet
+	 * @throws IOException if the checkpoint was saved for a different journal launch
+	 */
+	@Nullable
+	String getLaunchId(@Nonnull String journalId) throws IOException {
+		if (launchId != null && !journalId.equals(journalLaunchId)) {
+			throw new IOException(
+					"Replay checkpoint belongs to journal launch " + journalLaunchId + " and can't be used for journal launch " + journalId);
+		}
+		return launchId;
+	}
+
+	void launchStarted(@Nonnull String journalId, @Nonnull String launchId) throws IOException {
+		write(LAUNCH_STARTED, journalId, launchId);
+		journalLaunchId = journalId;
+		this.launchId = launchId;
+	}
+
+	boolean isLaunchFinished() {
+		return launchFinished;
+	}
+
+	void launchFinished() throws IOException {
+		write(LAUNCH_FINISHED);
+		launchFinished = true;
+	}
+
+	@Nullable
+	String getItemId(@Nonnull String journalId) {
+		return startedItems.get(journalId);
+	}
+
+	void itemStarted(@Nonnull String journalId, @Nonnull String itemId) throws IOException {
+		write(ITEM_STARTED, journalId, itemId);
+		startedItems.put(journalId, itemId);
+	}
+
+	boolean isLogRecordSent(@Nonnull String journalId, long position) {
+		Set<Long> positions = sentLogRecords.get(journalId);
+		return positions != null && positions.contains(position);
+	}
+
+	void logRecordSent(@Nonnull String journalId, long position) throws IOException {
+		write(LOG_RECORD_SENT, journalId, String.valueOf(position));
+		addLogRecord(journalId, position);
+	}
+
+	boolean isLogsSent(@Nonnull String journalId) {
+		return sentLogs.contains(journalId);
+	}
+
+	void logsSent(@Nonnull String journalId) throws IOException {
+		write(LOGS_SENT, journalId);
+		sentLogs.add(journalId);
+		sentLogRecords.remove(journalId);
+	}
+
+	boolean isItemFinished(@Nonnull String journalId) {
+		return finishedItems.contains(journalId);
+	}
+
+	void itemFinished(@Nonnull String journalId) throws IOException {
+		write(ITEM_FINISHED, journalId);
+		finishedItems.add(journalId);
+	}
+
+	@Override
+	public synchronized void close() throws IOException {
+		writer.close();
+	}
+}
@@ -0,0 +1,160 @@
+/*
+ * Copyright 2020 EPAM Systems
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.epam.reportportal.cucumber;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.EventType;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.function.Supplier;
+
+/**
+ * Records reporter lifecycle events which measure time spent inside the reporter. This is the Java 11 version which emits
+ * Java Flight Recorder events, an event object is created only if its type is enabled in a running recording.
+ */
+final class ReporterEvents {
+	private static final String NAME_PREFIX = "com.epam.reportportal.cucumber.";
+	private static final Map<ReporterEventType, EventType> TYPES = new EnumMap<>(ReporterEventType.class);
+	private static final Map<ReporterEventType, Supplier<ReporterEvent>> FACTORIES = new EnumMap<>(ReporterEventType.class);
+
+	static {
+		register(ReporterEventType.FEATURE_START, FeatureStart.class, FeatureStart::new);
+		register(ReporterEventType.SCENARIO_START, ScenarioStart.class, ScenarioStart::new);
+		register(ReporterEventType.SCENARIO_FINISH, ScenarioFinish.class, ScenarioFinish::new);
+		register(ReporterEventType.STEP_START, StepStart.class, StepStart::new);
+		register(ReporterEventType.STEP_FINISH, StepFinish.class, StepFinish::new);
+		register(ReporterEventType.HOOK_START, HookStart.class, HookStart::new);
+		register(ReporterEventType.HOOK_FINISH, HookFinish.class, HookFinish::new);
+		register(ReporterEventType.EMBEDDING, Embedding.class, Embedding::new);
+	}
+
+	private ReporterEvents() {
+		throw new AssertionError("No instances should exist for the class!");
+	}
+
+	private static void register(@Nonnull ReporterEventType type, @Nonnull Class<? extends ReporterEvent> eventClass,
+			@Nonnull Supplier<ReporterEvent> factory) {
+		TYPES.put(type, EventType.getEventType(eventClass));
+		FACTORIES.put(type, factory);
+	}
+
+	/**
+	 * Starts timing of an event
+	 *
+	 * @param type the event type
+	 * @return an event to pass to {@link #commit(Object, String, int, String)} or null if the event is not recorded
+	 */
+	@Nullable
+	static Object begin(@Nonnull ReporterEventType type) {
+		if (!TYPES.get(type).isEnabled()) {
+			return null;
+		}
+		ReporterEvent event = FACTORIES.get(type).get();
+		event.begin();
+		return event;
+	}
+
+	/**
+	 * Finishes timing of an event and records it
+	 *
+	 * @param event an event returned by {@link #begin(ReporterEventType)}
+	 * @param uri   a feature URI
+	 * @param line  a scenario or step line
+	 * @param text  a feature name, a scenario name, a step text, a hook code location or an attachment name
+	 */
+	static void commit(@Nullable Object event, @Nullable String uri, int line, @Nullable String text) {
+		if (event == null) {
+			return;
+		}
+		ReporterEvent reporterEvent = (ReporterEvent) event;
+		reporterEvent.end();
+		if (reporterEvent.shouldCommit()) {
+			reporterEvent.uri = uri;
+			reporterEvent.line = line;
+			reporterEvent.text = text;
+			reporterEvent.commit();
+		}
+	}
+
+	@Category({ "ReportPortal", "Cucumber" })
+	@StackTrace(false)
+	abstract static class ReporterEvent extends Event {
+		@Label("Feature URI")
+		String uri;
+
+		@Label("Line")
+		int line;
+
+		@Label("Text")
+		String text;
+	}
+
+	@Name(NAME_PREFIX + "FeatureStart")
+	@Label("Feature Start")
+	@Description("A feature item is started")
+	static class FeatureStart extends ReporterEvent {
+	}
+
+	@Name(NAME_PREFIX + "ScenarioStart")
+	@Label("Scenario Start")
+	@Description("A scenario item is started, including the start of its feature")
+	static class ScenarioStart extends ReporterEvent {
+	}
+
+	@Name(NAME_PREFIX + "ScenarioFinish")
+	@Label("Scenario Finish")
+	@Description("A scenario item is finished")
+	static class ScenarioFinish extends ReporterEvent {
+	}
+
+	@Name(NAME_PREFIX + "StepStart")
+	@Label("Step Start")
+	@Description("A step item is started")
+	static class StepStart extends ReporterEvent {
+	}
+
+	@Name(NAME_PREFIX + "StepFinish")
+	@Label("Step Finish")
+	@Description("A step item is finished")
+	static class StepFinish extends ReporterEvent {
+	}
+
+	@Name(NAME_PREFIX + "HookStart")
+	@Label("Hook Start")
+	@Description("A hook item is started")
+	static class HookStart extends ReporterEvent {
+	}
+
+	@Name(NAME_PREFIX + "HookFinish")
+	@Label("Hook Finish")
+	@Description("A hook item is finished")
+	static class HookFinish extends ReporterEvent {
+	}
+
+	@Name(NAME_PREFIX + "Embedding")
+	@Label("Embedding")
+	@Description("An attachment is sent")
+	static class Embedding extends ReporterEvent {
+	}
+}
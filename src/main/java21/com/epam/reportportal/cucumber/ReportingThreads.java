@@ -0,0 +1,55 @@
+/*
+ * Copyright 2020 EPAM Systems
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.epam.reportportal.cucumber;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Creates threads for reporting work. This is the Java 21 version which uses virtual threads, so blocked consumers and
+ * attachment uploads don't hold platform threads.
+ */
+final class ReportingThreads {
+
+	private ReportingThreads() {
+		throw new AssertionError("No instances should exist for the class!");
+	}
+
+	/**
+	 * Creates an unstarted virtual thread
+	 *
+	 * @param name thread name
+	 * @param task a task to run
+	 * @return the thread
+	 */
+	@Nonnull
+	static Thread newThread(@Nonnull String name, @Nonnull Runnable task) {
+		return Thread.ofVirtual().name(name).unstarted(task);
+	}
+
+	/**
+	 * Creates an executor which runs each task on a new virtual thread
+	 *
+	 * @param namePrefix thread name prefix
+	 * @return the executor
+	 */
+	@Nullable
+	static ExecutorService newVirtualThreadExecutor(@Nonnull String namePrefix) {
+		return Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name(namePrefix, 1).factory());
+	}
+}
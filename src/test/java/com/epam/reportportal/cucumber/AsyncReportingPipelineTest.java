@@ -0,0 +1,162 @@
+/*
+ *  Copyright 2020 EPAM Systems
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+
+package com.epam.reportportal.cucumber;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+
+public class AsyncReportingPipelineTest {
+	private static final Object KEY = new Object();
+
+	private static void await(CountDownLatch latch) {
+		try {
+			assertThat(latch.await(10, TimeUnit.SECONDS), equalTo(Boolean.TRUE));
+		} catch (InterruptedException e) {
+			throw new IllegalStateException(e);
+		}
+	}
+
+	private static byte[] bytes(String text) {
+		return text.getBytes(StandardCharsets.UTF_8);
+	}
+
+	@Test
+	public void verify_pipeline_executes_tasks_with_the_same_key_in_order() {
+		List<Integer> executed = new CopyOnWriteArrayList<>();
+		AsyncReportingPipeline pipeline = new AsyncReportingPipeline(4, 2);
+		IntStream.range(0, 100).forEach(i -> pipeline.submit(KEY, () -> executed.add(i)));
+		pipeline.close();
+
+		assertThat(executed, equalTo(IntStream.range(0, 100).boxed().collect(Collectors.toList())));
+		assertThat(pipeline.getBlockedSubmits(), greaterThan(0L));
+
+		pipeline.submit(KEY, () -> executed.add(100));
+		assertThat(executed, hasSize(101));
+	}
+
+	@Test
+	public void verify_pipeline_drops_info_logs_on_overflow() {
+		List<String> sent = new CopyOnWriteArrayList<>();
+		CountDownLatch started = new CountDownLatch(1);
+		CountDownLatch release = new CountDownLatch(1);
+		AsyncReportingPipeline pipeline = new AsyncReportingPipeline(1, 1, AsyncReportingPipeline.OverflowPolicy.DROP_INFO_LOGS, null);
+		pipeline.submit(KEY, () -> {
+			started.countDown();
+			await(release);
+		});
+		await(started);
+
+		pipeline.submitLog(KEY, "INFO", bytes("first"), c -> sent.add(new String(c, StandardCharsets.UTF_8)));
+		pipeline.submitLog(KEY, "INFO", bytes("second"), c -> sent.add(new String(c, StandardCharsets.UTF_8)));
+		pipeline.submitLog(KEY, "DEBUG", bytes("third"), c -> sent.add(new String(c, StandardCharsets.UTF_8)));
+		release.countDown();
+		pipeline.submitLog(KEY, "ERROR", bytes("error"), c -> sent.add(new String(c, StandardCharsets.UTF_8)));
+		pipeline.close();
+
+		assertThat(sent, contains("first", "error"));
+		assertThat(pipeline.getDroppedLogs(), equalTo(2L));
+	}
+
+	@Test
+	public void verify_pipeline_spills_logs_on_overflow_without_blocking(@TempDir Path spillDirectory) throws Exception {
+		List<String> executed = new CopyOnWriteArrayList<>();
+		CountDownLatch started = new CountDownLatch(1);
+		CountDownLatch release = new CountDownLatch(1);
+		AsyncReportingPipeline pipeline = new AsyncReportingPipeline(1, 2, AsyncReportingPipeline.OverflowPolicy.SPILL, spillDirectory);
+		pipeline.submit(KEY, () -> {
+			started.countDown();
+			await(release);
+		});
+		await(started);
+
+		IntStream.range(0, 10).forEach(i -> {
+			pipeline.submitLog(KEY, "INFO", bytes("log " + i), c -> executed.add(new String(c, StandardCharsets.UTF_8)));
+			if (i % 5 == 0) {
+				pipeline.submit(KEY, () -> executed.add("task " + i));
+			}
+		});
+		try (Stream<Path> files = Files.list(spillDirectory)) {
+			assertThat(files.count(), equalTo(1L));
+		}
+		release.countDown();
+		pipeline.close();
+
+		assertThat(executed,
+				equalTo(IntStream.range(0, 10)
+						.boxed()
+						.flatMap(i -> i % 5 == 0 ? Stream.of("log " + i, "task " + i) : Stream.of("log " + i))
+						.collect(Collectors.toList()))
+		);
+		assertThat(pipeline.getBlockedSubmits(), equalTo(0L));
+		assertThat(pipeline.getSpilledLogs(), equalTo(9L));
+		assertThat(pipeline.getSpilledBytes(), equalTo(45L));
+		try (Stream<Path> files = Files.list(spillDirectory)) {
+			assertThat(files.count(), equalTo(0L));
+		}
+	}
+
+	@Test
+	public void verify_pipeline_blocks_tasks_queued_after_spilled_logs_over_buffer_size(@TempDir Path spillDirectory)
+			throws Exception {
+		List<String> executed = new CopyOnWriteArrayList<>();
+		CountDownLatch started = new CountDownLatch(1);
+		CountDownLatch release = new CountDownLatch(1);
+		AsyncReportingPipeline pipeline = new AsyncReportingPipeline(1, 1, AsyncReportingPipeline.OverflowPolicy.SPILL, spillDirectory);
+		pipeline.submit(KEY, () -> {
+			started.countDown();
+			await(release);
+		});
+		await(started);
+
+		pipeline.submitLog(KEY, "INFO", bytes("log 0"), c -> executed.add(new String(c, StandardCharsets.UTF_8)));
+		pipeline.submitLog(KEY, "INFO", bytes("log 1"), c -> executed.add(new String(c, StandardCharsets.UTF_8)));
+		pipeline.submit(KEY, () -> executed.add("task 0"));
+		assertThat(pipeline.getBlockedSubmits(), equalTo(0L));
+
+		Thread producer = new Thread(() -> pipeline.submit(KEY, () -> executed.add("task 1")));
+		producer.start();
+		long deadline = System.currentTimeMillis() + TimeUnit.SECONDS.toMillis(10);
+		while (pipeline.getBlockedSubmits() == 0L && System.currentTimeMillis() < deadline) {
+			Thread.sleep(10);
+		}
+		assertThat(pipeline.getBlockedSubmits(), equalTo(1L));
+		assertThat(producer.isAlive(), equalTo(Boolean.TRUE));
+
+		release.countDown();
+		producer.join(TimeUnit.SECONDS.toMillis(10));
+		pipeline.close();
+
+		assertThat(producer.isAlive(), equalTo(Boolean.FALSE));
+		assertThat(executed, contains("log 0", "log 1", "task 0", "task 1"));
+		assertThat(pipeline.getSpilledLogs(), equalTo(1L));
+	}
+}
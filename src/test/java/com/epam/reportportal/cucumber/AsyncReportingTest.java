@@ -0,0 +1,160 @@
+/*
+ *  Copyright 2020 EPAM Systems
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package com.epam.reportportal.cucumber;
+
+import com.epam.reportportal.cucumber.integration.TestAsyncStepReporter;
+import com.epam.reportportal.cucumber.integration.TestDelayedAsyncStepReporter;
+import com.epam.reportportal.cucumber.integration.TestStepReporter;
+import com.epam.reportportal.cucumber.integration.util.TestUtils;
+import com.epam.reportportal.listeners.ListenerParameters;
+import com.epam.reportportal.service.ReportPortal;
+import com.epam.reportportal.service.ReportPortalClient;
+import com.epam.reportportal.util.test.CommonUtils;
+import com.epam.ta.reportportal.ws.model.FinishTestItemRQ;
+import com.epam.ta.reportportal.ws.model.StartTestItemRQ;
+import io.cucumber.testng.AbstractTestNGCucumberTests;
+import io.cucumber.testng.CucumberOptions;
+import org.apache.commons.lang3.tuple.Pair;
+import org.hamcrest.Matchers;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.same;
+import static org.mockito.Mockito.*;
+
+public class AsyncReportingTest {
+	@CucumberOptions(features = "src/test/resources/features/belly.feature", glue = {
+			"com.epam.reportportal.cucumber.integration.feature" }, plugin = { "pretty",
+			"com.epam.reportportal.cucumber.integration.TestAsyncStepReporter" })
+	public static class SimpleAsyncStepReporter extends AbstractTestNGCucumberTests {
+
+	}
+
+	@CucumberOptions(features = "src/test/resources/features/NestedStepsFeature.feature", glue = {
+			"com.epam.reportportal.cucumber.integration.feature" }, plugin = { "pretty",
+			"com.epam.reportportal.cucumber.integration.TestAsyncStepReporter" })
+	public static class NestedStepsAsyncStepReporter extends AbstractTestNGCucumberTests {
+
+	}
+
+	@CucumberOptions(features = "src/test/resources/features/belly.feature", glue = {
+			"com.epam.reportportal.cucumber.integration.feature" }, plugin = { "pretty",
+			"com.epam.reportportal.cucumber.integration.TestDelayedAsyncStepReporter" })
+	public static class DelayedAsyncStepReporter extends AbstractTestNGCucumberTests {
+
+	}
+
+	private final String launchId = CommonUtils.namedId("launch_");
+	private final String suiteId = CommonUtils.namedId("suite_");
+	private final String testId = CommonUtils.namedId("test_");
+	private final List<String> stepIds = Stream.generate(() -> CommonUtils.namedId("step_")).limit(3).collect(Collectors.toList());
+
+	private final ListenerParameters params = TestUtils.standardParameters();
+	private final ReportPortalClient client = mock(ReportPortalClient.class);
+	private final ExecutorService executorService = Executors.newSingleThreadExecutor();
+	private final ReportPortal reportPortal = ReportPortal.create(client, params, executorService);
+
+	@BeforeEach
+	public void setup() {
+		TestUtils.mockLaunch(client, launchId, suiteId, testId, stepIds);
+		TestStepReporter.RP.set(reportPortal);
+		TestAsyncStepReporter.STEP_THREADS.clear();
+	}
+
+	@Test
+	public void verify_async_step_reporter_reports_steps_on_consumer_threads() {
+		TestUtils.runTests(SimpleAsyncStepReporter.class);
+
+		verify(client, times(1)).startTestItem(any());
+		verify(client, times(1)).startTestItem(same(suiteId), any());
+		ArgumentCaptor<StartTestItemRQ> stepCaptor = ArgumentCaptor.forClass(StartTestItemRQ.class);
+		verify(client, times(3)).startTestItem(same(testId), stepCaptor.capture());
+		stepCaptor.getAllValues().forEach(rq -> SimpleVerificationTest.verifyRequest(rq, "STEP", true));
+
+		ArgumentCaptor<String> finishIdCaptor = ArgumentCaptor.forClass(String.class);
+		verify(client, times(5)).finishTestItem(finishIdCaptor.capture(), any());
+		assertThat(finishIdCaptor.getAllValues(), hasItems(stepIds.get(0), stepIds.get(1), stepIds.get(2), testId, suiteId));
+
+		assertThat(TestAsyncStepReporter.STEP_THREADS, hasSize(3));
+		assertThat(TestAsyncStepReporter.STEP_THREADS, everyItem(Matchers.startsWith("rp-cucumber-reporter-")));
+	}
+
+	@Test
+	public void verify_async_step_reporter_reports_nested_steps_under_asynchronously_started_steps() {
+		List<String> nestedStepIds = Stream.generate(() -> CommonUtils.namedId("nested_step_")).limit(3).collect(Collectors.toList());
+		String nestedNestedStepId = CommonUtils.namedId("double_nested_step_");
+		TestUtils.mockNestedSteps(client,
+				Stream.concat(Stream.of(Pair.of(stepIds.get(0), nestedStepIds.get(0))),
+						nestedStepIds.stream().skip(1).map(s -> Pair.of(stepIds.get(1), s))
+				).collect(Collectors.toList())
+		);
+		TestUtils.mockNestedSteps(client, Pair.of(nestedStepIds.get(0), nestedNestedStepId));
+		TestUtils.runTests(NestedStepsAsyncStepReporter.class);
+
+		verify(client, times(2)).startTestItem(same(testId), any());
+		ArgumentCaptor<StartTestItemRQ> firstStepCaptor = ArgumentCaptor.forClass(StartTestItemRQ.class);
+		verify(client, times(1)).startTestItem(same(stepIds.get(0)), firstStepCaptor.capture());
+		assertThat(firstStepCaptor.getValue().getName(), equalTo(NestedStepsStepReporterTest.FIRST_LEVEL_NAMES.get(0)));
+		ArgumentCaptor<StartTestItemRQ> secondStepCaptor = ArgumentCaptor.forClass(StartTestItemRQ.class);
+		verify(client, times(2)).startTestItem(same(stepIds.get(1)), secondStepCaptor.capture());
+		assertThat(secondStepCaptor.getAllValues().stream().map(StartTestItemRQ::getName).collect(Collectors.toList()),
+				equalTo(NestedStepsStepReporterTest.FIRST_LEVEL_NAMES.subList(1, 3))
+		);
+		verify(client, times(1)).startTestItem(same(nestedStepIds.get(0)), any());
+
+		ArgumentCaptor<String> finishIdCaptor = ArgumentCaptor.forClass(String.class);
+		ArgumentCaptor<FinishTestItemRQ> finishRqCaptor = ArgumentCaptor.forClass(FinishTestItemRQ.class);
+		verify(client, times(8)).finishTestItem(finishIdCaptor.capture(), finishRqCaptor.capture());
+		finishRqCaptor.getAllValues().stream().filter(rq -> rq.getStatus() != null).forEach(rq -> assertThat(rq.getStatus(), equalTo("PASSED")));
+	}
+
+	@Test
+	public void verify_async_step_reporter_takes_item_times_from_events_not_from_delayed_consumers() {
+		TestUtils.runTests(DelayedAsyncStepReporter.class);
+
+		ArgumentCaptor<StartTestItemRQ> testCaptor = ArgumentCaptor.forClass(StartTestItemRQ.class);
+		verify(client, times(1)).startTestItem(same(suiteId), testCaptor.capture());
+		ArgumentCaptor<StartTestItemRQ> stepCaptor = ArgumentCaptor.forClass(StartTestItemRQ.class);
+		verify(client, times(3)).startTestItem(same(testId), stepCaptor.capture());
+		ArgumentCaptor<String> finishIdCaptor = ArgumentCaptor.forClass(String.class);
+		ArgumentCaptor<FinishTestItemRQ> finishRqCaptor = ArgumentCaptor.forClass(FinishTestItemRQ.class);
+		verify(client, times(5)).finishTestItem(finishIdCaptor.capture(), finishRqCaptor.capture());
+		Map<String, Date> endTimes = IntStream.range(0, finishIdCaptor.getAllValues().size())
+				.boxed()
+				.collect(Collectors.toMap(i -> finishIdCaptor.getAllValues().get(i), i -> finishRqCaptor.getAllValues().get(i).getEndTime()));
+
+		List<StartTestItemRQ> steps = stepCaptor.getAllValues();
+		IntStream.range(0, steps.size()).forEach(i -> {
+			long duration = endTimes.get(stepIds.get(i)).getTime() - steps.get(i).getStartTime().getTime();
+			assertThat(duration, lessThan(TestDelayedAsyncStepReporter.DELAY));
+		});
+		long testDuration = endTimes.get(testId).getTime() - testCaptor.getValue().getStartTime().getTime();
+		assertThat(testDuration, lessThan(TestDelayedAsyncStepReporter.DELAY));
+	}
+}
@@ -0,0 +1,130 @@
+/*
+ *  Copyright 2020 EPAM Systems
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+
+package com.epam.reportportal.cucumber;
+
+import com.epam.reportportal.cucumber.integration.TestDeferredScenarioReporter;
+import com.epam.reportportal.cucumber.integration.feature.FailedSteps;
+import com.epam.reportportal.cucumber.integration.util.TestUtils;
+import com.epam.reportportal.listeners.ItemStatus;
+import com.epam.reportportal.listeners.ListenerParameters;
+import com.epam.reportportal.service.ReportPortal;
+import com.epam.reportportal.service.ReportPortalClient;
+import com.epam.reportportal.util.test.CommonUtils;
+import com.epam.ta.reportportal.ws.model.FinishTestItemRQ;
+import com.epam.ta.reportportal.ws.model.StartTestItemRQ;
+import com.epam.ta.reportportal.ws.model.log.SaveLogRQ;
+import io.cucumber.testng.AbstractTestNGCucumberTests;
+import io.cucumber.testng.CucumberOptions;
+import okhttp3.MultipartBody;
+import org.apache.commons.lang3.tuple.Pair;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static com.epam.reportportal.cucumber.integration.util.TestUtils.filterLogs;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+import static org.mockito.Mockito.*;
+
+public class DeferredScenarioReporterTest {
+	@CucumberOptions(features = "src/test/resources/features/belly.feature", glue = {
+			"com.epam.reportportal.cucumber.integration.feature" }, plugin = { "pretty",
+			"com.epam.reportportal.cucumber.integration.TestDeferredScenarioReporter" })
+	public static class BellyDeferredScenarioReporter extends AbstractTestNGCucumberTests {
+
+	}
+
+	@CucumberOptions(features = "src/test/resources/features/FailedScenario.feature", glue = {
+			"com.epam.reportportal.cucumber.integration.feature" }, plugin = { "pretty",
+			"com.epam.reportportal.cucumber.integration.TestDeferredScenarioReporter" })
+	public static class FailedDeferredScenarioReporter extends AbstractTestNGCucumberTests {
+
+	}
+
+	private final String launchId = CommonUtils.namedId("launch_");
+	private final String suiteId = CommonUtils.namedId("suite_");
+	private final String testId = CommonUtils.namedId("test_");
+	private final String stepId = CommonUtils.namedId("step_");
+	private final List<String> nestedStepIds = Stream.generate(() -> CommonUtils.namedId("nested_"))
+			.limit(3)
+			.collect(Collectors.toList());
+
+	private final ListenerParameters parameters = TestUtils.standardParameters();
+	private final ReportPortalClient client = mock(ReportPortalClient.class);
+	private final ExecutorService executorService = Executors.newSingleThreadExecutor();
+	private final ReportPortal reportPortal = ReportPortal.create(client, parameters, executorService);
+
+	@BeforeEach
+	public void initLaunch() {
+		TestUtils.mockLaunch(client, launchId, suiteId, testId, stepId);
+		TestUtils.mockNestedSteps(client, nestedStepIds.stream().map(id -> Pair.of(stepId, id)).collect(Collectors.toList()));
+		TestUtils.mockLogging(client);
+		TestDeferredScenarioReporter.RP.set(reportPortal);
+		TestDeferredScenarioReporter.PARENTS_STARTED_BEFORE_SCENARIO_FINISH.clear();
+	}
+
+	@Test
+	public void verify_scenario_tree_is_sent_when_scenario_is_finished() {
+		TestUtils.runTests(BellyDeferredScenarioReporter.class);
+
+		assertThat(TestDeferredScenarioReporter.PARENTS_STARTED_BEFORE_SCENARIO_FINISH, not(anyOf(hasItem(testId), hasItem(stepId))));
+
+		verify(client).startTestItem(same(testId), any());
+		ArgumentCaptor<StartTestItemRQ> stepCaptor = ArgumentCaptor.forClass(StartTestItemRQ.class);
+		verify(client, times(3)).startTestItem(same(stepId), stepCaptor.capture());
+		Date startTime = null;
+		for (StartTestItemRQ step : stepCaptor.getAllValues()) {
+			assertThat(step.getStartTime(), notNullValue());
+			if (startTime != null) {
+				assertThat(step.getStartTime(), greaterThan(startTime));
+			}
+			startTime = step.getStartTime();
+		}
+
+		ArgumentCaptor<FinishTestItemRQ> finishCaptor = ArgumentCaptor.forClass(FinishTestItemRQ.class);
+		nestedStepIds.forEach(id -> verify(client).finishTestItem(same(id), finishCaptor.capture()));
+		verify(client).finishTestItem(same(stepId), finishCaptor.capture());
+		finishCaptor.getAllValues().forEach(rq -> assertThat(rq.getStatus(), equalTo(ItemStatus.PASSED.name())));
+	}
+
+	@Test
+	@SuppressWarnings("unchecked")
+	public void verify_failed_scenario_is_reported_with_its_error() {
+		TestUtils.runTests(FailedDeferredScenarioReporter.class);
+
+		ArgumentCaptor<FinishTestItemRQ> finishCaptor = ArgumentCaptor.forClass(FinishTestItemRQ.class);
+		verify(client).finishTestItem(same(nestedStepIds.get(0)), finishCaptor.capture());
+		verify(client).finishTestItem(same(stepId), finishCaptor.capture());
+		finishCaptor.getAllValues().forEach(rq -> assertThat(rq.getStatus(), equalTo(ItemStatus.FAILED.name())));
+
+		ArgumentCaptor<List<MultipartBody.Part>> logCaptor = ArgumentCaptor.forClass(List.class);
+		verify(client, atLeastOnce()).log(logCaptor.capture());
+		List<SaveLogRQ> errors = filterLogs(logCaptor,
+				l -> l.getMessage() != null && l.getMessage().contains(FailedSteps.ERROR_MESSAGE)
+		);
+		assertThat(errors, hasSize(1));
+		assertThat(errors.get(0).getItemUuid(), equalTo(nestedStepIds.get(0)));
+	}
+}
@@ -0,0 +1,141 @@
+/*
+ *  Copyright 2020 EPAM Systems
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+
+package com.epam.reportportal.cucumber;
+
+import com.epam.reportportal.cucumber.integration.TestScenarioReporter;
+import com.epam.reportportal.cucumber.integration.feature.FailedSteps;
+import com.epam.reportportal.cucumber.integration.util.TestUtils;
+import com.epam.reportportal.listeners.ItemStatus;
+import com.epam.reportportal.listeners.ListenerParameters;
+import com.epam.reportportal.service.ReportPortal;
+import com.epam.reportportal.service.ReportPortalClient;
+import com.epam.reportportal.util.test.CommonUtils;
+import com.epam.ta.reportportal.ws.model.FinishTestItemRQ;
+import com.epam.ta.reportportal.ws.model.attribute.ItemAttributesRQ;
+import com.epam.ta.reportportal.ws.model.log.SaveLogRQ;
+import io.cucumber.testng.AbstractTestNGCucumberTests;
+import io.cucumber.testng.CucumberOptions;
+import okhttp3.MultipartBody;
+import org.apache.commons.lang3.tuple.Pair;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static com.epam.reportportal.cucumber.integration.util.TestUtils.filterLogs;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.*;
+
+public class FailureSamplingTest {
+	@CucumberOptions(features = "src/test/resources/features/belly.feature", glue = {
+			"com.epam.reportportal.cucumber.integration.feature" }, plugin = { "pretty",
+			"com.epam.reportportal.cucumber.integration.TestFailureSamplingReporter" })
+	public static class BellyFailureSamplingReporter extends AbstractTestNGCucumberTests {
+
+	}
+
+	@CucumberOptions(features = "src/test/resources/features/FailedScenario.feature", glue = {
+			"com.epam.reportportal.cucumber.integration.feature" }, plugin = { "pretty",
+			"com.epam.reportportal.cucumber.integration.TestFailureSamplingReporter" })
+	public static class FailedFailureSamplingReporter extends AbstractTestNGCucumberTests {
+
+	}
+
+	@CucumberOptions(features = "src/test/resources/features/embedding/ImageEmbeddingFeature.feature", glue = {
+			"com.epam.reportportal.cucumber.integration.embed.image" }, plugin = { "pretty",
+			"com.epam.reportportal.cucumber.integration.TestFailureSamplingReporter" })
+	public static class ImageFailureSamplingReporter extends AbstractTestNGCucumberTests {
+
+	}
+
+	private final String launchId = CommonUtils.namedId("launch_");
+	private final String suiteId = CommonUtils.namedId("suite_");
+	private final String testId = CommonUtils.namedId("test_");
+	private final String stepId = CommonUtils.namedId("step_");
+	private final List<String> nestedStepIds = Stream.generate(() -> CommonUtils.namedId("nested_"))
+			.limit(3)
+			.collect(Collectors.toList());
+
+	private final ListenerParameters parameters = TestUtils.standardParameters();
+	private final ReportPortalClient client = mock(ReportPortalClient.class);
+	private final ExecutorService executorService = Executors.newSingleThreadExecutor();
+	private final ReportPortal reportPortal = ReportPortal.create(client, parameters, executorService);
+
+	@BeforeEach
+	public void initLaunch() {
+		TestUtils.mockLaunch(client, launchId, suiteId, testId, stepId);
+		TestUtils.mockNestedSteps(client, nestedStepIds.stream().map(id -> Pair.of(stepId, id)).collect(Collectors.toList()));
+		TestUtils.mockLogging(client);
+		TestScenarioReporter.RP.set(reportPortal);
+	}
+
+	@Test
+	public void verify_passed_scenario_is_reported_as_a_single_item() {
+		TestUtils.runTests(BellyFailureSamplingReporter.class);
+
+		verify(client).startTestItem(same(testId), any());
+		verify(client, never()).startTestItem(same(stepId), any());
+
+		ArgumentCaptor<FinishTestItemRQ> finishCaptor = ArgumentCaptor.forClass(FinishTestItemRQ.class);
+		verify(client).finishTestItem(same(stepId), finishCaptor.capture());
+		FinishTestItemRQ scenarioFinish = finishCaptor.getValue();
+		assertThat(scenarioFinish.getStatus(), equalTo(ItemStatus.PASSED.name()));
+		Map<String, String> attributes = scenarioFinish.getAttributes()
+				.stream()
+				.collect(Collectors.toMap(ItemAttributesRQ::getKey, ItemAttributesRQ::getValue));
+		assertThat(attributes, hasEntry(AbstractReporter.SAMPLED_STEPS_ATTRIBUTE, "3"));
+		assertThat(attributes, hasKey(AbstractReporter.SAMPLED_STEPS_DURATION_ATTRIBUTE));
+	}
+
+	@Test
+	@SuppressWarnings("unchecked")
+	public void verify_failed_scenario_is_reported_in_full_with_spilled_logs() {
+		TestUtils.runTests(FailedFailureSamplingReporter.class);
+
+		verify(client).startTestItem(same(stepId), any());
+		ArgumentCaptor<FinishTestItemRQ> finishCaptor = ArgumentCaptor.forClass(FinishTestItemRQ.class);
+		verify(client).finishTestItem(same(nestedStepIds.get(0)), finishCaptor.capture());
+		verify(client).finishTestItem(same(stepId), finishCaptor.capture());
+		finishCaptor.getAllValues().forEach(rq -> assertThat(rq.getStatus(), equalTo(ItemStatus.FAILED.name())));
+
+		ArgumentCaptor<List<MultipartBody.Part>> logCaptor = ArgumentCaptor.forClass(List.class);
+		verify(client, atLeastOnce()).log(logCaptor.capture());
+		List<SaveLogRQ> errors = filterLogs(logCaptor,
+				l -> l.getMessage() != null && l.getMessage().contains(FailedSteps.ERROR_MESSAGE)
+		);
+		assertThat(errors, not(empty()));
+		errors.forEach(l -> assertThat(l.getItemUuid(), anyOf(equalTo(nestedStepIds.get(0)), equalTo(stepId))));
+		assertThat(errors.stream().map(SaveLogRQ::getItemUuid).collect(Collectors.toList()), hasItem(nestedStepIds.get(0)));
+	}
+
+	@Test
+	public void verify_logs_of_passed_scenarios_are_not_sent() {
+		TestUtils.runTests(ImageFailureSamplingReporter.class);
+
+		verify(client, times(3)).finishTestItem(same(stepId), any());
+		verify(client, never()).log(anyList());
+	}
+}
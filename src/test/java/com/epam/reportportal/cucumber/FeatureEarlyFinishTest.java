@@ -0,0 +1,90 @@
+/*
+ *  Copyright 2020 EPAM Systems
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package com.epam.reportportal.cucumber;
+
+import com.epam.reportportal.cucumber.integration.TestEarlyFinishStepReporter;
+import com.epam.reportportal.cucumber.integration.TestStepReporter;
+import com.epam.reportportal.cucumber.integration.util.TestUtils;
+import com.epam.reportportal.listeners.ListenerParameters;
+import com.epam.reportportal.service.ReportPortal;
+import com.epam.reportportal.service.ReportPortalClient;
+import com.epam.reportportal.util.test.CommonUtils;
+import io.cucumber.testng.AbstractTestNGCucumberTests;
+import io.cucumber.testng.CucumberOptions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static com.epam.reportportal.cucumber.integration.TestEarlyFinishStepReporter.FEATURE_FINISHED;
+import static com.epam.reportportal.cucumber.integration.TestEarlyFinishStepReporter.RUN_FINISHED;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.mockito.Mockito.mock;
+
+public class FeatureEarlyFinishTest {
+	@CucumberOptions(features = { "src/test/resources/features/belly.feature",
+			"src/test/resources/features/OneSimpleAndOneScenarioOutline.feature" }, glue = {
+			"com.epam.reportportal.cucumber.integration.feature" }, plugin = { "pretty",
+			"com.epam.reportportal.cucumber.integration.TestEarlyFinishStepReporter" })
+	public static class TwoFeaturesEarlyFinishReporter extends AbstractTestNGCucumberTests {
+
+	}
+
+	@CucumberOptions(features = "src/test/resources/features/OneSimpleAndOneScenarioOutline.feature", glue = {
+			"com.epam.reportportal.cucumber.integration.feature" }, name = "The scenario", plugin = {
+			"pretty", "com.epam.reportportal.cucumber.integration.TestEarlyFinishStepReporter" })
+	public static class FilteredFeatureEarlyFinishReporter extends AbstractTestNGCucumberTests {
+
+	}
+
+	private final String launchId = CommonUtils.namedId("launch_");
+	private final String suiteId = CommonUtils.namedId("suite_");
+	private final String testId = CommonUtils.namedId("test_");
+	private final List<String> stepIds = Stream.generate(() -> CommonUtils.namedId("step_")).limit(3).collect(Collectors.toList());
+
+	private final ListenerParameters params = TestUtils.standardParameters();
+	private final ReportPortalClient client = mock(ReportPortalClient.class);
+	private final ExecutorService executorService = Executors.newSingleThreadExecutor();
+	private final ReportPortal reportPortal = ReportPortal.create(client, params, executorService);
+
+	@BeforeEach
+	public void setup() {
+		TestUtils.mockLaunch(client, launchId, suiteId, testId, stepIds);
+		TestStepReporter.RP.set(reportPortal);
+		TestEarlyFinishStepReporter.EVENTS.clear();
+	}
+
+	@Test
+	public void verify_features_are_finished_after_their_last_scenario() {
+		TestUtils.runTests(TwoFeaturesEarlyFinishReporter.class);
+
+		assertThat(new ArrayList<>(TestEarlyFinishStepReporter.EVENTS), contains(FEATURE_FINISHED, FEATURE_FINISHED, RUN_FINISHED));
+	}
+
+	@Test
+	public void verify_feature_with_filtered_scenarios_is_finished_at_the_end_of_run() {
+		TestUtils.runTests(FilteredFeatureEarlyFinishReporter.class);
+
+		assertThat(new ArrayList<>(TestEarlyFinishStepReporter.EVENTS), contains(RUN_FINISHED, FEATURE_FINISHED));
+	}
+}
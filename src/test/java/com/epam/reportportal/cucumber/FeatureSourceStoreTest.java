@@ -0,0 +1,101 @@
+/*
+ *  Copyright 2020 EPAM Systems
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package com.epam.reportportal.cucumber;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class FeatureSourceStoreTest {
+	private static final String FEATURE_URI = "file:src/test/resources/features/belly.feature";
+	private static final String FEATURE_SOURCE = "Feature: Context test\n\n  Scenario: First\n    Given I have empty step\n";
+	private static final String UPDATED_FEATURE_SOURCE = "Feature: Context test updated\n\n  Scenario: First\n    Given I have empty step\n";
+
+	@Test
+	public void verify_feature_is_parsed_once_per_source() {
+		FeatureSourceStore store = new FeatureSourceStore();
+		ParsedFeature first = store.put(FEATURE_URI, FEATURE_SOURCE);
+		assertThat(first.isParsed(), equalTo(Boolean.FALSE));
+		assertThat(store.get(FEATURE_URI).getFeature(), notNullValue());
+		assertThat(first.isParsed(), equalTo(Boolean.TRUE));
+
+		ParsedFeature second = store.put(FEATURE_URI, FEATURE_SOURCE);
+		assertThat(second, sameInstance(first));
+		assertThat(store.get(FEATURE_URI), sameInstance(first));
+
+		ParsedFeature updated = store.put(FEATURE_URI, UPDATED_FEATURE_SOURCE);
+		assertThat(updated, not(sameInstance(first)));
+		assertThat(store.get(FEATURE_URI).getFeature().getName(), equalTo("Context test updated"));
+		assertThat(store.size(), equalTo(1));
+	}
+
+	@Test
+	public void verify_released_feature_is_read_again_from_its_uri() {
+		FeatureSourceStore store = new FeatureSourceStore();
+		store.put(FEATURE_URI, FEATURE_SOURCE);
+		store.release(FEATURE_URI);
+		assertThat(store.size(), equalTo(0));
+
+		assertThat(store.get(FEATURE_URI).getFeature().getName(), equalTo("Belly"));
+		assertThat(store.size(), equalTo(1));
+	}
+
+	@Test
+	public void verify_bounded_store_evicts_the_oldest_features() {
+		FeatureSourceStore store = new FeatureSourceStore(2);
+		store.put(FEATURE_URI, FEATURE_SOURCE);
+		ParsedFeature second = store.put("file:second.feature", FEATURE_SOURCE);
+		store.put("file:second.feature", UPDATED_FEATURE_SOURCE);
+		assertThat(store.size(), equalTo(2));
+
+		store.put("file:third.feature", FEATURE_SOURCE);
+		assertThat(store.size(), equalTo(2));
+		assertThat(store.get("file:second.feature"), not(sameInstance(second)));
+		assertThat(store.get("file:second.feature").getFeature().getName(), equalTo("Context test updated"));
+		assertThat(store.get(FEATURE_URI).getFeature().getName(), equalTo("Belly"));
+	}
+
+	@Test
+	public void verify_missing_feature_source() {
+		FeatureSourceStore store = new FeatureSourceStore();
+		IllegalStateException e = assertThrows(IllegalStateException.class,
+				() -> store.get("file:src/test/resources/features/missing.feature")
+		);
+		assertThat(e.getMessage(), containsString("missing.feature"));
+	}
+
+	@Test
+	public void verify_feature_is_parsed_in_background() throws InterruptedException {
+		ExecutorService parser = Executors.newSingleThreadExecutor();
+		FeatureSourceStore store = new FeatureSourceStore(0, parser);
+		ParsedFeature feature = store.put(FEATURE_URI, FEATURE_SOURCE);
+		parser.shutdown();
+		assertThat(parser.awaitTermination(10, TimeUnit.SECONDS), equalTo(Boolean.TRUE));
+		assertThat(feature.isParsed(), equalTo(Boolean.TRUE));
+
+		store.close();
+		ParsedFeature updated = store.put(FEATURE_URI, UPDATED_FEATURE_SOURCE);
+		assertThat(updated.isParsed(), equalTo(Boolean.FALSE));
+		assertThat(store.get(FEATURE_URI).getFeature().getName(), equalTo("Context test updated"));
+	}
+}
@@ -1,5 +1,6 @@
 package com.epam.reportportal.cucumber;
 
+import com.epam.reportportal.cucumber.integration.TestLegacyCallbackStepReporter;
 import com.epam.reportportal.cucumber.integration.TestScenarioReporter;
 import com.epam.reportportal.cucumber.integration.TestStepReporter;
 import com.epam.reportportal.cucumber.integration.util.TestUtils;
@@ -14,11 +15,17 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
 import java.util.List;
+import java.util.Map;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.aMapWithSize;
+import static org.hamcrest.Matchers.allOf;
+import static org.hamcrest.Matchers.hasEntry;
 import static org.mockito.Mockito.*;
 
 /**
@@ -42,6 +49,13 @@ public class HooksTest {
 
 	}
 
+	@CucumberOptions(features = "src/test/resources/features/DummyScenario.feature", glue = {
+			"com.epam.reportportal.cucumber.integration.hooks" }, plugin = { "pretty",
+			"com.epam.reportportal.cucumber.integration.TestLegacyCallbackStepReporter" })
+	public static class LegacyCallbackStepReporter extends AbstractTestNGCucumberTests {
+
+	}
+
 	private final String launchId = CommonUtils.namedId("launch_");
 	private final String suiteId = CommonUtils.namedId("suite_");
 	private final String testId = CommonUtils.namedId("test_");
@@ -58,6 +72,7 @@ public class HooksTest {
 		TestUtils.mockLogging(client);
 		TestScenarioReporter.RP.set(reportPortal);
 		TestStepReporter.RP.set(reportPortal);
+		TestLegacyCallbackStepReporter.CALLS.clear();
 	}
 
 	@AfterEach
@@ -85,6 +100,15 @@ public class HooksTest {
 		verify(client, times(2)).log(any(List.class));
 
 	}
-}
 
+	@Test
+	public void verify_callbacks_without_scenario_context_are_called() {
+		TestUtils.runTests(LegacyCallbackStepReporter.class);
 
+		Map<String, Long> calls = TestLegacyCallbackStepReporter.CALLS.stream()
+				.collect(Collectors.groupingBy(Function.identity(), Collectors.counting()));
+		assertThat(calls, allOf(aMapWithSize(5), hasEntry("beforeStep", 2L), hasEntry("afterStep", 2L)));
+		assertThat(calls, allOf(hasEntry("beforeHooks", 6L), hasEntry("hookFinished", 6L), hasEntry("afterHooks", 6L)));
+		verify(client, times(8)).startTestItem(same(testId), any());
+	}
+}
@@ -60,6 +60,13 @@ public class ItemTimeOrderTest {
 
 	}
 
+	@CucumberOptions(features = "src/test/resources/features/belly.feature", glue = {
+			"com.epam.reportportal.cucumber.integration.feature" }, plugin = { "pretty",
+			"com.epam.reportportal.cucumber.integration.TestStepReporter" })
+	public static class BellyStepReporterWithoutPause extends AbstractTestNGCucumberTests {
+
+	}
+
 	private final String launchId = CommonUtils.namedId("launch_");
 	private final String suiteId = CommonUtils.namedId("suite_");
 	private final String testId = CommonUtils.namedId("test_");
@@ -75,6 +82,7 @@ public class ItemTimeOrderTest {
 		TestUtils.mockLaunch(client, launchId, suiteId, testId, stepIds);
 		TestScenarioReporterWithPause.RP.set(reportPortal);
 		TestStepReporterWithPause.RP.set(reportPortal);
+		TestStepReporter.RP.set(reportPortal);
 	}
 
 	@Test
@@ -119,4 +127,21 @@ public class ItemTimeOrderTest {
 			assertThat(step.getStartTime(), allOf(notNullValue(), greaterThanOrEqualTo(startTime)));
 		}
 	}
+
+	@Test
+	public void verify_step_start_times_are_strictly_increasing_without_pauses() {
+		TestUtils.runTests(BellyStepReporterWithoutPause.class);
+
+		ArgumentCaptor<StartTestItemRQ> stepCaptor = ArgumentCaptor.forClass(StartTestItemRQ.class);
+		verify(client, times(3)).startTestItem(same(testId), stepCaptor.capture());
+
+		Date startTime = null;
+		for (StartTestItemRQ step : stepCaptor.getAllValues()) {
+			assertThat(step.getStartTime(), notNullValue());
+			if (startTime != null) {
+				assertThat(step.getStartTime(), greaterThan(startTime));
+			}
+			startTime = step.getStartTime();
+		}
+	}
 }
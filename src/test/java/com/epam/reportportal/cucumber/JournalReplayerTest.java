@@ -0,0 +1,280 @@
+/*
+ *  Copyright 2020 EPAM Systems
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+
+package com.epam.reportportal.cucumber;
+
+import com.epam.reportportal.cucumber.integration.TestJournalStepReporter;
+import com.epam.reportportal.cucumber.integration.util.TestUtils;
+import com.epam.reportportal.cucumber.journal.JournalReplayer;
+import com.epam.reportportal.listeners.ListenerParameters;
+import com.epam.reportportal.service.ReportPortal;
+import com.epam.reportportal.service.ReportPortalClient;
+import com.epam.reportportal.utils.http.HttpRequestUtils;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import io.cucumber.testng.AbstractTestNGCucumberTests;
+import io.cucumber.testng.CucumberOptions;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+import static com.epam.reportportal.cucumber.integration.util.TestUtils.standardParameters;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class JournalReplayerTest {
+	private static final Pattern ITEM_PATH = Pattern.compile(".*/item(?:/([^/]+))?$");
+	private static final Pattern LAUNCH_FINISH_PATH = Pattern.compile(".*/launch/([^/]+)/finish$");
+
+	@CucumberOptions(features = "src/test/resources/features/embedding/ImageEmbeddingFeature.feature", glue = {
+			"com.epam.reportportal.cucumber.integration.embed.image" }, plugin = { "pretty",
+			"com.epam.reportportal.cucumber.integration.TestJournalStepReporter" })
+	public static class ImageJournalStepReporterTest extends AbstractTestNGCucumberTests {
+
+	}
+
+	@CucumberOptions(features = "src/test/resources/features/ManualStepReporter.feature", glue = {
+			"com.epam.reportportal.cucumber.integration.feature" }, plugin = { "pretty",
+			"com.epam.reportportal.cucumber.integration.TestJournalStepReporter" })
+	public static class ManualStepJournalStepReporterTest extends AbstractTestNGCucumberTests {
+
+	}
+
+	/**
+	 * A ReportPortal server stub which creates launches and items and remembers successful requests
+	 */
+	private static class MockServer {
+		private final HttpServer server;
+		private final AtomicInteger requests = new AtomicInteger();
+		private final List<String> events = Collections.synchronizedList(new ArrayList<>());
+		private final Set<String> items = Collections.synchronizedSet(new HashSet<>());
+		private volatile int failAfter = Integer.MAX_VALUE;
+
+		private MockServer() throws IOException {
+			server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+			server.createContext("/", this::handle);
+			server.start();
+		}
+
+		private static String readBody(InputStream input) throws IOException {
+			ByteArrayOutputStream result = new ByteArrayOutputStream();
+			byte[] buffer = new byte[8192];
+			for (int read = input.read(buffer); read >= 0; read = input.read(buffer)) {
+				result.write(buffer, 0, read);
+			}
+			return new String(result.toByteArray(), StandardCharsets.ISO_8859_1);
+		}
+
+		private void respond(HttpExchange exchange, int code, String body) throws IOException {
+			byte[] response = body.getBytes(StandardCharsets.UTF_8);
+			exchange.getResponseHeaders().add("Content-Type", "application/json");
+			exchange.sendResponseHeaders(code, response.length);
+			try (OutputStream output = exchange.getResponseBody()) {
+				output.write(response);
+			}
+		}
+
+		private void handle(HttpExchange exchange) throws IOException {
+			String method = exchange.getRequestMethod();
+			String path = exchange.getRequestURI().getPath();
+			String body = readBody(exchange.getRequestBody());
+			if (requests.incrementAndGet() > failAfter) {
+				respond(exchange, 500, "{\"message\":\"Internal server error\"}");
+				return;
+			}
+			String id = UUID.randomUUID().toString();
+			Matcher item = ITEM_PATH.matcher(path);
+			Matcher launchFinish = LAUNCH_FINISH_PATH.matcher(path);
+			if ("POST".equals(method) && path.endsWith("/launch")) {
+				events.add("launch " + id);
+				respond(exchange, 201, "{\"id\":\"" + id + "\",\"number\":1}");
+			} else if ("POST".equals(method) && item.matches()) {
+				String parent = item.group(1);
+				events.add("start " + id + " " + (parent == null ? "" : parent));
+				items.add(id);
+				respond(exchange, 201, "{\"id\":\"" + id + "\"}");
+			} else if ("PUT".equals(method) && launchFinish.matches()) {
+				events.add("finish-launch " + launchFinish.group(1));
+				respond(exchange, 200, "{\"message\":\"OK\"}");
+			} else if ("PUT".equals(method) && item.matches()) {
+				events.add("finish " + item.group(1));
+				respond(exchange, 200, "{\"message\":\"OK\"}");
+			} else if (path.endsWith("/log")) {
+				events.add("log " + body.contains("binary_part"));
+				respond(exchange, 201, "{\"responses\":[]}");
+			} else {
+				respond(exchange, 404, "{\"message\":\"Not found\"}");
+			}
+		}
+
+		private List<String> getEvents(String type) {
+			synchronized (events) {
+				return events.stream().filter(e -> e.startsWith(type + " ")).collect(Collectors.toList());
+			}
+		}
+
+		private void stop() {
+			server.stop(0);
+		}
+	}
+
+	@TempDir
+	Path journalDirectory;
+	private Path journal;
+
+	private MockServer server;
+	private ReportPortalClient client;
+
+	@BeforeEach
+	public void setup() throws IOException {
+		TestJournalStepReporter.JOURNAL_DIRECTORY = journalDirectory;
+		TestUtils.runTests(ImageJournalStepReporterTest.class);
+		TestJournalStepReporter.JOURNAL_DIRECTORY = null;
+		journal = TestJournalStepReporter.getJournal(journalDirectory);
+
+		server = new MockServer();
+		ListenerParameters parameters = standardParameters();
+		parameters.setBaseUrl("http://localhost:" + server.server.getAddress().getPort());
+		parameters.setApiKey("test-api-key");
+		client = ReportPortal.builder().buildClient(ReportPortalClient.class, parameters);
+	}
+
+	@AfterEach
+	public void tearDown() {
+		TestJournalStepReporter.JOURNAL_DIRECTORY = null;
+		server.stop();
+	}
+
+	private void verifyLaunch(String launchId) {
+		assertThat(server.getEvents("launch"), contains("launch " + launchId));
+		assertThat(server.getEvents("finish-launch"), contains("finish-launch " + launchId));
+
+		// a feature, three scenarios, three steps and three after hooks
+		List<String> starts = server.getEvents("start");
+		assertThat(starts, hasSize(10));
+		List<String> finished = server.getEvents("finish").stream().map(e -> e.split(" ")[1]).collect(Collectors.toList());
+		assertThat(finished, containsInAnyOrder(server.items.toArray()));
+
+		List<String> events = new ArrayList<>(server.events);
+		for (String start : starts) {
+			String[] fields = start.split(" ");
+			int startIndex = events.indexOf(start);
+			int finishIndex = events.indexOf("finish " + fields[1]);
+			assertThat(startIndex, lessThan(finishIndex));
+			if (fields.length > 2) {
+				String parent = fields[2];
+				assertThat(server.items, hasItem(parent));
+				assertThat(events.indexOf(starts.stream().filter(s -> s.startsWith("start " + parent)).findAny().orElse("")),
+						lessThan(startIndex)
+				);
+				assertThat(finishIndex, lessThan(events.indexOf("finish " + parent)));
+			}
+		}
+		assertThat(server.getEvents("log"), hasItem("log true"));
+	}
+
+	@Test
+	public void verify_journal_is_replayed_with_item_hierarchy() throws IOException {
+		String launchId = new JournalReplayer(client, 4).replay(journal);
+
+		verifyLaunch(launchId);
+		assertThat(server.getEvents("start").stream().filter(s -> s.split(" ").length == 2).count(), equalTo(1L));
+	}
+
+	@Test
+	public void verify_failed_replay_is_restarted_from_checkpoint() throws IOException {
+		server.failAfter = 8;
+		assertThrows(RuntimeException.class, () -> new JournalReplayer(client, 4).replay(journal));
+		assertThat(server.getEvents("finish-launch"), empty());
+
+		server.failAfter = Integer.MAX_VALUE;
+		String launchId = new JournalReplayer(client, 4).replay(journal);
+
+		verifyLaunch(launchId);
+	}
+
+	@Test
+	public void verify_replay_is_restarted_from_checkpoint_with_incomplete_last_line() throws IOException {
+		server.failAfter = 8;
+		assertThrows(RuntimeException.class, () -> new JournalReplayer(client, 4).replay(journal));
+		Path checkpoint = journal.resolve("replay.checkpoint");
+		Files.write(checkpoint, "start 0-".getBytes(StandardCharsets.UTF_8), StandardOpenOption.APPEND);
+
+		server.failAfter = Integer.MAX_VALUE;
+		String launchId = new JournalReplayer(client, 4).replay(journal);
+
+		verifyLaunch(launchId);
+		assertThat(Files.readAllLines(checkpoint, StandardCharsets.UTF_8), everyItem(not(startsWith("start 0-"))));
+	}
+
+	@Test
+	public void verify_replay_rejects_checkpoint_of_another_launch() throws IOException {
+		Path checkpoint = journal.resolve("replay.checkpoint");
+		Files.write(checkpoint, "launch another-journal-launch another-launch\n".getBytes(StandardCharsets.UTF_8));
+
+		IOException error = assertThrows(IOException.class, () -> new JournalReplayer(client, 4).replay(journal));
+		assertThat(error.getMessage(), containsString("another-journal-launch"));
+		assertThat(server.events, empty());
+	}
+
+	@Test
+	public void verify_restarted_replay_does_not_resend_log_records() throws IOException {
+		// nested steps with several logs, each log in its own journal record
+		Path logJournalDirectory = Files.createDirectory(journalDirectory.resolve("logs"));
+		TestJournalStepReporter.JOURNAL_DIRECTORY = logJournalDirectory;
+		System.setProperty("rp.batch.size.logs", "1");
+		try {
+			TestUtils.runTests(ManualStepJournalStepReporterTest.class);
+		} finally {
+			System.clearProperty("rp.batch.size.logs");
+			TestJournalStepReporter.JOURNAL_DIRECTORY = null;
+		}
+		Path logJournal = TestJournalStepReporter.getJournal(logJournalDirectory);
+		new JournalReplayer(client, 1).replay(logJournal);
+		int logs = server.getEvents("log").size();
+		int requests = server.requests.get();
+
+		for (int failAfter = 1; failAfter < requests; failAfter++) {
+			Files.delete(logJournal.resolve("replay.checkpoint"));
+			server.events.clear();
+			server.requests.set(0);
+			server.failAfter = failAfter;
+			assertThrows(RuntimeException.class, () -> new JournalReplayer(client, 1).replay(logJournal));
+
+			server.failAfter = Integer.MAX_VALUE;
+			new JournalReplayer(client, 1).replay(logJournal);
+			assertThat("Failure after " + failAfter + " requests", server.getEvents("log"), hasSize(logs));
+		}
+	}
+}
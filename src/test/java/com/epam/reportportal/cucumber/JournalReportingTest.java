@@ -0,0 +1,137 @@
+/*
+ *  Copyright 2020 EPAM Systems
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package com.epam.reportportal.cucumber;
+
+import com.epam.reportportal.cucumber.integration.TestJournalStepReporter;
+import com.epam.reportportal.cucumber.integration.util.TestUtils;
+import com.epam.reportportal.cucumber.journal.JournalReader;
+import com.epam.reportportal.cucumber.journal.JournalRecord;
+import com.epam.reportportal.cucumber.journal.JournalRecordType;
+import io.cucumber.testng.AbstractTestNGCucumberTests;
+import io.cucumber.testng.CucumberOptions;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+
+public class JournalReportingTest {
+	@CucumberOptions(features = "src/test/resources/features/embedding/ImageEmbeddingFeature.feature", glue = {
+			"com.epam.reportportal.cucumber.integration.embed.image" }, plugin = { "pretty",
+			"com.epam.reportportal.cucumber.integration.TestJournalStepReporter" })
+	public static class ImageJournalStepReporterTest extends AbstractTestNGCucumberTests {
+
+	}
+
+	@TempDir
+	Path journalDirectory;
+
+	@BeforeEach
+	public void setup() {
+		TestJournalStepReporter.JOURNAL_DIRECTORY = journalDirectory;
+	}
+
+	@AfterEach
+	public void tearDown() {
+		TestJournalStepReporter.JOURNAL_DIRECTORY = null;
+	}
+
+	private static List<JournalRecord> readJournal(Path journal) throws IOException {
+		List<JournalRecord> records = new ArrayList<>();
+		try (JournalReader reader = new JournalReader(journal)) {
+			for (JournalRecord record = reader.next(); record != null; record = reader.next()) {
+				records.add(record);
+			}
+		}
+		return records;
+	}
+
+	private List<JournalRecord> readJournal() throws IOException {
+		return readJournal(TestJournalStepReporter.getJournal(journalDirectory));
+	}
+
+	private static long count(List<JournalRecord> records, JournalRecordType type) {
+		return records.stream().filter(r -> r.getType() == type).count();
+	}
+
+	@Test
+	public void verify_launch_items_and_logs_are_written_to_journal() throws IOException {
+		TestUtils.runTests(ImageJournalStepReporterTest.class);
+
+		List<JournalRecord> records = readJournal();
+		assertThat(records.get(0).getType(), equalTo(JournalRecordType.START_LAUNCH));
+		assertThat(count(records, JournalRecordType.FINISH_LAUNCH), equalTo(1L));
+		List<JournalRecordType> types = records.stream().map(JournalRecord::getType).collect(Collectors.toList());
+		assertThat(types.lastIndexOf(JournalRecordType.FINISH_ITEM), lessThan(types.indexOf(JournalRecordType.FINISH_LAUNCH)));
+		// a feature, three scenarios, three steps and three after hooks
+		assertThat(count(records, JournalRecordType.START_ITEM), equalTo(10L));
+		assertThat(count(records, JournalRecordType.FINISH_ITEM), equalTo(10L));
+		assertThat(count(records, JournalRecordType.ATTACHMENT), equalTo(3L));
+	}
+
+	@Test
+	public void verify_log_batches_reference_attachments_by_position() throws IOException {
+		TestUtils.runTests(ImageJournalStepReporterTest.class);
+
+		List<Long> attachmentPositions = new ArrayList<>();
+		List<Long> referencedPositions = new ArrayList<>();
+		for (JournalRecord record : readJournal()) {
+			if (record.getType() == JournalRecordType.ATTACHMENT) {
+				attachmentPositions.add(record.getPosition());
+			} else if (record.getType() == JournalRecordType.LOG_BATCH) {
+				DataInputStream payload = record.getPayloadInput();
+				payload.skipBytes(payload.readInt());
+				int attachments = payload.readInt();
+				for (int i = 0; i < attachments; i++) {
+					payload.readUTF();
+					assertThat(payload.readUTF(), startsWith("image/"));
+					referencedPositions.add(payload.readLong());
+				}
+			}
+		}
+		assertThat(attachmentPositions, hasSize(3));
+		assertThat(referencedPositions, equalTo(attachmentPositions));
+		try (JournalReader reader = new JournalReader(TestJournalStepReporter.getJournal(journalDirectory))) {
+			for (long position : referencedPositions) {
+				assertThat(reader.read(position).getPayload().length, greaterThan(0));
+			}
+		}
+	}
+
+	@Test
+	public void verify_consecutive_launches_are_written_to_separate_journals() throws IOException {
+		TestUtils.runTests(ImageJournalStepReporterTest.class);
+		TestUtils.runTests(ImageJournalStepReporterTest.class);
+
+		List<Path> journals = TestJournalStepReporter.getJournals(journalDirectory);
+		assertThat(journals, hasSize(2));
+		for (Path journal : journals) {
+			List<JournalRecord> records = readJournal(journal);
+			assertThat(count(records, JournalRecordType.START_LAUNCH), equalTo(1L));
+			assertThat(count(records, JournalRecordType.FINISH_LAUNCH), equalTo(1L));
+		}
+	}
+}
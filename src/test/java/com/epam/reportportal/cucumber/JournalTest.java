@@ -0,0 +1,105 @@
+/*
+ *  Copyright 2020 EPAM Systems
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package com.epam.reportportal.cucumber;
+
+import com.epam.reportportal.cucumber.journal.JournalReader;
+import com.epam.reportportal.cucumber.journal.JournalRecord;
+import com.epam.reportportal.cucumber.journal.JournalRecordType;
+import com.epam.reportportal.cucumber.journal.JournalWriter;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class JournalTest {
+
+	@TempDir
+	Path journalDirectory;
+
+	private static byte[] payload(int index, int size) {
+		byte[] result = new byte[size];
+		for (int i = 0; i < size; i++) {
+			result[i] = (byte) (index + i);
+		}
+		return result;
+	}
+
+	@Test
+	public void verify_records_are_read_in_order_of_writing_across_segments() throws IOException {
+		List<Long> positions = new ArrayList<>();
+		try (JournalWriter writer = new JournalWriter(journalDirectory, 64)) {
+			for (int i = 0; i < 20; i++) {
+				positions.add(writer.append(JournalRecordType.LOG, payload(i, 10)));
+			}
+		}
+
+		try (Stream<Path> files = Files.list(journalDirectory)) {
+			assertThat(files.collect(Collectors.toList()), hasSize(greaterThan(1)));
+		}
+		try (JournalReader reader = new JournalReader(journalDirectory)) {
+			for (int i = 0; i < 20; i++) {
+				JournalRecord record = reader.next();
+				assertThat(record, notNullValue());
+				assertThat(record.getType(), equalTo(JournalRecordType.LOG));
+				assertThat(record.getPosition(), equalTo(positions.get(i)));
+				assertThat(record.getPayload(), equalTo(payload(i, 10)));
+			}
+			assertThat(reader.next(), nullValue());
+		}
+	}
+
+	@Test
+	public void verify_record_larger_than_segment_is_written_into_its_own_segment() throws IOException {
+		long position;
+		try (JournalWriter writer = new JournalWriter(journalDirectory, 64)) {
+			writer.append(JournalRecordType.LOG, payload(1, 10));
+			position = writer.append(JournalRecordType.ATTACHMENT, payload(2, 1000));
+			writer.append(JournalRecordType.LOG, payload(3, 10));
+		}
+
+		try (JournalReader reader = new JournalReader(journalDirectory)) {
+			JournalRecord attachment = reader.read(position);
+			assertThat(attachment.getType(), equalTo(JournalRecordType.ATTACHMENT));
+			assertThat(attachment.getPayload(), equalTo(payload(2, 1000)));
+
+			List<JournalRecordType> types = new ArrayList<>();
+			for (JournalRecord record = reader.next(); record != null; record = reader.next()) {
+				types.add(record.getType());
+			}
+			assertThat(types, contains(JournalRecordType.LOG, JournalRecordType.ATTACHMENT, JournalRecordType.LOG));
+		}
+	}
+
+	@Test
+	public void verify_closed_journal_rejects_records() throws IOException {
+		JournalWriter writer = new JournalWriter(journalDirectory, 64);
+		writer.close();
+
+		assertThrows(IOException.class, () -> writer.append(JournalRecordType.LOG, "test".getBytes(StandardCharsets.UTF_8)));
+	}
+}
@@ -0,0 +1,124 @@
+/*
+ *  Copyright 2020 EPAM Systems
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package com.epam.reportportal.cucumber;
+
+import com.epam.reportportal.cucumber.integration.TestScaleStepReporter;
+import com.epam.reportportal.cucumber.integration.TestStepReporter;
+import com.epam.reportportal.cucumber.integration.util.InMemoryReportPortalClient;
+import com.epam.reportportal.cucumber.integration.util.SuiteGenerator;
+import com.epam.reportportal.cucumber.integration.util.TestUtils;
+import com.epam.reportportal.service.ReportPortal;
+import io.cucumber.core.cli.Main;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.lang.ref.WeakReference;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+
+public class LargeSuiteScaleTest {
+	private static final Logger LOGGER = LoggerFactory.getLogger(LargeSuiteScaleTest.class);
+	private static final int FEATURES = 20;
+
+	private final SuiteGenerator generator = new SuiteGenerator().features(FEATURES)
+			.scenarios(20)
+			.exampleRows(10)
+			.dataTableRows(10);
+	private final InMemoryReportPortalClient client = new InMemoryReportPortalClient();
+	private final ExecutorService executorService = Executors.newSingleThreadExecutor();
+
+	@TempDir
+	Path featureDirectory;
+
+	@BeforeEach
+	public void setup() {
+		TestStepReporter.RP.set(ReportPortal.create(client, TestUtils.standardParameters(), executorService));
+		TestScaleStepReporter.TRACKED_OBJECTS.clear();
+	}
+
+	@AfterEach
+	public void tearDown() {
+		TestStepReporter.RP.remove();
+		TestScaleStepReporter.INSTANCE = null;
+		executorService.shutdown();
+	}
+
+	private byte runSuite() throws IOException {
+		generator.write(featureDirectory);
+		String[] arguments = new String[] { "--glue", SuiteGenerator.GLUE, "--plugin", TestScaleStepReporter.class.getName(),
+				featureDirectory.toString() };
+		return Main.run(arguments, Thread.currentThread().getContextClassLoader());
+	}
+
+	private static List<Object> getRetainedObjects() throws InterruptedException {
+		List<Object> retained = null;
+		for (int i = 0; i < 20; i++) {
+			System.gc();
+			retained = TestScaleStepReporter.TRACKED_OBJECTS.stream()
+					.map(WeakReference::get)
+					.filter(Objects::nonNull)
+					.collect(Collectors.toList());
+			if (retained.isEmpty()) {
+				break;
+			}
+			Thread.sleep(100);
+		}
+		return retained;
+	}
+
+	@Test
+	public void verify_large_suite_is_reported_completely() throws IOException {
+		long start = System.nanoTime();
+		byte exitStatus = runSuite();
+		double seconds = (System.nanoTime() - start) / (double) TimeUnit.SECONDS.toNanos(1);
+		double scenariosPerSecond = generator.getScenarioCount() / seconds;
+		LOGGER.info("{} scenarios and {} steps reported in {} s, {} scenarios/s",
+				generator.getScenarioCount(),
+				generator.getStepCount(),
+				String.format("%.3f", seconds),
+				String.format("%.1f", scenariosPerSecond)
+		);
+
+		assertThat(exitStatus, equalTo((byte) 0));
+		assertThat(client.getStartedItems("SCENARIO"), equalTo((long) generator.getScenarioCount()));
+		assertThat(client.getStartedItems("STEP"), equalTo((long) generator.getStepCount()));
+		assertThat(client.getFinishedItems(), equalTo(client.getStartedItems()));
+	}
+
+	@Test
+	public void verify_no_contexts_and_sources_are_retained_after_run() throws IOException, InterruptedException {
+		runSuite();
+
+		assertThat("Reporter instance should be alive", TestScaleStepReporter.INSTANCE, notNullValue());
+		assertThat(TestScaleStepReporter.TRACKED_OBJECTS, hasSize(generator.getScenarioCount() * 2 + FEATURES));
+		List<Object> retained = getRetainedObjects();
+		assertThat(retained.stream().map(o -> o.getClass().getName()).distinct().collect(Collectors.toList()), empty());
+	}
+}
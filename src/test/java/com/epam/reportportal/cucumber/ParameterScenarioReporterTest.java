@@ -1,5 +1,6 @@
 package com.epam.reportportal.cucumber;
 
+import com.epam.reportportal.cucumber.integration.TestDataTableScenarioReporter;
 import com.epam.reportportal.cucumber.integration.TestScenarioReporter;
 import com.epam.reportportal.cucumber.integration.TestStepReporter;
 import com.epam.reportportal.cucumber.integration.util.TestUtils;
@@ -56,6 +57,12 @@ public class ParameterScenarioReporterTest {
 	public static class DataTableParameterTest extends AbstractTestNGCucumberTests {
 	}
 
+	@CucumberOptions(features = "src/test/resources/features/DataTableParameter.feature", glue = {
+			"com.epam.reportportal.cucumber.integration.feature" }, plugin = { "pretty",
+			"com.epam.reportportal.cucumber.integration.TestDataTableScenarioReporter" })
+	public static class DataTableFormatTest extends AbstractTestNGCucumberTests {
+	}
+
 	private static final String DOCSTRING_PARAM = "My very long parameter\nWith some new lines";
 	private static final String TABLE_PARAM = MarkdownUtils.formatDataTable(Arrays.asList(Arrays.asList("key", "value"),
 			Arrays.asList("myKey", "myValue")
@@ -164,4 +171,12 @@ public class ParameterScenarioReporterTest {
 		assertThat(logs, hasSize(2));
 		assertThat(logs, hasItem(equalTo(TABLE_PARAM)));
 	}
+
+	@Test
+	public void verify_agent_formats_data_table_once_per_step() {
+		TestDataTableScenarioReporter.FORMAT_COUNT.set(0);
+		TestUtils.runTests(DataTableFormatTest.class);
+
+		assertThat(TestDataTableScenarioReporter.FORMAT_COUNT.get(), equalTo(1));
+	}
 }
@@ -0,0 +1,93 @@
+/*
+ *  Copyright 2020 EPAM Systems
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package com.epam.reportportal.cucumber;
+
+import gherkin.AstBuilder;
+import gherkin.Parser;
+import gherkin.ast.*;
+import gherkin.pickles.Compiler;
+import gherkin.pickles.Pickle;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+
+public class ParsedFeatureTest {
+	private static final int EXAMPLE_ROWS = 5000;
+
+	private static String generateFeature() {
+		StringBuilder source = new StringBuilder("Feature: Index test\n\n");
+		source.append("  Background:\n    Given I have empty step\n\n");
+		source.append("  Scenario: Simple scenario\n    Given I have empty step\n\n");
+		source.append("  Scenario Outline: Outline scenario\n    Given I have parameter <str>\n\n    Examples:\n      | str |\n");
+		for (int i = 0; i < EXAMPLE_ROWS; i++) {
+			source.append("      | \"row").append(i).append("\" |\n");
+		}
+		return source.toString();
+	}
+
+	@Test
+	public void verify_line_indexes_cover_scenarios_and_example_rows() {
+		ParsedFeature parsedFeature = new ParsedFeature(generateFeature());
+		List<ScenarioDefinition> children = parsedFeature.getFeature().getChildren();
+		ScenarioDefinition scenario = children.get(1);
+		ScenarioOutline outline = (ScenarioOutline) children.get(2);
+
+		assertThat(parsedFeature.getScenario(scenario.getLocation().getLine()), sameInstance(scenario));
+		assertThat(parsedFeature.getScenario(outline.getLocation().getLine()), sameInstance(outline));
+
+		List<TableRow> rows = ParsedFeature.getExampleRows(outline);
+		assertThat(rows, hasSize(EXAMPLE_ROWS));
+		rows.forEach(r -> assertThat(parsedFeature.getScenario(r.getLocation().getLine()), sameInstance(outline)));
+
+		IntStream.range(0, rows.size())
+				.forEach(i -> assertThat(parsedFeature.getOutlineIteration(rows.get(i).getLocation().getLine()), equalTo(i + 1)));
+		assertThat(parsedFeature.getOutlineIteration(scenario.getLocation().getLine()), equalTo(0));
+		assertThat(parsedFeature.getOutlineIteration(outline.getLocation().getLine()), equalTo(0));
+
+		assertThat(parsedFeature.getScenario(children.get(0).getLocation().getLine()), nullValue());
+		assertThat(parsedFeature.getScenario(scenario.getSteps().get(0).getLocation().getLine()), nullValue());
+		assertThat(parsedFeature.getScenario(-1), nullValue());
+		assertThat(parsedFeature.getScenario(Integer.MAX_VALUE), nullValue());
+	}
+
+	@Test
+	public void verify_pickle_count_includes_scenarios_and_example_rows() {
+		assertThat(new ParsedFeature(generateFeature()).getPickleCount(), equalTo(EXAMPLE_ROWS + 1));
+	}
+
+	@Test
+	public void verify_pickle_count_includes_scenarios_without_steps() {
+		String source = "Feature: Empty scenarios\n\n  Scenario: No steps\n\n  Scenario Outline: No steps outline\n\n"
+				+ "    Examples:\n      | str |\n      | \"row\" |\n\n  Scenario: With steps\n    Given I have empty step\n";
+		List<Pickle> pickles = new Compiler().compile(new Parser<>(new AstBuilder()).parse(source));
+		assertThat(pickles, hasSize(3));
+		assertThat(new ParsedFeature(source).getPickleCount(), equalTo(pickles.size()));
+	}
+
+	@Test
+	public void verify_invalid_feature_has_empty_index() {
+		ParsedFeature parsedFeature = new ParsedFeature("Not a feature");
+		assertThat(parsedFeature.getFeature(), nullValue());
+		assertThat(parsedFeature.getScenario(1), nullValue());
+		assertThat(parsedFeature.getOutlineIteration(1), equalTo(0));
+		assertThat(parsedFeature.getPickleCount(), equalTo(0));
+	}
+}
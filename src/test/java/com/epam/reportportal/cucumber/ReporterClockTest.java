@@ -0,0 +1,107 @@
+/*
+ *  Copyright 2020 EPAM Systems
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+
+package com.epam.reportportal.cucumber;
+
+import com.epam.reportportal.cucumber.integration.TestFixedClockStepReporter;
+import com.epam.reportportal.cucumber.integration.TestStepReporter;
+import com.epam.reportportal.cucumber.integration.util.TestUtils;
+import com.epam.reportportal.listeners.ListenerParameters;
+import com.epam.reportportal.service.ReportPortal;
+import com.epam.reportportal.service.ReportPortalClient;
+import com.epam.reportportal.util.test.CommonUtils;
+import com.epam.ta.reportportal.ws.model.FinishTestItemRQ;
+import com.epam.ta.reportportal.ws.model.StartTestItemRQ;
+import io.cucumber.testng.AbstractTestNGCucumberTests;
+import io.cucumber.testng.CucumberOptions;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+import static org.mockito.Mockito.*;
+
+public class ReporterClockTest {
+	private static final long TIME = 1600000000000L;
+
+	@CucumberOptions(features = "src/test/resources/features/belly.feature", glue = {
+			"com.epam.reportportal.cucumber.integration.feature" }, plugin = { "pretty",
+			"com.epam.reportportal.cucumber.integration.TestFixedClockStepReporter" })
+	public static class BellyFixedClockStepReporter extends AbstractTestNGCucumberTests {
+
+	}
+
+	@Test
+	public void verify_clock_returns_strictly_increasing_time_per_parent() {
+		ReporterClock clock = new ReporterClock(Clock.fixed(Instant.ofEpochMilli(TIME), ZoneOffset.UTC));
+		Object parent = new Object();
+		Object otherParent = new Object();
+
+		assertThat(clock.now(parent).getTime(), equalTo(TIME));
+		assertThat(clock.now(parent).getTime(), equalTo(TIME + 1));
+		assertThat(clock.next(parent, new Date(TIME - 10)).getTime(), equalTo(TIME + 2));
+		assertThat(clock.next(parent, new Date(TIME + 10)).getTime(), equalTo(TIME + 10));
+		assertThat(clock.now(otherParent).getTime(), equalTo(TIME));
+		assertThat(clock.now(null).getTime(), equalTo(TIME));
+		assertThat(clock.now().getTime(), equalTo(TIME));
+
+		clock.release(parent);
+		assertThat(clock.now(parent).getTime(), equalTo(TIME));
+	}
+
+	@Test
+	public void verify_default_clock_follows_system_time() {
+		long before = System.currentTimeMillis();
+		ReporterClock clock = new ReporterClock();
+		long time = clock.millis();
+		assertThat(time, greaterThanOrEqualTo(before));
+		assertThat(clock.millis(), greaterThanOrEqualTo(time));
+	}
+
+	@Test
+	public void verify_steps_started_in_the_same_millisecond_finish_after_their_start() {
+		String testId = CommonUtils.namedId("test_");
+		List<String> stepIds = Stream.generate(() -> CommonUtils.namedId("step_")).limit(3).collect(Collectors.toList());
+		ListenerParameters parameters = TestUtils.standardParameters();
+		ReportPortalClient client = mock(ReportPortalClient.class);
+		ExecutorService executorService = Executors.newSingleThreadExecutor();
+		TestUtils.mockLaunch(client, CommonUtils.namedId("launch_"), CommonUtils.namedId("suite_"), testId, stepIds);
+		TestStepReporter.RP.set(ReportPortal.create(client, parameters, executorService));
+
+		TestUtils.runTests(BellyFixedClockStepReporter.class);
+
+		ArgumentCaptor<StartTestItemRQ> startCaptor = ArgumentCaptor.forClass(StartTestItemRQ.class);
+		verify(client, times(3)).startTestItem(same(testId), startCaptor.capture());
+		List<Date> startTimes = startCaptor.getAllValues().stream().map(StartTestItemRQ::getStartTime).collect(Collectors.toList());
+		assertThat(startTimes.get(2).getTime(), greaterThan(TestFixedClockStepReporter.TIME + 1));
+		for (int i = 0; i < stepIds.size(); i++) {
+			ArgumentCaptor<FinishTestItemRQ> finishCaptor = ArgumentCaptor.forClass(FinishTestItemRQ.class);
+			verify(client).finishTestItem(same(stepIds.get(i)), finishCaptor.capture());
+			assertThat(finishCaptor.getValue().getEndTime(), greaterThan(startTimes.get(i)));
+		}
+	}
+}
@@ -0,0 +1,107 @@
+/*
+ *  Copyright 2020 EPAM Systems
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package com.epam.reportportal.cucumber;
+
+import com.epam.reportportal.cucumber.integration.TestMetricsStepReporter;
+import com.epam.reportportal.cucumber.integration.TestStepReporter;
+import com.epam.reportportal.cucumber.integration.util.TestUtils;
+import com.epam.reportportal.listeners.ListenerParameters;
+import com.epam.reportportal.service.ReportPortal;
+import com.epam.reportportal.service.ReportPortalClient;
+import com.epam.reportportal.util.test.CommonUtils;
+import io.cucumber.testng.AbstractTestNGCucumberTests;
+import io.cucumber.testng.CucumberOptions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import javax.management.ObjectName;
+import java.lang.management.ManagementFactory;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+import static org.mockito.Mockito.mock;
+
+public class ReporterMetricsTest {
+	@CucumberOptions(features = "src/test/resources/features/belly.feature", glue = {
+			"com.epam.reportportal.cucumber.integration.feature" }, plugin = { "pretty",
+			"com.epam.reportportal.cucumber.integration.TestMetricsStepReporter" })
+	public static class SimpleMetricsStepReporter extends AbstractTestNGCucumberTests {
+
+	}
+
+	private final String launchId = CommonUtils.namedId("launch_");
+	private final String suiteId = CommonUtils.namedId("suite_");
+	private final String testId = CommonUtils.namedId("test_");
+	private final List<String> stepIds = Stream.generate(() -> CommonUtils.namedId("step_")).limit(3).collect(Collectors.toList());
+
+	private final ListenerParameters params = TestUtils.standardParameters();
+	private final ReportPortalClient client = mock(ReportPortalClient.class);
+	private final ExecutorService executorService = Executors.newSingleThreadExecutor();
+	private final ReportPortal reportPortal = ReportPortal.create(client, params, executorService);
+
+	@BeforeEach
+	public void setup() {
+		TestUtils.mockLaunch(client, launchId, suiteId, testId, stepIds);
+		TestStepReporter.RP.set(reportPortal);
+		TestMetricsStepReporter.METRICS = null;
+	}
+
+	@Test
+	public void verify_histogram_percentiles_are_bucket_upper_bounds() {
+		LatencyHistogram histogram = new LatencyHistogram();
+		assertThat(histogram.getPercentileNanos(50), equalTo(0L));
+		for (int i = 0; i < 99; i++) {
+			histogram.record(100);
+		}
+		histogram.record(5000);
+
+		assertThat(histogram.getCount(), equalTo(100L));
+		assertThat(histogram.getTotalNanos(), equalTo(99 * 100L + 5000L));
+		assertThat(histogram.getMaxNanos(), equalTo(5000L));
+		assertThat(histogram.getPercentileNanos(50), equalTo(127L));
+		assertThat(histogram.getPercentileNanos(99), equalTo(127L));
+		assertThat(histogram.getPercentileNanos(100), equalTo(5000L));
+	}
+
+	@Test
+	public void verify_handlers_and_counters_are_measured() throws Exception {
+		TestUtils.runTests(SimpleMetricsStepReporter.class);
+
+		ReporterMetrics metrics = TestMetricsStepReporter.METRICS;
+		assertThat(metrics, notNullValue());
+		assertThat(metrics.getHandler(ReporterMetrics.Handler.TEST_RUN_STARTED).getCount(), equalTo(1L));
+		assertThat(metrics.getHandler(ReporterMetrics.Handler.TEST_CASE_STARTED).getCount(), equalTo(1L));
+		assertThat(metrics.getHandler(ReporterMetrics.Handler.TEST_STEP_STARTED).getCount(), equalTo(3L));
+		assertThat(metrics.getHandler(ReporterMetrics.Handler.TEST_STEP_FINISHED).getCount(), equalTo(3L));
+		assertThat(metrics.getHandler(ReporterMetrics.Handler.TEST_CASE_FINISHED).getCount(), equalTo(1L));
+		assertThat(metrics.getHandler(ReporterMetrics.Handler.TEST_RUN_FINISHED).getCount(), equalTo(1L));
+		assertThat(metrics.getHandler(ReporterMetrics.Handler.TEST_STEP_STARTED).getTotalNanos(), greaterThan(0L));
+
+		// a feature, a scenario and three steps
+		assertThat(metrics.getItemsStarted(), equalTo(5L));
+		assertThat(metrics.getItemsFinished(), equalTo(5L));
+		assertThat(metrics.getSummary(), containsString("TEST_STEP_STARTED"));
+
+		ObjectName names = new ObjectName("com.epam.reportportal.cucumber:type=ReporterMetrics,*");
+		assertThat(ManagementFactory.getPlatformMBeanServer().queryNames(names, null), empty());
+	}
+}
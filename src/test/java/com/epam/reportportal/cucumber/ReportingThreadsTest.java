@@ -0,0 +1,69 @@
+/*
+ *  Copyright 2020 EPAM Systems
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package com.epam.reportportal.cucumber;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+
+public class ReportingThreadsTest {
+	// set by 'multiReleaseTest' Gradle task which runs tests against the multi-release JAR with Java 21
+	private static final boolean MULTI_RELEASE = Boolean.getBoolean("rp.test.multi.release");
+
+	private static boolean isVirtual(Thread thread) {
+		try {
+			return (Boolean) Thread.class.getMethod("isVirtual").invoke(thread);
+		} catch (NoSuchMethodException e) {
+			return false;
+		} catch (ReflectiveOperationException e) {
+			throw new IllegalStateException(e);
+		}
+	}
+
+	@Test
+	public void verify_reporting_thread_is_unstarted_daemon_thread() {
+		Thread thread = ReportingThreads.newThread("rp-test", () -> {
+		});
+
+		assertThat(thread.getName(), equalTo("rp-test"));
+		assertThat(thread.getState(), equalTo(Thread.State.NEW));
+		assertThat(thread.isDaemon(), equalTo(Boolean.TRUE));
+		assertThat(isVirtual(thread), equalTo(MULTI_RELEASE));
+	}
+
+	@Test
+	public void verify_io_executor_runs_tasks_on_virtual_threads_with_java_21_layer() throws Exception {
+		ExecutorService executor = ReportingThreads.newVirtualThreadExecutor("rp-io-");
+		if (!MULTI_RELEASE) {
+			assertThat(executor, nullValue());
+			return;
+		}
+
+		assertThat(executor, notNullValue());
+		try {
+			Thread thread = executor.submit(Thread::currentThread).get(10, TimeUnit.SECONDS);
+			assertThat(thread.getName(), equalTo("rp-io-1"));
+			assertThat(isVirtual(thread), equalTo(Boolean.TRUE));
+		} finally {
+			executor.shutdown();
+		}
+	}
+}
@@ -0,0 +1,89 @@
+/*
+ *  Copyright 2020 EPAM Systems
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package com.epam.reportportal.cucumber;
+
+import com.epam.reportportal.service.Launch;
+import io.reactivex.Maybe;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import javax.annotation.Nonnull;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Date;
+import java.util.List;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.same;
+import static org.mockito.Mockito.*;
+
+public class ScenarioLogBufferTest {
+
+	/**
+	 * A spill segment which fails to read the first spilled log
+	 */
+	private static class FailingSpillSegment extends SpillSegment {
+		private boolean failed;
+
+		private FailingSpillSegment(Path directory) {
+			super(directory);
+		}
+
+		@Nonnull
+		@Override
+		synchronized byte[] read(long position, int length) throws IOException {
+			if (!failed) {
+				failed = true;
+				throw new IOException("Unable to read");
+			}
+			return super.read(position, length);
+		}
+	}
+
+	@TempDir
+	Path spillDirectory;
+
+	private List<Long> getSegmentSizes() throws IOException {
+		try (Stream<Path> files = Files.list(spillDirectory)) {
+			return files.map(f -> f.toFile().length()).collect(Collectors.toList());
+		}
+	}
+
+	@Test
+	@SuppressWarnings("unchecked")
+	public void verify_spilled_log_which_failed_to_read_is_released() throws IOException {
+		SpillSegment segment = new FailingSpillSegment(spillDirectory);
+		ScenarioLogBuffer buffer = new ScenarioLogBuffer(0, SamplingOverflowPolicy.SPILL, () -> segment);
+		Maybe<String> itemId = Maybe.just("item");
+		buffer.add(itemId, "INFO", new Date(), "first");
+		buffer.add(itemId, "INFO", new Date(), "second");
+		assertThat(getSegmentSizes(), contains(11L));
+
+		Launch launch = mock(Launch.class);
+		buffer.send(launch);
+
+		verify(launch).log(same(itemId), any(Function.class));
+		assertThat(getSegmentSizes(), contains(0L));
+		segment.close();
+	}
+}
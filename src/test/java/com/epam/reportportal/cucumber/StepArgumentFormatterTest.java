@@ -0,0 +1,157 @@
+/*
+ *  Copyright 2020 EPAM Systems
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+
+package com.epam.reportportal.cucumber;
+
+import com.epam.reportportal.utils.formatting.MarkdownUtils;
+import gherkin.pickles.PickleCell;
+import gherkin.pickles.PickleLocation;
+import gherkin.pickles.PickleRow;
+import gherkin.pickles.PickleString;
+import gherkin.pickles.PickleTable;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+
+public class StepArgumentFormatterTest {
+	private static final PickleLocation LOCATION = new PickleLocation(1, 1);
+
+	private static PickleTable table(int rows) {
+		return new PickleTable(IntStream.range(0, rows)
+				.mapToObj(i -> new PickleRow(Arrays.asList(new PickleCell(LOCATION, "key" + i), new PickleCell(LOCATION, "value" + i))))
+				.collect(Collectors.toList()));
+	}
+
+	private static List<List<String>> rows(int rows) {
+		return IntStream.range(0, rows).mapToObj(i -> Arrays.asList("key" + i, "value" + i)).collect(Collectors.toList());
+	}
+
+	@Test
+	public void verify_formatter_without_limits_keeps_the_table_as_is() {
+		StepArgumentFormatter.FormattedArgument result = new StepArgumentFormatter().formatTable(table(500),
+				MarkdownUtils::formatDataTable
+		);
+		assertThat(result.isTruncated(), equalTo(Boolean.FALSE));
+		assertThat(result.getText(), equalTo(MarkdownUtils.formatDataTable(rows(500))));
+	}
+
+	@Test
+	public void verify_formatter_truncates_table_rows() {
+		StepArgumentFormatter.FormattedArgument result = new StepArgumentFormatter(10, 0).formatTable(table(500),
+				MarkdownUtils::formatDataTable
+		);
+		assertThat(result.isTruncated(), equalTo(Boolean.TRUE));
+		assertThat(result.getText(), startsWith(MarkdownUtils.formatDataTable(rows(10))));
+		assertThat(result.getText(), endsWith(String.format(StepArgumentFormatter.TRUNCATION_MARKER, 10, 500, "rows")));
+	}
+
+	private static int fittingRows(List<List<String>> rows, int maxLength) {
+		return (int) IntStream.rangeClosed(1, rows.size())
+				.filter(i -> MarkdownUtils.formatDataTable(rows.subList(0, i)).length() <= maxLength)
+				.count();
+	}
+
+	@Test
+	public void verify_formatter_truncates_table_characters_by_whole_rows() {
+		StepArgumentFormatter.FormattedArgument result = new StepArgumentFormatter(0, 100).formatTable(table(500),
+				MarkdownUtils::formatDataTable
+		);
+		int shownRows = fittingRows(rows(500), 100);
+		assertThat(shownRows, greaterThan(0));
+		assertThat(result.isTruncated(), equalTo(Boolean.TRUE));
+		assertThat(result.getText(),
+				equalTo(MarkdownUtils.formatDataTable(rows(shownRows)) + String.format(StepArgumentFormatter.TRUNCATION_MARKER,
+						shownRows,
+						500,
+						"rows"
+				))
+		);
+	}
+
+	@Test
+	public void verify_formatter_fills_character_limit_with_wide_table() {
+		String wideValue = String.join("", Collections.nCopies(150, "x"));
+		PickleTable wideTable = new PickleTable(IntStream.range(0, 100)
+				.mapToObj(i -> new PickleRow(Arrays.asList(new PickleCell(LOCATION, "key" + i), new PickleCell(LOCATION, wideValue))))
+				.collect(Collectors.toList()));
+		List<List<String>> wideRows = IntStream.range(0, 100)
+				.mapToObj(i -> Arrays.asList("key" + i, wideValue))
+				.collect(Collectors.toList());
+
+		StepArgumentFormatter.FormattedArgument result = new StepArgumentFormatter(0, 1000).formatTable(wideTable,
+				MarkdownUtils::formatDataTable
+		);
+		int shownRows = fittingRows(wideRows, 1000);
+		String shownTable = MarkdownUtils.formatDataTable(wideRows.subList(0, shownRows));
+		assertThat(shownTable.length(), lessThanOrEqualTo(1000));
+		assertThat(MarkdownUtils.formatDataTable(wideRows.subList(0, shownRows + 1)).length(), greaterThan(1000));
+		assertThat(result.getText(),
+				equalTo(shownTable + String.format(StepArgumentFormatter.TRUNCATION_MARKER, shownRows, 100, "rows"))
+		);
+	}
+
+	@Test
+	public void verify_formatter_cuts_first_row_longer_than_character_limit() {
+		StepArgumentFormatter.FormattedArgument result = new StepArgumentFormatter(0, 10).formatTable(table(5),
+				MarkdownUtils::formatDataTable
+		);
+		assertThat(result.isTruncated(), equalTo(Boolean.TRUE));
+		assertThat(result.getText(),
+				equalTo(MarkdownUtils.formatDataTable(rows(1)).substring(0, 10) + String.format(StepArgumentFormatter.TRUNCATION_MARKER,
+						0,
+						5,
+						"rows"
+				))
+		);
+	}
+
+	@Test
+	public void verify_formatter_does_not_format_rows_past_character_limit() {
+		List<Integer> formattedRows = new ArrayList<>();
+		new StepArgumentFormatter(0, 100).formatTable(table(500), r -> {
+			formattedRows.add(r.size());
+			return MarkdownUtils.formatDataTable(r);
+		});
+		assertThat(formattedRows, everyItem(lessThanOrEqualTo(fittingRows(rows(500), 100) * 2)));
+	}
+
+	@Test
+	public void verify_formatter_truncates_doc_string() {
+		StepArgumentFormatter formatter = new StepArgumentFormatter(1, 5);
+		StepArgumentFormatter.FormattedArgument shortResult = formatter.formatDocString(new PickleString(LOCATION, "12345"));
+		assertThat(shortResult.isTruncated(), equalTo(Boolean.FALSE));
+		assertThat(shortResult.getText(), equalTo("12345"));
+
+		StepArgumentFormatter.FormattedArgument longResult = formatter.formatDocString(new PickleString(LOCATION, "1234567890"));
+		assertThat(longResult.isTruncated(), equalTo(Boolean.TRUE));
+		assertThat(longResult.getText(), equalTo("12345" + String.format(StepArgumentFormatter.TRUNCATION_MARKER, 5, 10, "characters")));
+	}
+
+	@Test
+	public void verify_full_table_content() {
+		String content = new StepArgumentFormatter(1, 1).getFullContent(table(2));
+		assertThat(content, equalTo("| key0 | value0 |\n| key1 | value1 |\n"));
+	}
+}
@@ -0,0 +1,69 @@
+/*
+ *  Copyright 2020 EPAM Systems
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+
+package com.epam.reportportal.cucumber;
+
+import com.epam.reportportal.cucumber.integration.feature.BellyStepdefs;
+import com.epam.ta.reportportal.ws.model.attribute.ItemAttributesRQ;
+import cucumber.runtime.StepDefinition;
+import org.junit.jupiter.api.Test;
+
+import java.lang.reflect.Method;
+import java.util.Set;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class StepDefinitionMetadataTest {
+
+	@SuppressWarnings("unused")
+	private abstract static class MethodStepDefinition implements StepDefinition {
+		private Method method;
+	}
+
+	@Test
+	public void verify_step_definition_metadata_resolution() throws NoSuchMethodException {
+		Method method = BellyStepdefs.class.getMethod("I_have_cukes_in_my_belly", int.class);
+		MethodStepDefinition stepDefinition = mock(MethodStepDefinition.class);
+		stepDefinition.method = method;
+		String location = BellyStepdefs.class.getCanonicalName() + ".I_have_cukes_in_my_belly(int)";
+		when(stepDefinition.getLocation(true)).thenReturn(location);
+
+		StepDefinitionMetadata metadata = StepDefinitionMetadata.resolve(stepDefinition);
+		assertThat(metadata.getCodeRef(), equalTo(BellyStepdefs.class.getCanonicalName() + ".I_have_cukes_in_my_belly"));
+		assertThat(metadata.getMethod(), equalTo(method));
+		assertThat(metadata.getTestCaseId(), nullValue());
+
+		Set<ItemAttributesRQ> attributes = metadata.getAttributes();
+		assertThat(attributes, hasSize(1));
+		attributes.clear();
+		assertThat(metadata.getAttributes(), hasSize(1));
+	}
+
+	@Test
+	public void verify_step_definition_metadata_without_method() {
+		StepDefinition stepDefinition = mock(StepDefinition.class);
+		when(stepDefinition.getLocation(true)).thenReturn("");
+
+		StepDefinitionMetadata metadata = StepDefinitionMetadata.resolve(stepDefinition);
+		assertThat(metadata.getCodeRef(), nullValue());
+		assertThat(metadata.getMethod(), nullValue());
+		assertThat(metadata.getAttributes(), nullValue());
+	}
+}
@@ -0,0 +1,47 @@
+package com.epam.reportportal.cucumber.integration;
+
+import com.epam.reportportal.cucumber.ReporterParameters;
+import com.epam.reportportal.util.test.CommonUtils;
+import com.epam.ta.reportportal.ws.model.StartTestItemRQ;
+import cucumber.api.event.EventHandler;
+import cucumber.api.event.TestStepStarted;
+import io.reactivex.Maybe;
+
+import javax.annotation.Nonnull;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+public class TestAsyncStepReporter extends TestStepReporter {
+	public static final Queue<String> STEP_THREADS = new ConcurrentLinkedQueue<>();
+
+	@Override
+	protected ReporterParameters buildReporterParameters() {
+		ReporterParameters parameters = new ReporterParameters();
+		parameters.setAsyncConsumers(2);
+		parameters.setAsyncBufferSize(16);
+		return parameters;
+	}
+
+	@Nonnull
+	@Override
+	protected Maybe<String> startStep(@Nonnull Maybe<String> scenarioId, @Nonnull StartTestItemRQ startStepRq) {
+		STEP_THREADS.add(Thread.currentThread().getName());
+		return super.startStep(scenarioId, startStepRq);
+	}
+
+	/**
+	 * Lets consumer threads start the step before its body runs, so nested steps are started under an already started item
+	 */
+	@Override
+	protected EventHandler<TestStepStarted> getTestStepStartedHandler() {
+		EventHandler<TestStepStarted> handler = super.getTestStepStartedHandler();
+		return event -> {
+			handler.receive(event);
+			getAsyncPipeline().drain();
+			try {
+				Thread.sleep(CommonUtils.MINIMAL_TEST_PAUSE);
+			} catch (InterruptedException ignore) {
+			}
+		};
+	}
+}
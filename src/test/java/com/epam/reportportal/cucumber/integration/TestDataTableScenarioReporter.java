@@ -0,0 +1,16 @@
+package com.epam.reportportal.cucumber.integration;
+
+import javax.annotation.Nonnull;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class TestDataTableScenarioReporter extends TestScenarioReporter {
+	public static final AtomicInteger FORMAT_COUNT = new AtomicInteger();
+
+	@Nonnull
+	@Override
+	protected String formatDataTable(@Nonnull List<List<String>> table) {
+		FORMAT_COUNT.incrementAndGet();
+		return super.formatDataTable(table);
+	}
+}
@@ -0,0 +1,29 @@
+package com.epam.reportportal.cucumber.integration;
+
+import com.epam.reportportal.cucumber.ReporterParameters;
+import cucumber.api.event.TestCaseFinished;
+import org.mockito.Mockito;
+
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+public class TestDeferredStepReporter extends TestStepReporter {
+	public static final Queue<Object> PARENTS_STARTED_BEFORE_SCENARIO_FINISH = new ConcurrentLinkedQueue<>();
+
+	@Override
+	protected ReporterParameters buildReporterParameters() {
+		ReporterParameters parameters = new ReporterParameters();
+		parameters.setStepDeferredMaxDuration(60000);
+		return parameters;
+	}
+
+	@Override
+	protected void afterScenario(TestCaseFinished event) {
+		Mockito.mockingDetails(launch.get().getClient())
+				.getInvocations()
+				.stream()
+				.filter(i -> "startTestItem".equals(i.getMethod().getName()) && i.getArguments().length == 2)
+				.forEach(i -> PARENTS_STARTED_BEFORE_SCENARIO_FINISH.add(i.getArgument(0)));
+		super.afterScenario(event);
+	}
+}
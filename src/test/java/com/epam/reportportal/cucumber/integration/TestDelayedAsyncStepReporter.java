@@ -0,0 +1,28 @@
+package com.epam.reportportal.cucumber.integration;
+
+import com.epam.reportportal.cucumber.ReporterParameters;
+import cucumber.api.event.TestStepFinished;
+
+public class TestDelayedAsyncStepReporter extends TestStepReporter {
+	public static final long DELAY = 500;
+
+	@Override
+	protected ReporterParameters buildReporterParameters() {
+		ReporterParameters parameters = new ReporterParameters();
+		parameters.setAsyncConsumers(2);
+		parameters.setAsyncBufferSize(16);
+		return parameters;
+	}
+
+	/**
+	 * Emulates a slow consumer thread
+	 */
+	@Override
+	protected void handleTestStepFinished(TestStepFinished event) {
+		try {
+			Thread.sleep(DELAY);
+		} catch (InterruptedException ignore) {
+		}
+		super.handleTestStepFinished(event);
+	}
+}
@@ -0,0 +1,38 @@
+package com.epam.reportportal.cucumber.integration;
+
+import com.epam.reportportal.cucumber.ReporterParameters;
+import cucumber.api.event.EventHandler;
+import cucumber.api.event.TestRunFinished;
+import io.reactivex.Maybe;
+
+import java.util.Date;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+public class TestEarlyFinishStepReporter extends TestStepReporter {
+	public static final String FEATURE_FINISHED = "feature finished";
+	public static final String RUN_FINISHED = "run finished";
+	public static final Queue<String> EVENTS = new ConcurrentLinkedQueue<>();
+
+	@Override
+	protected ReporterParameters buildReporterParameters() {
+		ReporterParameters parameters = new ReporterParameters();
+		parameters.setFeatureEarlyFinish(true);
+		return parameters;
+	}
+
+	@Override
+	protected void finishFeature(Maybe<String> itemId, Date dateTime) {
+		EVENTS.add(FEATURE_FINISHED);
+		super.finishFeature(itemId, dateTime);
+	}
+
+	@Override
+	protected EventHandler<TestRunFinished> getTestRunFinishedHandler() {
+		EventHandler<TestRunFinished> handler = super.getTestRunFinishedHandler();
+		return event -> {
+			EVENTS.add(RUN_FINISHED);
+			handler.receive(event);
+		};
+	}
+}
@@ -0,0 +1,15 @@
+package com.epam.reportportal.cucumber.integration;
+
+import com.epam.reportportal.cucumber.ReporterParameters;
+import com.epam.reportportal.cucumber.SamplingOverflowPolicy;
+
+public class TestFailureSamplingReporter extends TestScenarioReporter {
+	@Override
+	protected ReporterParameters buildReporterParameters() {
+		ReporterParameters parameters = new ReporterParameters();
+		parameters.setFailureSampling(true);
+		parameters.setFailureSamplingBufferSize(16);
+		parameters.setFailureSamplingOverflowPolicy(SamplingOverflowPolicy.SPILL);
+		return parameters;
+	}
+}
@@ -0,0 +1,16 @@
+package com.epam.reportportal.cucumber.integration;
+
+import com.epam.reportportal.cucumber.ReporterClock;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneOffset;
+
+public class TestFixedClockStepReporter extends TestStepReporter {
+	public static final long TIME = 1600000000000L;
+
+	@Override
+	protected ReporterClock buildClock() {
+		return new ReporterClock(Clock.fixed(Instant.ofEpochMilli(TIME), ZoneOffset.UTC));
+	}
+}
@@ -0,0 +1,49 @@
+package com.epam.reportportal.cucumber.integration;
+
+import com.epam.reportportal.cucumber.ReporterParameters;
+import com.epam.reportportal.cucumber.StepReporter;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+public class TestJournalStepReporter extends StepReporter {
+	public static volatile Path JOURNAL_DIRECTORY;
+
+	@Override
+	protected ReporterParameters buildReporterParameters() {
+		ReporterParameters parameters = new ReporterParameters();
+		parameters.setJournalDirectory(JOURNAL_DIRECTORY);
+		parameters.setJournalSegmentSize(4096);
+		return parameters;
+	}
+
+	/**
+	 * @param journalDirectory a journal directory
+	 * @return journals of launches written to the directory
+	 */
+	public static List<Path> getJournals(Path journalDirectory) {
+		try (Stream<Path> files = Files.list(journalDirectory)) {
+			return files.filter(f -> Files.isDirectory(f) && f.getFileName().toString().startsWith("launch-"))
+					.collect(Collectors.toList());
+		} catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+	}
+
+	/**
+	 * @param journalDirectory a journal directory with a single launch
+	 * @return the journal of the launch
+	 */
+	public static Path getJournal(Path journalDirectory) {
+		List<Path> journals = getJournals(journalDirectory);
+		if (journals.size() != 1) {
+			throw new IllegalStateException("Expected a single journal in " + journalDirectory + ", found: " + journals);
+		}
+		return journals.get(0);
+	}
+}
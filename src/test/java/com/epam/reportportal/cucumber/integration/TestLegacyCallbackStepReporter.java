@@ -0,0 +1,51 @@
+package com.epam.reportportal.cucumber.integration;
+
+import cucumber.api.HookTestStep;
+import cucumber.api.HookType;
+import cucumber.api.Result;
+import cucumber.api.TestStep;
+
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+/**
+ * A reporter which overrides step and hook callbacks without a scenario context argument
+ */
+@SuppressWarnings("deprecation")
+public class TestLegacyCallbackStepReporter extends TestStepReporter {
+	public static final Queue<String> CALLS = new ConcurrentLinkedQueue<>();
+
+	private void record(String callback) {
+		CALLS.add(callback + (getCurrentScenarioContext() == null ? " without context" : ""));
+	}
+
+	@Override
+	protected void beforeStep(TestStep testStep) {
+		record("beforeStep");
+		super.beforeStep(testStep);
+	}
+
+	@Override
+	protected void afterStep(Result result) {
+		record("afterStep");
+		super.afterStep(result);
+	}
+
+	@Override
+	protected void beforeHooks(HookType hookType) {
+		record("beforeHooks");
+		super.beforeHooks(hookType);
+	}
+
+	@Override
+	protected void afterHooks(HookType hookType) {
+		record("afterHooks");
+		super.afterHooks(hookType);
+	}
+
+	@Override
+	protected void hookFinished(HookTestStep step, Result result, Boolean isBefore) {
+		record("hookFinished");
+		super.hookFinished(step, result, isBefore);
+	}
+}
@@ -0,0 +1,22 @@
+package com.epam.reportportal.cucumber.integration;
+
+import com.epam.reportportal.cucumber.ReporterMetrics;
+import com.epam.reportportal.cucumber.ReporterParameters;
+
+public class TestMetricsStepReporter extends TestStepReporter {
+	public static volatile ReporterMetrics METRICS;
+
+	@Override
+	protected ReporterParameters buildReporterParameters() {
+		ReporterParameters parameters = new ReporterParameters();
+		parameters.setMetricsEnabled(true);
+		return parameters;
+	}
+
+	@Override
+	protected ReporterMetrics buildMetrics() {
+		ReporterMetrics metrics = super.buildMetrics();
+		METRICS = metrics;
+		return metrics;
+	}
+}
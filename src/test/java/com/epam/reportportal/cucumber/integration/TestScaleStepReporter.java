@@ -0,0 +1,34 @@
+package com.epam.reportportal.cucumber.integration;
+
+import com.epam.reportportal.cucumber.RunningContext;
+import cucumber.api.event.EventHandler;
+import cucumber.api.event.TestSourceRead;
+
+import java.lang.ref.WeakReference;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+public class TestScaleStepReporter extends TestStepReporter {
+	public static final Queue<WeakReference<Object>> TRACKED_OBJECTS = new ConcurrentLinkedQueue<>();
+	public static volatile TestScaleStepReporter INSTANCE;
+
+	public TestScaleStepReporter() {
+		INSTANCE = this;
+	}
+
+	@Override
+	protected EventHandler<TestSourceRead> getTestSourceReadHandler() {
+		EventHandler<TestSourceRead> handler = super.getTestSourceReadHandler();
+		return event -> {
+			TRACKED_OBJECTS.add(new WeakReference<>(event));
+			handler.receive(event);
+		};
+	}
+
+	@Override
+	protected void beforeScenario(RunningContext.FeatureContext featureContext, RunningContext.ScenarioContext scenarioContext) {
+		TRACKED_OBJECTS.add(new WeakReference<>(featureContext));
+		TRACKED_OBJECTS.add(new WeakReference<>(scenarioContext));
+		super.beforeScenario(featureContext, scenarioContext);
+	}
+}
@@ -0,0 +1,28 @@
+package com.epam.reportportal.cucumber.integration.generated;
+
+import io.cucumber.datatable.DataTable;
+import io.cucumber.java.en.Given;
+import io.cucumber.java.en.Then;
+import io.cucumber.java.en.When;
+
+/**
+ * Step definitions of features written by {@link com.epam.reportportal.cucumber.integration.util.SuiteGenerator}
+ */
+public class GeneratedSteps {
+
+	@Given("a generated background step")
+	public void a_generated_background_step() {
+	}
+
+	@Given("a generated step with {string} parameter")
+	public void a_generated_step_with_parameter(String parameter) {
+	}
+
+	@When("a generated step with a data table")
+	public void a_generated_step_with_a_data_table(DataTable dataTable) {
+	}
+
+	@Then("a generated step with a doc string")
+	public void a_generated_step_with_a_doc_string(String docString) {
+	}
+}
@@ -0,0 +1,134 @@
+package com.epam.reportportal.cucumber.integration.util;
+
+import com.epam.reportportal.service.ReportPortalClient;
+import com.epam.ta.reportportal.ws.model.*;
+import com.epam.ta.reportportal.ws.model.item.ItemCreatedRS;
+import com.epam.ta.reportportal.ws.model.launch.*;
+import com.epam.ta.reportportal.ws.model.log.SaveLogRQ;
+import com.epam.ta.reportportal.ws.model.project.config.ProjectSettingsResource;
+import io.reactivex.Maybe;
+import okhttp3.MultipartBody;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * An in-memory ReportPortalClient implementation which answers every call immediately, no HTTP server or I/O is involved.
+ * It keeps only counters and never holds requests, so it can be used by benchmarks and by scale tests which check retained heap.
+ */
+public class InMemoryReportPortalClient implements ReportPortalClient {
+	private static final Maybe<OperationCompletionRS> OPERATION_COMPLETED = Maybe.just(new OperationCompletionRS());
+	private static final Maybe<EntryCreatedAsyncRS> LOG_CREATED = Maybe.just(new EntryCreatedAsyncRS("log"));
+	private static final Maybe<BatchSaveOperatingRS> LOGS_CREATED = Maybe.just(new BatchSaveOperatingRS());
+
+	private final AtomicLong idCounter = new AtomicLong();
+	private final Map<String, LongAdder> startedItems = new ConcurrentHashMap<>();
+	private final LongAdder finishedItems = new LongAdder();
+	private final LongAdder logs = new LongAdder();
+
+	private String nextId() {
+		return Long.toString(idCounter.incrementAndGet());
+	}
+
+	private Maybe<ItemCreatedRS> itemCreated(StartTestItemRQ rq) {
+		startedItems.computeIfAbsent(String.valueOf(rq.getType()), t -> new LongAdder()).increment();
+		String id = nextId();
+		return Maybe.just(new ItemCreatedRS(id, id));
+	}
+
+	/**
+	 * @param type an item type, e.g. "SCENARIO"
+	 * @return number of started items of the type
+	 */
+	public long getStartedItems(String type) {
+		LongAdder counter = startedItems.get(type);
+		return counter == null ? 0 : counter.sum();
+	}
+
+	/**
+	 * @return number of started items of all types
+	 */
+	public long getStartedItems() {
+		return startedItems.values().stream().mapToLong(LongAdder::sum).sum();
+	}
+
+	/**
+	 * @return number of finished items of all types
+	 */
+	public long getFinishedItems() {
+		return finishedItems.sum();
+	}
+
+	/**
+	 * @return number of log requests, a multipart request is counted once
+	 */
+	public long getLogs() {
+		return logs.sum();
+	}
+
+	@Override
+	public Maybe<StartLaunchRS> startLaunch(StartLaunchRQ rq) {
+		return Maybe.just(new StartLaunchRS(nextId(), 1L));
+	}
+
+	@Override
+	public Maybe<LaunchResource> mergeLaunches(MergeLaunchesRQ rq) {
+		return Maybe.empty();
+	}
+
+	@Override
+	public Maybe<LaunchResource> updateLaunch(String launchUuid, UpdateLaunchRQ rq) {
+		return Maybe.empty();
+	}
+
+	@Override
+	public Maybe<OperationCompletionRS> finishLaunch(String launch, FinishExecutionRQ rq) {
+		return OPERATION_COMPLETED;
+	}
+
+	@Override
+	public Maybe<ItemCreatedRS> startTestItem(StartTestItemRQ rq) {
+		return itemCreated(rq);
+	}
+
+	@Override
+	public Maybe<ItemCreatedRS> startTestItem(String parent, StartTestItemRQ rq) {
+		return itemCreated(rq);
+	}
+
+	@Override
+	public Maybe<OperationCompletionRS> finishTestItem(String itemId, FinishTestItemRQ rq) {
+		finishedItems.increment();
+		return OPERATION_COMPLETED;
+	}
+
+	@Override
+	public Maybe<EntryCreatedAsyncRS> log(SaveLogRQ rq) {
+		logs.increment();
+		return LOG_CREATED;
+	}
+
+	@Override
+	public Maybe<BatchSaveOperatingRS> log(List<MultipartBody.Part> rq) {
+		logs.increment();
+		return LOGS_CREATED;
+	}
+
+	@Override
+	public Maybe<LaunchResource> getLaunchByUuid(String uuid) {
+		return Maybe.empty();
+	}
+
+	@Override
+	public Maybe<TestItemResource> getItemByUuid(String uuid) {
+		return Maybe.empty();
+	}
+
+	@Override
+	public Maybe<ProjectSettingsResource> getProjectSettings() {
+		return Maybe.empty();
+	}
+}
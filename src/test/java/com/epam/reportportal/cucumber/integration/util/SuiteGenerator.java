@@ -0,0 +1,102 @@
+package com.epam.reportportal.cucumber.integration.util;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Writes a suite of feature files to reproduce a large test run. Each feature has a background, a number of scenarios with
+ * a parameter, a data table and a doc string, and a scenario outline with a number of example rows. Step definitions are in
+ * {@code com.epam.reportportal.cucumber.integration.generated} glue package.
+ */
+public class SuiteGenerator {
+	public static final String GLUE = "com.epam.reportportal.cucumber.integration.generated";
+
+	private static final int SCENARIO_STEPS = 4;
+	private static final int OUTLINE_STEPS = 3;
+
+	private int features = 1;
+	private int scenarios = 1;
+	private int exampleRows = 1;
+	private int dataTableRows = 5;
+
+	public SuiteGenerator features(int features) {
+		this.features = features;
+		return this;
+	}
+
+	public SuiteGenerator scenarios(int scenarios) {
+		this.scenarios = scenarios;
+		return this;
+	}
+
+	public SuiteGenerator exampleRows(int exampleRows) {
+		this.exampleRows = exampleRows;
+		return this;
+	}
+
+	public SuiteGenerator dataTableRows(int dataTableRows) {
+		this.dataTableRows = dataTableRows;
+		return this;
+	}
+
+	/**
+	 * @return number of test cases in the suite, each example row is a separate test case
+	 */
+	public int getScenarioCount() {
+		return features * (scenarios + exampleRows);
+	}
+
+	/**
+	 * @return number of steps in the suite including background steps
+	 */
+	public int getStepCount() {
+		return features * (scenarios * SCENARIO_STEPS + exampleRows * OUTLINE_STEPS);
+	}
+
+	/**
+	 * Writes feature files into a directory
+	 *
+	 * @param directory a directory to write into
+	 * @return paths of written files
+	 * @throws IOException if a file can't be written
+	 */
+	public List<Path> write(Path directory) throws IOException {
+		Files.createDirectories(directory);
+		List<Path> result = new ArrayList<>(features);
+		for (int i = 1; i <= features; i++) {
+			Path feature = directory.resolve(String.format("generated-%05d.feature", i));
+			Files.write(feature, generateFeature(i).getBytes(StandardCharsets.UTF_8));
+			result.add(feature);
+		}
+		return result;
+	}
+
+	private String generateFeature(int feature) {
+		StringBuilder source = new StringBuilder("Feature: Generated feature ").append(feature).append('\n');
+		source.append("\n  Background:\n    Given a generated background step\n");
+		for (int i = 1; i <= scenarios; i++) {
+			source.append("\n  @generated\n  Scenario: Generated scenario ").append(feature).append('-').append(i).append('\n');
+			source.append("    Given a generated step with \"").append(i).append("\" parameter\n");
+			source.append("    When a generated step with a data table\n");
+			source.append("      | key | value |\n");
+			for (int j = 1; j <= dataTableRows; j++) {
+				source.append("      | key").append(j).append(" | value").append(j).append(" |\n");
+			}
+			source.append("    Then a generated step with a doc string\n");
+			source.append("      \"\"\"\n      Generated doc string ").append(i).append("\n      \"\"\"\n");
+		}
+		source.append("\n  Scenario Outline: Generated outline ").append(feature).append(" <index>\n");
+		source.append("    Given a generated step with \"<value>\" parameter\n");
+		source.append("    Then a generated step with a doc string\n");
+		source.append("      \"\"\"\n      Generated doc string <index>\n      \"\"\"\n");
+		source.append("\n    Examples:\n      | index | value |\n");
+		for (int i = 1; i <= exampleRows; i++) {
+			source.append("      | ").append(i).append(" | value").append(i).append(" |\n");
+		}
+		return source.toString();
+	}
+}